@@ -0,0 +1,16 @@
+package org.example.apibridge.concurrency;
+
+/**
+ * Request classes that get separate concurrency limits, so slow work in one lane cannot use up
+ * the capacity another lane needs.
+ */
+public enum Lane {
+    /** Voter traffic: login, candidate list, photos, casting and checking votes. */
+    VOTE,
+    /** Results dashboards. */
+    RESULTS,
+    /** Event administration, account generation and exports. */
+    ADMIN,
+    /** Long-lived live-results streams; the limit caps open connections. */
+    STREAM
+}
@@ -0,0 +1,14 @@
+package org.example.apibridge.concurrency;
+
+public class LaneBusyException extends RuntimeException {
+    private final Lane lane;
+
+    public LaneBusyException(Lane lane) {
+        super("Server is busy (" + lane.name().toLowerCase() + " requests), please retry shortly");
+        this.lane = lane;
+    }
+
+    public Lane getLane() {
+        return lane;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.apibridge.concurrency;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Takes a lane permit before a controller method runs and returns it when the request completes.
+ * Streaming responses keep their permit until the async dispatch that finishes them.
+ */
+public class LaneLimitInterceptor implements AsyncHandlerInterceptor {
+    private static final String HELD = LaneLimitInterceptor.class.getName() + ".lane";
+
+    private final LaneLimiter limiter;
+
+    public LaneLimitInterceptor(LaneLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) return true;
+        // Async re-dispatch of a streaming response: the permit is already held
+        if (request.getDispatcherType() == DispatcherType.ASYNC) return true;
+        Lane lane = laneOf(method);
+        limiter.acquire(lane);
+        request.setAttribute(HELD, lane);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object lane = request.getAttribute(HELD);
+        if (lane != null) {
+            request.removeAttribute(HELD);
+            limiter.release((Lane) lane);
+        }
+    }
+
+    static Lane laneOf(HandlerMethod method) {
+        RequestLane annotation = method.getMethodAnnotation(RequestLane.class);
+        if (annotation == null) annotation = method.getBeanType().getAnnotation(RequestLane.class);
+        return annotation != null ? annotation.value() : Lane.ADMIN;
+    }
+}
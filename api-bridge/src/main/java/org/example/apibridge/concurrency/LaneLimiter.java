@@ -0,0 +1,60 @@
+package org.example.apibridge.concurrency;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One semaphore per lane. A request waits at most acquireTimeoutMs for a permit and is
+ * rejected otherwise, so callers get a fast 503 instead of queueing behind a slow backend.
+ */
+public class LaneLimiter {
+    private final Map<Lane, Semaphore> permits = new EnumMap<>(Lane.class);
+    private final Map<Lane, Integer> limits = new EnumMap<>(Lane.class);
+    private final Map<Lane, LongAdder> rejected = new EnumMap<>(Lane.class);
+    private final long acquireTimeoutMs;
+
+    public LaneLimiter(Map<Lane, Integer> limits, long acquireTimeoutMs) {
+        for (Lane lane : Lane.values()) {
+            int limit = limits.getOrDefault(lane, 64);
+            this.limits.put(lane, limit);
+            this.permits.put(lane, new Semaphore(limit));
+            this.rejected.put(lane, new LongAdder());
+        }
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public void acquire(Lane lane) {
+        boolean acquired;
+        try {
+            acquired = permits.get(lane).tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.get(lane).increment();
+            throw new LaneBusyException(lane);
+        }
+    }
+
+    public void release(Lane lane) {
+        permits.get(lane).release();
+    }
+
+    /** Per lane: limit, in-flight requests and rejections since startup. */
+    public Map<String, Map<String, Long>> stats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        for (Lane lane : Lane.values()) {
+            Map<String, Long> s = new LinkedHashMap<>();
+            s.put("limit", (long) limits.get(lane));
+            s.put("inFlight", (long) (limits.get(lane) - permits.get(lane).availablePermits()));
+            s.put("rejected", rejected.get(lane).sum());
+            stats.put(lane.name().toLowerCase(), s);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.apibridge.concurrency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a controller method (or every method of a controller) to a lane.
+ * A method-level annotation overrides the class-level one; unannotated handlers run in ADMIN.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestLane {
+    Lane value();
+}
@@ -0,0 +1,43 @@
+package org.example.apibridge.config;
+
+import org.example.apibridge.concurrency.Lane;
+import org.example.apibridge.concurrency.LaneLimitInterceptor;
+import org.example.apibridge.concurrency.LaneLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Requests run on virtual threads (spring.threads.virtual.enabled), so the servlet thread pool no
+// longer bounds concurrency; per-lane limits do instead
+@Configuration
+public class ConcurrencyConfig {
+
+    @Bean
+    public LaneLimiter laneLimiter(@Value("${app.lanes.vote.max-concurrent:400}") int vote,
+                                   @Value("${app.lanes.results.max-concurrent:200}") int results,
+                                   @Value("${app.lanes.admin.max-concurrent:16}") int admin,
+                                   @Value("${app.lanes.stream.max-concurrent:10000}") int stream,
+                                   @Value("${app.lanes.acquire-timeout-ms:100}") long acquireTimeoutMs) {
+        Map<Lane, Integer> limits = new EnumMap<>(Lane.class);
+        limits.put(Lane.VOTE, vote);
+        limits.put(Lane.RESULTS, results);
+        limits.put(Lane.ADMIN, admin);
+        limits.put(Lane.STREAM, stream);
+        return new LaneLimiter(limits, acquireTimeoutMs);
+    }
+
+    @Bean
+    public WebMvcConfigurer laneLimitConfigurer(LaneLimiter laneLimiter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new LaneLimitInterceptor(laneLimiter)).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
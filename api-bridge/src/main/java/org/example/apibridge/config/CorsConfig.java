@@ -21,7 +21,7 @@ public class CorsConfig {
                 var mapping = registry.addMapping("/api/**")
                         .allowedMethods("GET","POST","PUT","DELETE","OPTIONS")
                         .allowedHeaders("*")
-                        .exposedHeaders("Content-Disposition")
+                        .exposedHeaders("Content-Disposition", "ETag")
                         .allowCredentials(false) // set true only if you specifically need cookies/auth
                         .maxAge(3600);
                 // If wildcard present use pattern to allow subdomains
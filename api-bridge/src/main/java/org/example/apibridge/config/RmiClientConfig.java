@@ -1,29 +1,109 @@
 package org.example.apibridge.config;
 
+import org.example.apibridge.routing.NodeClient;
+import org.example.apibridge.routing.ShardedVotingService;
 import org.example.shared.VotingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 
-import java.rmi.Naming;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 public class RmiClientConfig {
     private static final Logger log = LoggerFactory.getLogger(RmiClientConfig.class);
 
+    // remote: call rmi-server nodes over RMI; in-process: run the voting service inside this JVM
+    @Value("${rmi.mode:remote}")
+    private String mode;
+
     @Value("${rmi.voting-service.url}")
     private String rmiUrl;
 
+    // Comma-separated name=url pairs; empty means the single node at rmi.voting-service.url
+    @Value("${rmi.nodes:}")
+    private String rmiNodes;
+
+    @Value("${rmi.ring.points-per-node:160}")
+    private int pointsPerNode;
+
+    @Value("${rmi.node-stats-ttl-ms:5000}")
+    private long nodeStatsTtlMs;
+
+    @Value("${rmi.response-timeout-ms:0}")
+    private long responseTimeoutMs;
+
     @Bean
-    public VotingService votingService() {
+    public ShardedVotingService votingService(TaskExecutor taskExecutor) {
+        if ("in-process".equals(mode)) {
+            return new ShardedVotingService(List.of(startInProcess()), pointsPerNode, nodeStatsTtlMs, taskExecutor);
+        }
+        if (!"remote".equals(mode)) {
+            throw new IllegalStateException("rmi.mode must be remote or in-process, got: " + mode);
+        }
+        if (responseTimeoutMs > 0) {
+            // Read once by the RMI transport, so it must be set before the first remote call
+            System.setProperty("sun.rmi.transport.tcp.responseTimeout", String.valueOf(responseTimeoutMs));
+        }
+        List<NodeClient> nodes = parseNodes();
+        ShardedVotingService service = new ShardedVotingService(nodes, pointsPerNode, nodeStatsTtlMs, taskExecutor);
+        for (NodeClient node : nodes) {
+            log.info("Looking up RMI node {}", node.getName());
+        }
         try {
-            log.info("Looking up RMI service at {}", rmiUrl);
-            return (VotingService) Naming.lookup(rmiUrl);
+            // Fails fast on a bad URL; nodes that are down are looked up again on first use
+            service.getNodeStats();
         } catch (Exception e) {
-            log.error("Could not connect to RMI service at {}", rmiUrl, e);
-            throw new IllegalStateException("RMI service unavailable: " + rmiUrl, e);
+            log.warn("Not every RMI node is reachable yet: {}", e.getMessage());
+        }
+        return service;
+    }
+
+    // rmi-server classes live in the default package, so they are reached by name; they are only on
+    // the classpath when the bridge is built with the in-process profile
+    private NodeClient startInProcess() {
+        try {
+            log.info("Starting the voting service in-process");
+            Class<?> entry = Class.forName("InProcessService");
+            VotingService service = (VotingService) entry.getMethod("start").invoke(null);
+            Method stop = entry.getMethod("stop");
+            return new NodeClient("local", service, () -> {
+                try {
+                    stop.invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    log.warn("Failed to stop the in-process voting service", e);
+                }
+            });
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("rmi.mode=in-process needs rmi-server on the classpath (build with -Pin-process)", e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("In-process voting service failed to start", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("In-process voting service failed to start", e);
+        }
+    }
+
+    private List<NodeClient> parseNodes() {
+        List<NodeClient> nodes = new ArrayList<>();
+        if (rmiNodes == null || rmiNodes.isBlank()) {
+            nodes.add(new NodeClient("node1", rmiUrl));
+            return nodes;
+        }
+        for (String entry : rmiNodes.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) continue;
+            int eq = trimmed.indexOf('=');
+            if (eq <= 0 || eq == trimmed.length() - 1) {
+                throw new IllegalStateException("rmi.nodes entries must be name=url, got: " + trimmed);
+            }
+            nodes.add(new NodeClient(trimmed.substring(0, eq).trim(), trimmed.substring(eq + 1).trim()));
         }
+        return nodes;
     }
 }
@@ -0,0 +1,63 @@
+package org.example.apibridge.controller;
+
+import org.example.apibridge.concurrency.LaneLimiter;
+import org.example.apibridge.dto.response.StandardResponse;
+import org.example.apibridge.results.ResultsBroadcaster;
+import org.example.apibridge.results.ResultsCache;
+import org.example.apibridge.routing.ShardedVotingService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "${app.cors.allowed-origins}")
+public class MetricsController {
+    private final LaneLimiter laneLimiter;
+    private final ResultsBroadcaster resultsBroadcaster;
+    private final ResultsCache resultsCache;
+    private final ShardedVotingService votingService;
+
+    public MetricsController(LaneLimiter laneLimiter, ResultsBroadcaster resultsBroadcaster,
+                             ResultsCache resultsCache, ShardedVotingService votingService) {
+        this.laneLimiter = laneLimiter;
+        this.resultsBroadcaster = resultsBroadcaster;
+        this.resultsCache = resultsCache;
+        this.votingService = votingService;
+    }
+
+    // Limit, in-flight requests and 503 rejections per lane
+    @GetMapping("/lanes")
+    public ResponseEntity<StandardResponse<Map<String, Map<String, Long>>>> lanes() {
+        return ResponseEntity.ok(StandardResponse.ok(laneLimiter.stats()));
+    }
+
+    // Hits, stale hits, misses, coalesced waits and upstream loads of the /results cache
+    @GetMapping("/results-cache")
+    public ResponseEntity<StandardResponse<Map<String, Long>>> resultsCache() {
+        return ResponseEntity.ok(StandardResponse.ok(resultsCache.stats()));
+    }
+
+    // Open live-results streams and the number of events with an upstream feed
+    @GetMapping("/results-stream")
+    public ResponseEntity<StandardResponse<Map<String, Integer>>> resultsStream() {
+        return ResponseEntity.ok(StandardResponse.ok(Map.of(
+                "subscribers", resultsBroadcaster.subscriberCount(),
+                "feeds", resultsBroadcaster.feedCount())));
+    }
+
+    // Per rmi-server node: calls, errors, in-flight calls, last reported load and share of the hash ring
+    @GetMapping("/nodes")
+    public ResponseEntity<StandardResponse<Map<String, Map<String, Object>>>> nodes() {
+        return ResponseEntity.ok(StandardResponse.ok(votingService.nodeStats()));
+    }
+
+    // Which node owns an event
+    @GetMapping("/route/{eventId}")
+    public ResponseEntity<StandardResponse<Map<String, String>>> route(@PathVariable String eventId) {
+        return ResponseEntity.ok(StandardResponse.ok(Map.of(
+                "eventId", eventId,
+                "node", votingService.nodeNameFor(eventId))));
+    }
+}
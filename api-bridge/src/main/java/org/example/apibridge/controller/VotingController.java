@@ -1,31 +1,89 @@
 package org.example.apibridge.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.apibridge.concurrency.Lane;
+import org.example.apibridge.concurrency.RequestLane;
+import org.example.apibridge.dto.request.BulkVoteRequest;
 import org.example.apibridge.dto.request.CreateEventRequest;
+import org.example.apibridge.results.ResultsBroadcaster;
+import org.example.apibridge.results.ResultsCache;
 import org.example.apibridge.dto.request.LoginRequest;
 import org.example.apibridge.dto.request.VoteRequest;
 import org.example.apibridge.dto.response.StandardResponse;
+import org.example.shared.AccountJobStatus;
+import org.example.shared.AccountPage;
+import org.example.shared.BallotBatch;
+import org.example.shared.BallotBatchResult;
+import org.example.shared.BallotCsv;
+import org.example.shared.BallotImportProgress;
+import org.example.shared.BallotStatus;
 import org.example.shared.Candidate;
+import org.example.shared.CandidatePhoto;
+import org.example.shared.CandidateSnapshot;
 import org.example.shared.EventInfo;
+import org.example.shared.EventResults;
+import org.example.shared.VoterAccount;
 import org.example.shared.VotingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.rmi.RemoteException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/events")
 @CrossOrigin(origins = "${app.cors.allowed-origins}")
+@RequestLane(Lane.ADMIN)
 public class VotingController {
 
+    private static final int MAX_ACCOUNT_PAGE = 5000;
+    private static final List<String> PHOTO_SIZES = List.of("thumb", "thumbnail", "medium", "original");
+
     private final VotingService votingService;
+    private final ObjectMapper objectMapper;
+    private final ResultsBroadcaster resultsBroadcaster;
+    private final ResultsCache resultsCache;
+
+    @Value("${app.photo.cache-max-age-seconds:86400}")
+    private long photoMaxAgeSeconds;
+
+    @Value("${app.accounts.page-size:1000}")
+    private int accountPageSize;
+
+    @Value("${app.votes.bulk.max-ballots:50000}")
+    private int maxBulkBallots;
+
+    @Value("${app.ballots.import.chunk-size:5000}")
+    private int importChunkSize;
 
-    public VotingController(VotingService votingService) {
+    public VotingController(VotingService votingService, ObjectMapper objectMapper,
+                            ResultsBroadcaster resultsBroadcaster, ResultsCache resultsCache) {
         this.votingService = votingService;
+        this.objectMapper = objectMapper;
+        this.resultsBroadcaster = resultsBroadcaster;
+        this.resultsCache = resultsCache;
     }
 
     @PostMapping("/create")
@@ -89,6 +147,7 @@ public class VotingController {
     }
 
     @PostMapping("/{eventId}/vote")
+    @RequestLane(Lane.VOTE)
     public ResponseEntity<StandardResponse<Map<String,Object>>> castVote(@PathVariable String eventId,
             @RequestBody VoteRequest vote) throws RemoteException {
         if (vote == null || vote.userId() == null || vote.candidateId() == null) {
@@ -106,17 +165,58 @@ public class VotingController {
         return ResponseEntity.ok(StandardResponse.ok(data));
     }
 
+    // Kiosk replay: many ballots in one call, one outcome per ballot in request order
+    @PostMapping("/{eventId}/votes/bulk")
+    @RequestLane(Lane.VOTE)
+    public ResponseEntity<StandardResponse<Map<String,Object>>> castVotes(@PathVariable String eventId,
+            @RequestBody BulkVoteRequest req) throws RemoteException {
+        if (req == null || req.ballots() == null || req.ballots().isEmpty()) {
+            throw new IllegalArgumentException("ballots required");
+        }
+        if (req.ballots().size() > maxBulkBallots) {
+            throw new IllegalArgumentException("at most " + maxBulkBallots + " ballots per request");
+        }
+        BallotBatch batch = new BallotBatch(eventId, req.ballots().size());
+        for (VoteRequest ballot : req.ballots()) {
+            batch.add(ballot != null ? ballot.userId() : null, ballot != null ? ballot.candidateId() : null);
+        }
+        BallotBatchResult result = votingService.castVotes(batch);
+        List<String> outcomes = new ArrayList<>(result.size());
+        for (int i = 0; i < result.size(); i++) outcomes.add(result.getStatus(i).name());
+        Map<String,Integer> counts = new LinkedHashMap<>();
+        for (BallotStatus status : BallotStatus.values()) {
+            int n = result.count(status);
+            if (n > 0) counts.put(status.name(), n);
+        }
+        Map<String,Object> data = new HashMap<>();
+        data.put("eventId", eventId);
+        data.put("received", result.size());
+        data.put("stored", result.count(BallotStatus.STORED));
+        data.put("counts", counts);
+        data.put("outcomes", outcomes);
+        return ResponseEntity.ok(StandardResponse.ok(data));
+    }
+
     @GetMapping("/{eventId}/results")
+    @RequestLane(Lane.RESULTS)
     public ResponseEntity<StandardResponse<Map<String,Object>>> getResults(@PathVariable String eventId) throws RemoteException {
-        Map<String,Integer> results = votingService.getResults(eventId);
+        // Served from a short-lived cache; concurrent misses share one RMI call
+        EventResults results = resultsCache.get(eventId);
         Map<String,Object> data = new HashMap<>();
         data.put("eventId", eventId);
-        int totalVotes = results.values().stream().mapToInt(Integer::intValue).sum();
-        data.put("totalVotes", totalVotes);
-        data.put("results", results);
+        data.put("totalVotes", results.getTotalVotes());
+        data.put("results", results.byName());
+        data.put("version", results.getVersion());
         return ResponseEntity.ok(StandardResponse.ok(data));
     }
 
+    // Server-Sent Events: a "snapshot" message, then a "delta" with the changed candidates whenever votes come in
+    @GetMapping(value = "/{eventId}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequestLane(Lane.STREAM)
+    public SseEmitter streamResults(@PathVariable String eventId) throws RemoteException {
+        return resultsBroadcaster.subscribe(eventId);
+    }
+
     @PostMapping("/{eventId}/accounts")
     public ResponseEntity<StandardResponse<Map<String,Object>>> createAccounts(@PathVariable String eventId,
                                                                                @RequestBody Map<String,Integer> payload) throws RemoteException {
@@ -124,7 +224,7 @@ public class VotingController {
         if (size == null || size < 1) {
             throw new IllegalArgumentException("eventSize must be positive");
         }
-        List<Map<String,String>> accounts = votingService.createAccounts(eventId, size);
+        List<VoterAccount> accounts = votingService.createAccounts(eventId, size).getAccounts();
         Map<String,Object> data = new HashMap<>();
         data.put("eventId", eventId);
         data.put("accountsCreated", accounts.size());
@@ -132,17 +232,206 @@ public class VotingController {
         return ResponseEntity.ok(StandardResponse.ok(data));
     }
 
+    // Large account batches: start a background job, poll its status, then download the accounts
+    @PostMapping("/{eventId}/accounts/jobs")
+    public ResponseEntity<StandardResponse<Map<String,Object>>> startAccountJob(@PathVariable String eventId,
+                                                                                @RequestBody Map<String,Integer> payload) throws RemoteException {
+        Integer size = payload != null ? payload.get("eventSize") : null;
+        if (size == null || size < 1) {
+            throw new IllegalArgumentException("eventSize must be positive");
+        }
+        AccountJobStatus status = votingService.startAccountJob(eventId, size);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{jobId}").buildAndExpand(status.getJobId()).toUriString())
+                .body(StandardResponse.ok(jobStatus(status)));
+    }
+
+    @GetMapping("/{eventId}/accounts/jobs/{jobId}")
+    public ResponseEntity<StandardResponse<Map<String,Object>>> accountJobStatus(@PathVariable String eventId,
+                                                                                 @PathVariable String jobId) throws RemoteException {
+        AccountJobStatus status = votingService.getAccountJobStatus(jobId);
+        if (status == null || !status.getEventId().equals(eventId)) {
+            return ResponseEntity.status(404).body(StandardResponse.fail("NOT_FOUND","Unknown or expired job"));
+        }
+        return ResponseEntity.ok(StandardResponse.ok(jobStatus(status)));
+    }
+
+    @GetMapping("/{eventId}/accounts/jobs/{jobId}/result")
+    public ResponseEntity<StandardResponse<Map<String,Object>>> accountJobResult(@PathVariable String eventId,
+                                                                                 @PathVariable String jobId) throws RemoteException {
+        AccountJobStatus status = votingService.getAccountJobStatus(jobId);
+        if (status == null || !status.getEventId().equals(eventId)) {
+            return ResponseEntity.status(404).body(StandardResponse.fail("NOT_FOUND","Unknown or expired job"));
+        }
+        AccountPage result = status.isDone() ? votingService.getAccountJobResult(jobId) : null;
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(StandardResponse.fail("JOB_RUNNING","Job has not finished yet"));
+        }
+        List<VoterAccount> accounts = result.getAccounts();
+        Map<String,Object> data = jobStatus(status);
+        data.put("accountsCreated", accounts.size());
+        data.put("accounts", accounts);
+        return ResponseEntity.ok(StandardResponse.ok(data));
+    }
+
+    private static Map<String,Object> jobStatus(AccountJobStatus status) {
+        Map<String,Object> data = new HashMap<>();
+        data.put("jobId", status.getJobId());
+        data.put("eventId", status.getEventId());
+        data.put("state", status.getState());
+        data.put("requested", status.getRequested());
+        data.put("created", status.getCreated());
+        data.put("startedAt", status.getStartedAt());
+        if (status.getFinishedAt() > 0) data.put("finishedAt", status.getFinishedAt());
+        if (status.getError() != null) data.put("error", status.getError());
+        return data;
+    }
+
+    // Without limit/cursor the full list is returned as before; prefer pages or the export for large events
     @GetMapping("/{eventId}/accounts")
-    public ResponseEntity<StandardResponse<Map<String,Object>>> getUserAccounts(@PathVariable String eventId) throws RemoteException {
-        List<Map<String,String>> accounts = votingService.getUserAccounts(eventId);
+    public ResponseEntity<StandardResponse<Map<String,Object>>> getUserAccounts(@PathVariable String eventId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "cursor", required = false) String cursor) throws RemoteException {
         Map<String,Object> data = new HashMap<>();
         data.put("eventId", eventId);
-        data.put("totalAccounts", accounts.size());
-        data.put("accounts", accounts);
+        if (limit == null && cursor == null) {
+            List<VoterAccount> accounts = votingService.getUserAccounts(eventId).getAccounts();
+            data.put("totalAccounts", accounts.size());
+            data.put("accounts", accounts);
+            return ResponseEntity.ok(StandardResponse.ok(data));
+        }
+        int pageSize = limit != null ? limit : accountPageSize;
+        if (pageSize < 1 || pageSize > MAX_ACCOUNT_PAGE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_ACCOUNT_PAGE);
+        }
+        AccountPage page = votingService.getUserAccountsPage(eventId, cursor, pageSize);
+        data.put("accounts", page.getAccounts());
+        data.put("count", page.getAccounts().size());
+        data.put("hasMore", page.hasMore());
+        if (page.hasMore()) {
+            data.put("nextCursor", page.getNextCursor());
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("cursor", page.getNextCursor())
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            return ResponseEntity.ok().header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"")
+                    .body(StandardResponse.ok(data));
+        }
         return ResponseEntity.ok(StandardResponse.ok(data));
     }
 
+    // Streams every account as CSV or NDJSON, one page in memory at a time. The first page is read
+    // before the response starts, so a backend error still gets an error status; a later failure
+    // aborts the stream, and the client sees a broken transfer rather than a short file.
+    @GetMapping("/{eventId}/accounts/export")
+    public ResponseEntity<StreamingResponseBody> exportUserAccounts(@PathVariable String eventId,
+            @RequestParam(value = "format", defaultValue = "csv") String format) throws RemoteException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("format must be csv or ndjson");
+        }
+        AccountPage firstPage = votingService.getUserAccountsPage(eventId, null, accountPageSize);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (csv) writer.write("userId,username,password,eventId\n");
+            AccountPage page = firstPage;
+            while (true) {
+                for (VoterAccount a : page.getAccounts()) {
+                    if (csv) {
+                        writer.write(csvField(a.getUserId()) + "," + csvField(a.getUsername()) + ","
+                                + csvField(a.getPassword()) + "," + csvField(a.getEventId()) + "\n");
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(a));
+                        writer.write('\n');
+                    }
+                }
+                writer.flush();
+                if (page.getNextCursor() == null) break;
+                page = votingService.getUserAccountsPage(eventId, page.getNextCursor(), accountPageSize);
+            }
+        };
+        String filename = "accounts-" + eventId.replaceAll("[^A-Za-z0-9_-]", "") + (csv ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(csv ? MediaType.parseMediaType("text/csv;charset=UTF-8") : MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private static String csvField(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) return value;
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    // Streams a ballot CSV (userId,candidateId) into the event in checkpointed chunks. Re-uploading the
+    // same file (same importId, by default derived from its content) after an interruption resumes after
+    // the last applied row.
+    @PostMapping("/{eventId}/ballots/import")
+    public ResponseEntity<StandardResponse<Map<String,Object>>> importBallots(@PathVariable String eventId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "importId", required = false) String importId) throws IOException {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("file required");
+        }
+        if (importId == null || importId.isBlank()) {
+            try (InputStream in = file.getInputStream()) {
+                importId = BallotCsv.importId(eventId, in);
+            }
+        }
+        long start = System.currentTimeMillis();
+        BallotImportProgress progress = votingService.beginBallotImport(eventId, importId);
+        long resumedAt = progress.getRowsDone();
+        List<String> rejections = new ArrayList<>();
+        if (!progress.isCompleted()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+                BallotCsv csv = new BallotCsv(reader);
+                csv.skip(resumedAt);
+                long firstRow = resumedAt + 1;
+                BallotBatch batch = new BallotBatch(eventId, importChunkSize);
+                String[] ballot;
+                while ((ballot = csv.next()) != null) {
+                    batch.add(ballot[0], ballot[1]);
+                    if (batch.size() == importChunkSize) {
+                        progress = votingService.importBallots(importId, firstRow, batch);
+                        collectRejections(rejections, progress);
+                        firstRow += batch.size();
+                        batch = new BallotBatch(eventId, importChunkSize);
+                    }
+                }
+                if (batch.size() > 0) {
+                    progress = votingService.importBallots(importId, firstRow, batch);
+                    collectRejections(rejections, progress);
+                }
+            }
+            progress = votingService.finishBallotImport(importId);
+        }
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        long rows = progress.getRowsDone() - resumedAt;
+        Map<String,Object> data = new HashMap<>();
+        data.put("eventId", eventId);
+        data.put("importId", importId);
+        data.put("state", progress.getState());
+        data.put("resumedAfterRow", resumedAt);
+        data.put("rowsDone", progress.getRowsDone());
+        data.put("stored", progress.getStored());
+        data.put("alreadyVoted", progress.getAlreadyVoted());
+        data.put("rejected", progress.getRejected());
+        data.put("rejections", rejections);
+        data.put("elapsedMs", elapsed);
+        data.put("rowsPerSecond", rows * 1000 / elapsed);
+        return ResponseEntity.ok(StandardResponse.ok(data));
+    }
+
+    private static void collectRejections(List<String> into, BallotImportProgress progress) {
+        for (String r : progress.getRejections()) {
+            if (into.size() >= 1000) return;
+            into.add(r);
+        }
+    }
+
     @PostMapping("/login")
+    @RequestLane(Lane.VOTE)
     public ResponseEntity<StandardResponse<Map<String,String>>> login(@RequestBody LoginRequest req) throws RemoteException {
         if (req == null || req.username() == null || req.password() == null) {
             throw new IllegalArgumentException("username and password required");
@@ -155,6 +444,7 @@ public class VotingController {
     }
 
     @GetMapping("/{eventId}/vote-status/{userId}")
+    @RequestLane(Lane.VOTE)
     public ResponseEntity<StandardResponse<Map<String,Object>>> voteStatus(@PathVariable String eventId,
             @PathVariable String userId) throws RemoteException {
         boolean hasVoted = votingService.hasUserVoted(userId, eventId);
@@ -166,21 +456,34 @@ public class VotingController {
     }
 
     @GetMapping("/{eventId}/candidates")
+    @RequestLane(Lane.VOTE)
     public ResponseEntity<StandardResponse<Map<String,Object>>> candidates(@PathVariable String eventId,
-            @RequestParam String password) throws RemoteException {
-        List<Candidate> list = votingService.getEventForVoter(eventId, password);
-        if (list == null) {
+            @RequestParam String password,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws RemoteException {
+        CandidateSnapshot snapshot = votingService.getCandidateSnapshot(eventId, password, snapshotVersion(ifNoneMatch));
+        if (snapshot == null) {
             // For security we still use generic message but code can hint cause
             return ResponseEntity.status(404).body(StandardResponse.fail("EVENT_OR_PASSWORD_INVALID","Invalid event or password"));
         }
-        // Convert photo bytes to base64 data URLs for frontend display
+        // The list only changes when the snapshot version does; browsers revalidate with If-None-Match
+        String etag = "W/\"c" + snapshot.getVersion() + "\"";
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (snapshot.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        List<Candidate> list = snapshot.getCandidates();
+        // Photos are fetched (and cached by the browser) from the photo endpoint; the hash versions the URL
+        String base = ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/events/").toUriString();
         List<Map<String,Object>> transformed = list.stream().map(c -> {
             Map<String,Object> m = new HashMap<>();
             m.put("id", c.getId());
             m.put("name", c.getName());
-            if (c.getPhoto() != null && c.getPhoto().length > 0) {
-                String b64 = java.util.Base64.getEncoder().encodeToString(c.getPhoto());
-                m.put("photo", "data:image/jpeg;base64," + b64);
+            if (c.getPhotoHash() != null) {
+                String photoPath = base + eventId + "/candidates/" + c.getId() + "/photo";
+                String version = c.getPhotoHash().substring(0, 12);
+                m.put("photoHash", c.getPhotoHash());
+                m.put("photoUrl", photoPath + "?v=" + version);
+                m.put("thumbnailUrl", photoPath + "?size=thumb&v=" + version);
             }
             return m;
         }).toList();
@@ -188,6 +491,53 @@ public class VotingController {
         data.put("eventId", eventId);
         data.put("totalCandidates", transformed.size());
         data.put("candidates", transformed);
-        return ResponseEntity.ok(StandardResponse.ok(data));
+        data.put("version", snapshot.getVersion());
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(StandardResponse.ok(data));
+    }
+
+    @GetMapping("/{eventId}/candidates/{candidateId}/photo")
+    @RequestLane(Lane.VOTE)
+    public ResponseEntity<?> candidatePhoto(@PathVariable String eventId,
+            @PathVariable String candidateId,
+            @RequestParam(value = "size", required = false) String size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws RemoteException {
+        if (size != null && !PHOTO_SIZES.contains(size)) {
+            throw new IllegalArgumentException("size must be one of " + PHOTO_SIZES);
+        }
+        String knownHash = etagHash(ifNoneMatch);
+        CandidatePhoto photo = votingService.getCandidatePhoto(eventId, candidateId, size, knownHash);
+        if (photo == null) {
+            return ResponseEntity.status(404).body(StandardResponse.fail("NOT_FOUND","Candidate has no photo"));
+        }
+        CacheControl cacheControl = CacheControl.maxAge(photoMaxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+        String etag = "\"" + photo.getHash() + "\"";
+        if (photo.isNotModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .contentType(MediaType.parseMediaType(photo.getContentType()))
+                .contentLength(photo.getData().length)
+                .body(photo.getData());
+    }
+
+    // First entity tag of an If-None-Match header, without W/ prefix and quotes
+    private static String etagHash(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return null;
+        String tag = ifNoneMatch.split(",")[0].trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        return tag.replace("\"", "");
+    }
+
+    // Snapshot version from a candidates-list ETag ("c<version>"), or -1 if there is none
+    private static long snapshotVersion(String ifNoneMatch) {
+        String tag = etagHash(ifNoneMatch);
+        if (tag == null || tag.length() < 2 || tag.charAt(0) != 'c') return -1;
+        try {
+            return Long.parseLong(tag.substring(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 }
@@ -0,0 +1,5 @@
+package org.example.apibridge.dto.request;
+
+import java.util.List;
+
+public record BulkVoteRequest(List<VoteRequest> ballots) {}
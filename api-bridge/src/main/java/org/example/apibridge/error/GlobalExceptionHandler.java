@@ -1,6 +1,8 @@
 package org.example.apibridge.error;
 
+import org.example.apibridge.concurrency.LaneBusyException;
 import org.example.apibridge.dto.response.StandardResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -18,6 +20,13 @@ public class GlobalExceptionHandler {
                 .body(StandardResponse.fail("REMOTE_ERROR", ex.getMessage()));
     }
 
+    @ExceptionHandler(LaneBusyException.class)
+    public ResponseEntity<StandardResponse<Void>> handleBusy(LaneBusyException ex){
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(StandardResponse.fail("BUSY", ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<StandardResponse<Void>> handleIllegal(IllegalArgumentException ex){
         return ResponseEntity.badRequest()
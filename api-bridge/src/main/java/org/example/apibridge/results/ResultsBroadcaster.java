@@ -0,0 +1,239 @@
+package org.example.apibridge.results;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.shared.EventResults;
+import org.example.shared.VotingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes live results to Server-Sent Events subscribers.
+ * Every event with at least one subscriber has a single feed: one task that long-polls the RMI
+ * service (awaitResults) and fans each change out to all of that event's connections, so the
+ * backend sees one call per change rather than one per dashboard per interval. A new subscriber
+ * gets a full "snapshot"; after that only "delta" messages listing the candidates whose counts
+ * changed. Changes arriving within the coalesce window are sent as one delta. Idle connections
+ * hold no thread, only an async response and a periodic heartbeat comment.
+ */
+@Component
+public class ResultsBroadcaster {
+    private static final Logger log = LoggerFactory.getLogger(ResultsBroadcaster.class);
+    private static final long RETRY_BACKOFF_MS = 2000;
+
+    private final VotingService votingService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+    private final ResultsCache resultsCache;
+    private final Map<String, Feed> feeds = new ConcurrentHashMap<>();
+
+    @Value("${app.results.stream.coalesce-ms:250}")
+    private long coalesceMs;
+
+    @Value("${app.results.stream.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${app.results.stream.timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    private final class Feed {
+        final String eventId;
+        final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+        // Guards latest, closed and sends, so a new subscriber's snapshot and the deltas that
+        // follow it are consistent; a lock rather than synchronized so virtual threads do not pin
+        final ReentrantLock lock = new ReentrantLock();
+        EventResults latest;
+        boolean closed;
+
+        Feed(String eventId) {
+            this.eventId = eventId;
+        }
+    }
+
+    public ResultsBroadcaster(VotingService votingService, ObjectMapper objectMapper, TaskExecutor executor,
+                              ResultsCache resultsCache) {
+        this.votingService = votingService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.resultsCache = resultsCache;
+    }
+
+    /** Opens a stream for the event; the first message is a snapshot of the current results. */
+    public SseEmitter subscribe(String eventId) throws RemoteException {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> unsubscribe(eventId, emitter));
+        emitter.onTimeout(() -> unsubscribe(eventId, emitter));
+        emitter.onError(e -> unsubscribe(eventId, emitter));
+        while (true) {
+            Feed feed = feeds.computeIfAbsent(eventId, Feed::new);
+            boolean start;
+            feed.lock.lock();
+            try {
+                if (feed.closed) continue; // its task just stopped; start a fresh feed
+                start = feed.latest == null;
+                if (start) feed.latest = resultsCache.get(eventId);
+                feed.emitters.add(emitter);
+                send(feed, emitter, SseEmitter.event().name("snapshot").id(String.valueOf(feed.latest.getVersion()))
+                        .data(json(snapshot(feed.latest))));
+            } finally {
+                feed.lock.unlock();
+            }
+            if (start) {
+                executor.execute(() -> run(feed));
+                log.info("Started live results feed for event {}", eventId);
+            }
+            return emitter;
+        }
+    }
+
+    private void unsubscribe(String eventId, SseEmitter emitter) {
+        Feed feed = feeds.get(eventId);
+        if (feed != null) feed.emitters.remove(emitter);
+    }
+
+    public int feedCount() {
+        return feeds.size();
+    }
+
+    public int subscriberCount() {
+        int total = 0;
+        for (Feed feed : feeds.values()) total += feed.emitters.size();
+        return total;
+    }
+
+    private void run(Feed feed) {
+        try {
+            while (true) {
+                EventResults next;
+                long asked = System.currentTimeMillis();
+                try {
+                    next = votingService.awaitResults(feed.eventId, feed.latest.getVersion(), heartbeatMs);
+                } catch (RemoteException e) {
+                    log.warn("Live results feed for event {} failed: {}", feed.eventId, e.getMessage());
+                    Thread.sleep(RETRY_BACKOFF_MS);
+                    next = null;
+                }
+                if (next == null) {
+                    // An unknown or deleted event answers at once; keep heartbeats at their usual pace
+                    long left = heartbeatMs - (System.currentTimeMillis() - asked);
+                    if (left > 0) Thread.sleep(left);
+                }
+                if (!publish(feed, next)) return;
+                // Votes landing during this pause go out together in the next delta
+                if (next != null && coalesceMs > 0) Thread.sleep(coalesceMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(feed);
+        }
+    }
+
+    // Sends a delta (or a heartbeat when nothing changed); false once nobody is listening
+    private boolean publish(Feed feed, EventResults next) {
+        feed.lock.lock();
+        try {
+            if (feed.emitters.isEmpty()) {
+                feed.closed = true;
+                return false;
+            }
+            SseEmitter.SseEventBuilder message;
+            if (next == null) {
+                message = SseEmitter.event().comment("heartbeat");
+            } else {
+                message = SseEmitter.event().name("delta").id(String.valueOf(next.getVersion()))
+                        .data(json(delta(feed.latest, next)));
+                feed.latest = next;
+                // Events with a live feed keep the /results cache current for free
+                resultsCache.offer(next);
+            }
+            for (SseEmitter emitter : feed.emitters) send(feed, emitter, message);
+            return true;
+        } finally {
+            feed.lock.unlock();
+        }
+    }
+
+    private void close(Feed feed) {
+        feed.lock.lock();
+        try {
+            feed.closed = true;
+            feeds.remove(feed.eventId, feed);
+            for (SseEmitter emitter : feed.emitters) emitter.complete();
+            feed.emitters.clear();
+        } finally {
+            feed.lock.unlock();
+        }
+        log.info("Stopped live results feed for event {}", feed.eventId);
+    }
+
+    private void send(Feed feed, SseEmitter emitter, SseEmitter.SseEventBuilder message) {
+        try {
+            emitter.send(message);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container completes the emitter
+            feed.emitters.remove(emitter);
+        }
+    }
+
+    private String json(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize results", e);
+        }
+    }
+
+    private static Map<String, Object> snapshot(EventResults results) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("eventId", results.getEventId());
+        body.put("version", results.getVersion());
+        body.put("totalVotes", results.getTotalVotes());
+        List<Map<String, Object>> candidates = new ArrayList<>();
+        for (EventResults.Entry e : results.getEntries()) candidates.add(entry(e));
+        body.put("candidates", candidates);
+        return body;
+    }
+
+    private static Map<String, Object> delta(EventResults previous, EventResults next) {
+        Map<String, EventResults.Entry> before = new HashMap<>();
+        for (EventResults.Entry e : previous.getEntries()) before.put(e.getCandidateId(), e);
+        List<Map<String, Object>> changed = new ArrayList<>();
+        for (EventResults.Entry e : next.getEntries()) {
+            EventResults.Entry old = before.remove(e.getCandidateId());
+            if (old == null || old.getVotes() != e.getVotes() || !old.getName().equals(e.getName())) {
+                changed.add(entry(e));
+            }
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("eventId", next.getEventId());
+        body.put("version", next.getVersion());
+        body.put("totalVotes", next.getTotalVotes());
+        body.put("changed", changed);
+        body.put("removed", new ArrayList<>(before.keySet()));
+        return body;
+    }
+
+    private static Map<String, Object> entry(EventResults.Entry e) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("candidateId", e.getCandidateId());
+        m.put("name", e.getName());
+        m.put("votes", e.getVotes());
+        return m;
+    }
+}
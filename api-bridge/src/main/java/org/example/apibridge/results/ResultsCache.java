@@ -0,0 +1,161 @@
+package org.example.apibridge.results;
+
+import org.example.shared.EventResults;
+import org.example.shared.VotingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.rmi.RemoteException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-lived per-event cache in front of votingService.getResults.
+ * Within ttl-ms a cached value is returned as is. For stale-ms after that the old value is still
+ * returned immediately while one background call refreshes it (stale-while-revalidate). Past
+ * that, callers wait for a fresh load. Concurrent loads of the same event are single-flight:
+ * the first caller starts the RMI call and everyone else arriving meanwhile waits on it.
+ */
+@Component
+public class ResultsCache {
+    private static final Logger log = LoggerFactory.getLogger(ResultsCache.class);
+
+    private final VotingService votingService;
+    private final TaskExecutor executor;
+    private final Map<String, Cached> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<EventResults>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    @Value("${app.results.cache.ttl-ms:1000}")
+    private long ttlMs;
+
+    @Value("${app.results.cache.stale-ms:5000}")
+    private long staleMs;
+
+    @Value("${app.results.cache.max-entries:10000}")
+    private int maxEntries;
+
+    private static final class Cached {
+        final EventResults results;
+        final long loadedAt;
+
+        Cached(EventResults results, long loadedAt) {
+            this.results = results;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public ResultsCache(VotingService votingService, TaskExecutor executor) {
+        this.votingService = votingService;
+        this.executor = executor;
+    }
+
+    public EventResults get(String eventId) throws RemoteException {
+        long now = System.currentTimeMillis();
+        Cached cached = entries.get(eventId);
+        if (cached != null) {
+            long age = now - cached.loadedAt;
+            if (age < ttlMs) {
+                hits.increment();
+                return cached.results;
+            }
+            if (age < ttlMs + staleMs) {
+                staleHits.increment();
+                refreshInBackground(eventId);
+                return cached.results;
+            }
+        }
+        misses.increment();
+        return await(load(eventId));
+    }
+
+    /** Stores results obtained elsewhere (e.g. from the live stream) if newer than the cached ones. */
+    public void offer(EventResults results) {
+        Cached fresh = new Cached(results, System.currentTimeMillis());
+        // A slow load must not replace a newer value the stream delivered meanwhile; anything past
+        // its TTL is replaced regardless, so a version reset after a server restart cannot stick
+        entries.merge(results.getEventId(), fresh, (old, next) ->
+                next.results.getVersion() >= old.results.getVersion() || next.loadedAt - old.loadedAt >= ttlMs ? next : old);
+    }
+
+    private void refreshInBackground(String eventId) {
+        if (loading.containsKey(eventId)) return;
+        executor.execute(() -> {
+            try {
+                await(load(eventId));
+            } catch (RemoteException | RuntimeException e) {
+                // Callers keep getting the stale value until it expires
+                log.warn("Background refresh of results for event {} failed: {}", eventId, e.getMessage());
+            }
+        });
+    }
+
+    // Returns the in-flight load for the event, starting one if there is none
+    private CompletableFuture<EventResults> load(String eventId) {
+        CompletableFuture<EventResults> mine = new CompletableFuture<>();
+        CompletableFuture<EventResults> existing = loading.putIfAbsent(eventId, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        loads.increment();
+        try {
+            EventResults results = votingService.getResults(eventId);
+            store(eventId, results);
+            mine.complete(results);
+        } catch (RemoteException | RuntimeException e) {
+            loadFailures.increment();
+            mine.completeExceptionally(e);
+        } finally {
+            loading.remove(eventId, mine);
+        }
+        return mine;
+    }
+
+    private void store(String eventId, EventResults results) {
+        if (entries.size() >= maxEntries && !entries.containsKey(eventId)) {
+            long cutoff = System.currentTimeMillis() - ttlMs - staleMs;
+            entries.values().removeIf(c -> c.loadedAt < cutoff);
+            if (entries.size() >= maxEntries) return;
+        }
+        offer(results);
+    }
+
+    private static EventResults await(CompletableFuture<EventResults> future) throws RemoteException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RemoteException remote) throw remote;
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw e;
+        }
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("coalesced", coalesced.sum());
+        stats.put("loads", loads.sum());
+        stats.put("loadFailures", loadFailures.sum());
+        stats.put("entries", (long) entries.size());
+        stats.put("ttlMs", ttlMs);
+        stats.put("staleMs", staleMs);
+        return stats;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.apibridge.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring of node names. Each node is placed at many points (virtual nodes) so the
+ * key space is split evenly; adding or removing one node only moves the keys on the arcs it
+ * gains or loses, about 1/N of them.
+ */
+public class HashRing {
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+    private final List<String> nodes;
+
+    public HashRing(List<String> nodes, int pointsPerNode) {
+        if (nodes.isEmpty()) throw new IllegalArgumentException("At least one node is required");
+        this.nodes = List.copyOf(nodes);
+        for (String node : nodes) {
+            for (int i = 0; i < pointsPerNode; i++) ring.put(hash(node + "#" + i), node);
+        }
+    }
+
+    public String nodeFor(String key) {
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(key));
+        return (e != null ? e : ring.firstEntry()).getValue();
+    }
+
+    public Collection<String> nodes() {
+        return nodes;
+    }
+
+    /** Fraction of the key space owned by each node. */
+    public Map<String, Double> shares() {
+        Map<String, Double> shares = new HashMap<>();
+        if (ring.size() == 1) {
+            shares.put(ring.firstEntry().getValue(), 1.0);
+            return shares;
+        }
+        long previous = ring.lastKey();
+        for (Map.Entry<Long, String> e : ring.entrySet()) {
+            // The arc (previous, key] belongs to this point's node; the subtraction wraps around the ring
+            long width = e.getKey() - previous;
+            shares.merge(e.getValue(), (width >= 0 ? width : width + 0x1p64) / 0x1p64, Double::sum);
+            previous = e.getKey();
+        }
+        return shares;
+    }
+
+    // 64-bit FNV-1a with a murmur-style finaliser to spread similar keys ("node#1", "node#2")
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
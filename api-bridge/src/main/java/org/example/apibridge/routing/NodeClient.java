@@ -0,0 +1,184 @@
+package org.example.apibridge.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.shared.VotingService;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.rmi.ConnectException;
+import java.rmi.ConnectIOException;
+import java.rmi.Naming;
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One rmi-server node: its stub, looked up lazily and again after the node restarts, plus call
+ * counters and the node's last reported load. An in-process node wraps the service object itself.
+ * Once bound to a meter registry, every VotingService call is timed per method as the bridge sees
+ * it (voting.rmi.client, tagged node, method and outcome).
+ */
+public class NodeClient implements MeterBinder {
+    // Latency buckets exported to Prometheus; fixed so the series count stays per node x method
+    private static final Duration[] SLOS = {Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofMillis(5),
+            Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100),
+            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500),
+            Duration.ofSeconds(10)};
+
+    private final String name;
+    private final String url;
+    private volatile VotingService stub;
+    private final Runnable onClose;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile Map<String, Long> lastStats = Map.of();
+    private volatile long statsAt;
+    // Success and error timer per VotingService method; null until bindTo
+    private volatile Map<Method, Timer[]> timers;
+
+    interface RemoteCall<T> {
+        T apply(VotingService service) throws RemoteException;
+    }
+
+    public NodeClient(String name, String url) {
+        this.name = name;
+        this.url = url;
+        this.onClose = null;
+    }
+
+    /** A service running in this JVM; onClose stops it when the bridge shuts down. */
+    public NodeClient(String name, VotingService local, Runnable onClose) {
+        this.name = name;
+        this.url = "in-process";
+        this.stub = timed(local);
+        this.onClose = onClose;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    <T> T call(RemoteCall<T> call) throws RemoteException {
+        calls.increment();
+        inFlight.incrementAndGet();
+        try {
+            return call.apply(stub());
+        } catch (RemoteException e) {
+            errors.increment();
+            // Remote node restarted or went away: look the stub up again next time (an in-process
+            // node, the only kind with onClose, keeps its service)
+            if (onClose == null
+                    && (e instanceof ConnectException || e instanceof ConnectIOException || e instanceof NoSuchObjectException)) {
+                stub = null;
+            }
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private VotingService stub() throws RemoteException {
+        VotingService s = stub;
+        if (s == null) {
+            try {
+                s = timed((VotingService) Naming.lookup(url));
+            } catch (RemoteException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RemoteException("RMI service unavailable: " + url, e);
+            }
+            stub = s;
+        }
+        return s;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<Method, Timer[]> byMethod = new HashMap<>();
+        for (Method m : VotingService.class.getMethods()) {
+            byMethod.put(m, new Timer[]{timer(registry, m, "success"), timer(registry, m, "error")});
+        }
+        timers = byMethod;
+        Gauge.builder("voting.rmi.client.in.flight", inFlight, AtomicInteger::get)
+                .description("VotingService calls waiting for this node")
+                .tag("node", name)
+                .register(registry);
+    }
+
+    private Timer timer(MeterRegistry registry, Method method, String outcome) {
+        return Timer.builder("voting.rmi.client")
+                .description("VotingService calls from the bridge, including transport")
+                .tags("node", name, "method", method.getName(), "outcome", outcome)
+                .serviceLevelObjectives(SLOS)
+                .register(registry);
+    }
+
+    // Times each call through the service while timers are bound; Object methods pass straight through
+    private VotingService timed(VotingService service) {
+        return (VotingService) Proxy.newProxyInstance(VotingService.class.getClassLoader(),
+                new Class<?>[]{VotingService.class}, (proxy, method, args) -> {
+                    Map<Method, Timer[]> bound = timers;
+                    Timer[] timer = bound == null ? null : bound.get(method);
+                    long start = System.nanoTime();
+                    try {
+                        Object result = method.invoke(service, args);
+                        if (timer != null) timer[0].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        if (timer != null) timer[1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /** Events stored on the node as of the last refresh; refreshed when older than maxAgeMs. */
+    long eventCount(long maxAgeMs) {
+        if (System.currentTimeMillis() - statsAt > maxAgeMs) {
+            try {
+                lastStats = call(VotingService::getNodeStats);
+            } catch (RemoteException e) {
+                // Unreachable nodes never look least loaded
+                lastStats = Map.of("events", Long.MAX_VALUE);
+            }
+            statsAt = System.currentTimeMillis();
+        }
+        return lastStats.getOrDefault("events", 0L);
+    }
+
+    // An event was just placed here; count it before the next refresh so a burst spreads out
+    void eventCreated() {
+        Map<String, Long> stats = new LinkedHashMap<>(lastStats);
+        stats.merge("events", 1L, (a, b) -> a == Long.MAX_VALUE ? a : a + b);
+        lastStats = stats;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("url", url);
+        stats.put("connected", stub != null);
+        stats.put("calls", calls.sum());
+        stats.put("errors", errors.sum());
+        stats.put("inFlight", inFlight.get());
+        stats.put("reported", lastStats);
+        return stats;
+    }
+
+    void close() {
+        if (onClose != null) onClose.run();
+    }
+}
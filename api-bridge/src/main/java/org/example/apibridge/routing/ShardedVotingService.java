@@ -0,0 +1,357 @@
+package org.example.apibridge.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.shared.AccountJobStatus;
+import org.example.shared.AccountPage;
+import org.example.shared.BallotBatch;
+import org.example.shared.BallotBatchResult;
+import org.example.shared.BallotImportProgress;
+import org.example.shared.Candidate;
+import org.example.shared.CandidatePhoto;
+import org.example.shared.CandidateSnapshot;
+import org.example.shared.EventInfo;
+import org.example.shared.EventResults;
+import org.example.shared.InvalidCredentialsException;
+import org.example.shared.VotingService;
+
+import java.rmi.RemoteException;
+import java.rmi.ServerException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * VotingService that spreads events over several rmi-server nodes.
+ * Every call that names an event goes to the node that owns the event's id on a consistent-hash
+ * ring. New events are placed on the node with the fewest events: the bridge draws random ids
+ * until one hashes to that node and creates the event there under that id, so routing stays a
+ * pure function of the id. Calls keyed by a job or import id go to the node that started it;
+ * logins, which carry no event id, go to the node the username last logged in on and are
+ * otherwise tried on all nodes at once. With one node configured
+ * every call simply passes through, which is also how the in-process mode is wired.
+ */
+public class ShardedVotingService implements VotingService, MeterBinder {
+    private static final int MAX_ID_ATTEMPTS = 10_000;
+    private static final int MAX_REMEMBERED = 10_000;
+
+    private final Map<String, NodeClient> nodes = new LinkedHashMap<>();
+    private final HashRing ring;
+    private final Executor executor;
+    private final long statsMaxAgeMs;
+    // Job and import ids are node-local; remember where each was started
+    private final Map<String, NodeClient> jobNodes = recentIds();
+    private final Map<String, NodeClient> importNodes = recentIds();
+    // Usernames are node-local too; remember where each last logged in
+    private final Map<String, NodeClient> loginNodes = recentIds();
+
+    public ShardedVotingService(List<NodeClient> nodeClients, int pointsPerNode, long statsMaxAgeMs, Executor executor) {
+        List<String> names = new ArrayList<>();
+        for (NodeClient node : nodeClients) {
+            if (nodes.put(node.getName(), node) != null) {
+                throw new IllegalArgumentException("Duplicate RMI node name: " + node.getName());
+            }
+            names.add(node.getName());
+        }
+        this.ring = new HashRing(names, pointsPerNode);
+        this.executor = executor;
+        this.statsMaxAgeMs = statsMaxAgeMs;
+    }
+
+    // Spring Boot binds MeterBinder beans to the registry once it is up
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (NodeClient node : nodes.values()) node.bindTo(registry);
+    }
+
+    public String nodeNameFor(String eventId) {
+        return ring.nodeFor(eventId);
+    }
+
+    private NodeClient owner(String eventId) {
+        return nodes.get(ring.nodeFor(eventId == null ? "" : eventId));
+    }
+
+    /** Per node: URL, call counters, last reported load and share of the hash ring. */
+    public Map<String, Map<String, Object>> nodeStats() {
+        Map<String, Double> shares = ring.shares();
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        for (NodeClient node : nodes.values()) {
+            Map<String, Object> s = node.stats();
+            s.put("ringShare", shares.getOrDefault(node.getName(), 0.0));
+            stats.put(node.getName(), s);
+        }
+        return stats;
+    }
+
+    // ---- Event placement ----
+
+    @Override
+    public EventInfo createEvent(String eventName) throws RemoteException {
+        if (nodes.size() == 1) return nodes.values().iterator().next().call(s -> s.createEvent(eventName));
+        NodeClient target = leastLoaded();
+        String eventId = idOwnedBy(target.getName());
+        EventInfo info = target.call(s -> s.createEventWithId(eventName, eventId));
+        target.eventCreated();
+        return info;
+    }
+
+    @Override
+    public EventInfo createEventWithId(String eventName, String eventId) throws RemoteException {
+        return owner(eventId).call(s -> s.createEventWithId(eventName, eventId));
+    }
+
+    private NodeClient leastLoaded() {
+        NodeClient best = null;
+        long bestEvents = Long.MAX_VALUE;
+        for (NodeClient node : nodes.values()) {
+            long events = node.eventCount(statsMaxAgeMs);
+            if (best == null || events < bestEvents || events == bestEvents && node.getInFlight() < best.getInFlight()) {
+                best = node;
+                bestEvents = events;
+            }
+        }
+        return best;
+    }
+
+    // Same shape as the ids rmi-server generates: 8 uppercase hex digits
+    private String idOwnedBy(String node) throws RemoteException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < MAX_ID_ATTEMPTS; i++) {
+            String id = String.format("%08X", random.nextInt());
+            if (ring.nodeFor(id).equals(node)) return id;
+        }
+        throw new RemoteException("Could not find an event id for node " + node);
+    }
+
+    @Override
+    public Map<String, Long> getNodeStats() throws RemoteException {
+        Map<String, Long> total = new LinkedHashMap<>();
+        for (NodeClient node : nodes.values()) {
+            for (Map.Entry<String, Long> e : node.call(VotingService::getNodeStats).entrySet()) {
+                total.merge(e.getKey(), e.getValue(), "uptimeMs".equals(e.getKey()) ? Math::min : Long::sum);
+            }
+        }
+        return total;
+    }
+
+    // ---- Calls routed by event id ----
+
+    @Override
+    public String addCandidate(String eventId, String candidateName, byte[] photo) throws RemoteException {
+        return owner(eventId).call(s -> s.addCandidate(eventId, candidateName, photo));
+    }
+
+    @Override
+    public boolean updateCandidate(String eventId, String candidateId, String newName, byte[] newPhoto) throws RemoteException {
+        return owner(eventId).call(s -> s.updateCandidate(eventId, candidateId, newName, newPhoto));
+    }
+
+    @Override
+    public boolean deleteCandidate(String eventId, String candidateId) throws RemoteException {
+        return owner(eventId).call(s -> s.deleteCandidate(eventId, candidateId));
+    }
+
+    @Override
+    public EventResults getResults(String eventId) throws RemoteException {
+        return owner(eventId).call(s -> s.getResults(eventId));
+    }
+
+    @Override
+    public EventResults awaitResults(String eventId, long knownVersion, long maxWaitMs) throws RemoteException {
+        return owner(eventId).call(s -> s.awaitResults(eventId, knownVersion, maxWaitMs));
+    }
+
+    @Override
+    public AccountPage createAccounts(String eventId, int eventSize) throws RemoteException {
+        return owner(eventId).call(s -> s.createAccounts(eventId, eventSize));
+    }
+
+    @Override
+    public AccountPage getUserAccounts(String eventID) throws RemoteException {
+        return owner(eventID).call(s -> s.getUserAccounts(eventID));
+    }
+
+    @Override
+    public AccountPage getUserAccountsPage(String eventId, String afterUserId, int limit) throws RemoteException {
+        return owner(eventId).call(s -> s.getUserAccountsPage(eventId, afterUserId, limit));
+    }
+
+    @Override
+    public AccountJobStatus startAccountJob(String eventId, int count) throws RemoteException {
+        NodeClient node = owner(eventId);
+        AccountJobStatus status = node.call(s -> s.startAccountJob(eventId, count));
+        jobNodes.put(status.getJobId(), node);
+        return status;
+    }
+
+    @Override
+    public List<Candidate> getEventForVoter(String eventId, String password) throws RemoteException {
+        return owner(eventId).call(s -> s.getEventForVoter(eventId, password));
+    }
+
+    @Override
+    public CandidateSnapshot getCandidateSnapshot(String eventId, String password, long knownVersion) throws RemoteException {
+        return owner(eventId).call(s -> s.getCandidateSnapshot(eventId, password, knownVersion));
+    }
+
+    @Override
+    public CandidatePhoto getCandidatePhoto(String eventId, String candidateId, String size, String knownHash) throws RemoteException {
+        return owner(eventId).call(s -> s.getCandidatePhoto(eventId, candidateId, size, knownHash));
+    }
+
+    @Override
+    public boolean castVote(String userId, String eventId, String candidateId) throws RemoteException {
+        return owner(eventId).call(s -> s.castVote(userId, eventId, candidateId));
+    }
+
+    @Override
+    public BallotBatchResult castVotes(BallotBatch ballots) throws RemoteException {
+        return owner(ballots.getEventId()).call(s -> s.castVotes(ballots));
+    }
+
+    @Override
+    public BallotImportProgress beginBallotImport(String eventId, String importId) throws RemoteException {
+        NodeClient node = owner(eventId);
+        BallotImportProgress progress = node.call(s -> s.beginBallotImport(eventId, importId));
+        importNodes.put(importId, node);
+        return progress;
+    }
+
+    @Override
+    public BallotImportProgress importBallots(String importId, long firstRow, BallotBatch ballots) throws RemoteException {
+        return owner(ballots.getEventId()).call(s -> s.importBallots(importId, firstRow, ballots));
+    }
+
+    @Override
+    public boolean hasUserVoted(String userId, String eventId) throws RemoteException {
+        return owner(eventId).call(s -> s.hasUserVoted(userId, eventId));
+    }
+
+    // ---- Calls without an event id ----
+
+    @Override
+    public AccountJobStatus getAccountJobStatus(String jobId) throws RemoteException {
+        NodeClient node = jobNodes.get(jobId);
+        if (node != null) return node.call(s -> s.getAccountJobStatus(jobId));
+        // Started before this bridge instance came up (or forgotten since): ask every node
+        for (NodeClient n : nodes.values()) {
+            AccountJobStatus status = n.call(s -> s.getAccountJobStatus(jobId));
+            if (status != null) {
+                jobNodes.put(jobId, n);
+                return status;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public AccountPage getAccountJobResult(String jobId) throws RemoteException {
+        NodeClient node = jobNodes.get(jobId);
+        if (node == null) {
+            for (NodeClient n : nodes.values()) {
+                if (n.call(s -> s.getAccountJobStatus(jobId)) != null) {
+                    node = n;
+                    break;
+                }
+            }
+            if (node == null) return null;
+        }
+        AccountPage result = node.call(s -> s.getAccountJobResult(jobId));
+        // A result is handed out only once, so there is nothing left to route afterwards
+        if (result != null) jobNodes.remove(jobId);
+        return result;
+    }
+
+    @Override
+    public BallotImportProgress finishBallotImport(String importId) throws RemoteException {
+        NodeClient node = importNodes.remove(importId);
+        if (node != null) return node.call(s -> s.finishBallotImport(importId));
+        RemoteException last = null;
+        for (NodeClient n : nodes.values()) {
+            try {
+                return n.call(s -> s.finishBallotImport(importId));
+            } catch (RemoteException e) {
+                last = e;
+            }
+        }
+        throw last;
+    }
+
+    @Override
+    public Map<String, String> Login(String username, String password) throws RemoteException {
+        if (nodes.size() == 1) return nodes.values().iterator().next().call(s -> s.Login(username, password));
+        // Usually the account is still on the node it last logged in on; a failure there is final,
+        // a refusal may mean its event has moved
+        NodeClient known = loginNodes.get(username);
+        if (known != null) {
+            try {
+                return known.call(s -> s.Login(username, password));
+            } catch (RemoteException e) {
+                if (!refused(e)) throw e;
+                loginNodes.remove(username, known);
+            }
+        }
+        // A username exists on exactly one node; ask all of them in parallel and keep the match
+        List<CompletableFuture<Map<String, String>>> attempts = new ArrayList<>();
+        for (NodeClient node : nodes.values()) {
+            attempts.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    Map<String, String> user = node.call(s -> s.Login(username, password));
+                    if (user != null) loginNodes.put(username, node);
+                    return user;
+                } catch (RemoteException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        RemoteException failure = null;
+        for (CompletableFuture<Map<String, String>> attempt : attempts) {
+            try {
+                Map<String, String> user = attempt.get();
+                if (user != null) return user;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RemoteException("Login interrupted");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+                if (!refused(cause) && failure == null) {
+                    failure = cause instanceof RemoteException ? (RemoteException) cause
+                            : new RemoteException("Login failed on a node", cause);
+                }
+            }
+        }
+        // The account may be on a node that could not answer, so this is not a wrong password
+        if (failure != null) throw failure;
+        throw new InvalidCredentialsException();
+    }
+
+    // Over RMI the node's exception arrives wrapped in a ServerException
+    private static boolean refused(Throwable e) {
+        return e instanceof InvalidCredentialsException
+                || (e instanceof ServerException && e.getCause() instanceof InvalidCredentialsException);
+    }
+
+    /** Stops in-process nodes; called by Spring when the context closes. */
+    public void close() {
+        for (NodeClient node : nodes.values()) node.close();
+    }
+
+    // Bounded and access-ordered, so the ids used least recently are forgotten first; a forgotten
+    // id still works, it just costs a lookup on every node
+    private static Map<String, NodeClient> recentIds() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NodeClient> eldest) {
+                return size() > MAX_REMEMBERED;
+            }
+        });
+    }
+}
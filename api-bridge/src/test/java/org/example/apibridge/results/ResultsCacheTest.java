@@ -0,0 +1,103 @@
+package org.example.apibridge.results;
+
+import org.example.shared.EventResults;
+import org.example.shared.VotingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultsCacheTest {
+    private static final int CALLERS = 8;
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean failing;
+    private ExecutorService callers;
+    private ResultsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        // Only getResults is called; it blocks until the test releases it
+        VotingService service = (VotingService) Proxy.newProxyInstance(VotingService.class.getClassLoader(),
+                new Class<?>[]{VotingService.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getResults")) throw new UnsupportedOperationException(method.getName());
+                    calls.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    if (failing) throw new RemoteException("node down");
+                    return new EventResults((String) args[0], List.of(), calls.get());
+                });
+        cache = new ResultsCache(service, Runnable::run);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "staleMs", 0L);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        List<Future<EventResults>> results = getConcurrently();
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        EventResults first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<EventResults> result : results) assertSame(first, result.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, (long) cache.stats().get("loads"));
+        // Fresh now, so the next caller does not load at all
+        assertSame(first, cache.get("EV1"));
+        assertEquals(1, (long) cache.stats().get("hits"));
+    }
+
+    @Test
+    void aFailedLoadFailsEveryWaiterAndIsNotCached() throws Exception {
+        failing = true;
+        List<Future<EventResults>> results = getConcurrently();
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<EventResults> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof RemoteException, String.valueOf(e.getCause()));
+        }
+        assertEquals(1, (long) cache.stats().get("loadFailures"));
+
+        failing = false;
+        assertEquals("EV1", cache.get("EV1").getEventId());
+        assertEquals(2, calls.get());
+    }
+
+    private List<Future<EventResults>> getConcurrently() {
+        List<Future<EventResults>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) results.add(callers.submit(() -> cache.get("EV1")));
+        return results;
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (cache.stats().get("coalesced") < expected && System.currentTimeMillis() < deadline) Thread.sleep(5);
+        assertEquals(expected, (long) cache.stats().get("coalesced"));
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.apibridge.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashRingTest {
+    private static final int KEYS = 20_000;
+
+    @Test
+    void routingIsAPureFunctionOfTheKey() {
+        HashRing a = new HashRing(List.of("node-a", "node-b", "node-c"), 160);
+        HashRing b = new HashRing(List.of("node-a", "node-b", "node-c"), 160);
+        for (int i = 0; i < 1000; i++) {
+            String key = String.format("%08X", i * 2654435761L & 0xFFFFFFFFL);
+            assertEquals(a.nodeFor(key), b.nodeFor(key));
+        }
+    }
+
+    @Test
+    void sharesCoverTheRingAndAreRoughlyEven() {
+        HashRing ring = new HashRing(List.of("node-a", "node-b", "node-c", "node-d"), 160);
+        Map<String, Double> shares = ring.shares();
+        assertEquals(4, shares.size());
+        assertEquals(1.0, shares.values().stream().mapToDouble(Double::doubleValue).sum(), 1e-9);
+        for (double share : shares.values()) assertTrue(share > 0.15 && share < 0.35, "uneven share " + share);
+
+        assertEquals(Map.of("solo", 1.0), new HashRing(List.of("solo"), 1).shares());
+    }
+
+    @Test
+    void addingANodeOnlyMovesKeysToIt() {
+        HashRing before = new HashRing(List.of("node-a", "node-b", "node-c"), 160);
+        HashRing after = new HashRing(List.of("node-a", "node-b", "node-c", "node-d"), 160);
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "EV" + i;
+            String was = before.nodeFor(key);
+            String now = after.nodeFor(key);
+            if (!was.equals(now)) {
+                assertEquals("node-d", now);
+                moved++;
+            }
+        }
+        // About a quarter of the keys should now belong to the new node
+        assertTrue(moved > KEYS * 0.15 && moved < KEYS * 0.35, moved + " of " + KEYS + " keys moved");
+    }
+
+    @Test
+    void emptyRingIsRefused() {
+        assertThrows(IllegalArgumentException.class, () -> new HashRing(List.of(), 160));
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.apibridge.routing;
+
+import org.example.shared.InvalidCredentialsException;
+import org.example.shared.VotingService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.rmi.ConnectException;
+import java.rmi.RemoteException;
+import java.rmi.ServerException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardedVotingServiceTest {
+
+    interface LoginHandler {
+        Map<String, String> login(String username) throws RemoteException;
+    }
+
+    @Test
+    void aLoginNoNodeAcceptedReportsANodeThatFailedInsteadOfBadCredentials() {
+        ShardedVotingService sharded = sharded(
+                node("a", u -> { throw new InvalidCredentialsException(); }, null),
+                node("b", u -> { throw new ConnectException("node b down"); }, null));
+        assertThrows(ConnectException.class, () -> sharded.Login("alice", "pw"));
+    }
+
+    @Test
+    void aLoginEveryNodeRefusedIsInvalidCredentials() {
+        ShardedVotingService sharded = sharded(
+                node("a", u -> { throw new InvalidCredentialsException(); }, null),
+                // How a remote node's refusal arrives over RMI
+                node("b", u -> { throw new ServerException("refused", new InvalidCredentialsException()); }, null));
+        assertThrows(InvalidCredentialsException.class, () -> sharded.Login("alice", "pw"));
+    }
+
+    @Test
+    void repeatLoginsGoStraightToTheNodeThatAcceptedTheUsername() throws Exception {
+        AtomicInteger callsOnA = new AtomicInteger();
+        ShardedVotingService sharded = sharded(
+                node("a", u -> { throw new InvalidCredentialsException(); }, callsOnA),
+                node("b", u -> Map.of("userId", "U1"), null));
+        assertEquals("U1", sharded.Login("alice", "pw").get("userId"));
+        assertEquals("U1", sharded.Login("alice", "pw").get("userId"));
+        assertEquals(1, callsOnA.get());
+    }
+
+    private static ShardedVotingService sharded(NodeClient... nodes) {
+        return new ShardedVotingService(List.of(nodes), 16, 1000, Runnable::run);
+    }
+
+    private static NodeClient node(String name, LoginHandler handler, AtomicInteger calls) {
+        VotingService service = (VotingService) Proxy.newProxyInstance(VotingService.class.getClassLoader(),
+                new Class<?>[]{VotingService.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("Login")) throw new UnsupportedOperationException(method.getName());
+                    if (calls != null) calls.incrementAndGet();
+                    return handler.login((String) args[0]);
+                });
+        return new NodeClient(name, service, () -> { });
+    }
+}
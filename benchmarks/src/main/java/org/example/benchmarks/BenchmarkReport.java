@@ -0,0 +1,160 @@
+package org.example.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Release-to-release benchmark reports. "run" executes the benchmarks and writes JMH's CSV
+ * results to results/RELEASE.csv; "compare" lines up two such files by benchmark, mode, thread
+ * count and parameters and marks a change as faster or slower only when the scores differ by
+ * more than their combined 99.9% error. compare exits with status 1 if anything got slower.
+ *
+ * Usage: java -cp benchmarks.jar org.example.benchmarks.BenchmarkReport run RELEASE [JMH options]
+ *        java -cp benchmarks.jar org.example.benchmarks.BenchmarkReport compare BASE.csv NEW.csv
+ */
+public class BenchmarkReport {
+
+    static final class Row {
+        final String benchmark;
+        final String mode;
+        final String key;
+        final double score;
+        final double error;
+        final String unit;
+
+        Row(String benchmark, String mode, String key, double score, double error, String unit) {
+            this.benchmark = benchmark;
+            this.mode = mode;
+            this.key = key;
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && "run".equals(args[0])) {
+            run(args[1], Arrays.copyOfRange(args, 2, args.length));
+        } else if (args.length == 3 && "compare".equals(args[0])) {
+            System.exit(compare(Paths.get(args[1]), Paths.get(args[2])) > 0 ? 1 : 0);
+        } else {
+            System.err.println("Usage: BenchmarkReport run RELEASE [JMH options] | compare BASE.csv NEW.csv");
+            System.exit(2);
+        }
+    }
+
+    private static void run(String release, String[] jmhArgs) throws Exception {
+        Path out = Paths.get("results", release + ".csv");
+        Files.createDirectories(out.getParent());
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(jmhArgs))
+                .resultFormat(ResultFormatType.CSV)
+                .result(out.toString())
+                .build()).run();
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    // Returns the number of benchmarks that got slower
+    private static int compare(Path basePath, Path newPath) throws IOException {
+        Map<String, Row> base = read(basePath);
+        Map<String, Row> current = read(newPath);
+        int slower = 0;
+        int faster = 0;
+        System.out.printf("%-60s %5s %9s %14s %14s %9s%n", "benchmark", "mode", "unit", "base", "new", "change");
+        for (Row now : current.values()) {
+            Row before = base.get(now.key);
+            if (before == null) {
+                System.out.printf("%-60s %5s %9s %14s %14.3f %9s  new%n", label(now), now.mode, now.unit, "-",
+                        now.score, "");
+                continue;
+            }
+            double change = (now.score - before.score) / before.score * 100;
+            String verdict = "";
+            if (Math.abs(now.score - before.score) > errorOrZero(before) + errorOrZero(now)) {
+                // Throughput is better when higher; every other mode reports time, which is better when lower
+                boolean better = "thrpt".equals(now.mode) == now.score > before.score;
+                verdict = better ? "faster" : "slower";
+                if (better) faster++;
+                else slower++;
+            }
+            System.out.printf("%-60s %5s %9s %14.3f %14.3f %+8.1f%%  %s%n", label(now), now.mode, now.unit,
+                    before.score, now.score, change, verdict);
+        }
+        for (Row gone : base.values()) {
+            if (!current.containsKey(gone.key)) {
+                System.out.printf("%-60s %5s %9s %14.3f %14s %9s  removed%n", label(gone), gone.mode, gone.unit, gone.score,
+                        "-", "");
+            }
+        }
+        System.out.println(slower + " slower, " + faster + " faster");
+        return slower;
+    }
+
+    private static String label(Row row) {
+        String name = row.benchmark.substring(row.benchmark.lastIndexOf('.', row.benchmark.lastIndexOf('.') - 1) + 1);
+        int params = row.key.indexOf('|', row.key.indexOf('|', row.key.indexOf('|') + 1) + 1);
+        return params < 0 ? name : name + " " + row.key.substring(params + 1);
+    }
+
+    private static double errorOrZero(Row row) {
+        return Double.isNaN(row.error) ? 0 : row.error;
+    }
+
+    // JMH CSV: Benchmark, Mode, Threads, Samples, Score, Score Error (99.9%), Unit, then one "Param: x" column each
+    private static Map<String, Row> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) throw new IOException("Empty results file: " + file);
+        List<String> header = split(lines.get(0));
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            List<String> cells = split(line);
+            StringBuilder key = new StringBuilder(cells.get(0)).append('|').append(cells.get(1)).append('|')
+                    .append(cells.get(2)).append('|');
+            for (int i = 7; i < cells.size() && i < header.size(); i++) {
+                if (cells.get(i).isEmpty()) continue;
+                key.append(header.get(i).replace("Param: ", "")).append('=').append(cells.get(i)).append(' ');
+            }
+            rows.put(key.toString().trim(), new Row(cells.get(0), cells.get(1), key.toString().trim(),
+                    Double.parseDouble(cells.get(4)), Double.parseDouble(cells.get(5)), cells.get(6)));
+        }
+        return rows;
+    }
+
+    private static List<String> split(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.benchmarks;
+
+import org.example.shared.VotingService;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Runs rmi-server's voting service inside the benchmark JVM, the same way the bridge does with
+ * rmi.mode=in-process, on the in-memory storage engine so no MySQL or registry is needed.
+ * rmi-server's classes live in the unnamed package and can only be reached by name; that lookup
+ * happens once per trial, and the measured calls go straight through VotingService.
+ */
+final class EmbeddedServer {
+
+    private EmbeddedServer() {
+    }
+
+    static VotingService start() throws Exception {
+        configure();
+        return (VotingService) serverClass("InProcessService").getMethod("start").invoke(null);
+    }
+
+    static void stop() throws Exception {
+        serverClass("InProcessService").getMethod("stop").invoke(null);
+    }
+
+    /** A storage engine opened like the server opens it (VoteStore.open()). */
+    static Object openStore() throws Exception {
+        configure();
+        return serverClass("VoteStore").getMethod("open").invoke(null);
+    }
+
+    static void closeStore(Object store) throws Exception {
+        serverClass("VoteStore").getMethod("close").invoke(store);
+    }
+
+    /** A String-to-String method of VoteStore (e.g. encryptPassword), bound to store. */
+    static MethodHandle storeFunction(Object store, String name) throws Exception {
+        MethodType type = MethodType.methodType(String.class, String.class);
+        return MethodHandles.publicLookup().findVirtual(serverClass("VoteStore"), name, type).bindTo(store);
+    }
+
+    /** A CredentialService of its own, built like the server's but with the given secret and login cache. */
+    static Object credentialService(String secret, int cacheSize, long cacheTtlMs) throws Exception {
+        return serverClass("CredentialService").getConstructor(String.class, int.class, long.class)
+                .newInstance(secret, cacheSize, cacheTtlMs);
+    }
+
+    /** A method of CredentialService, bound to credentials. */
+    static MethodHandle credentialMethod(Object credentials, String name, MethodType type) throws Exception {
+        return MethodHandles.publicLookup().findVirtual(serverClass("CredentialService"), name, type).bindTo(credentials);
+    }
+
+    // Settings given with -D on the benchmark JVM win over these defaults
+    private static void configure() {
+        if (System.getProperty("storage.engine") == null) {
+            System.setProperty("storage.engine", "memory");
+        }
+        // The service logs every vote and login; keep that out of the measurements unless asked for
+        if (!Boolean.getBoolean("bench.serverLogs")) {
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        }
+    }
+
+    private static Class<?> serverClass(String name) throws ClassNotFoundException {
+        return Class.forName(name, true, EmbeddedServer.class.getClassLoader());
+    }
+}
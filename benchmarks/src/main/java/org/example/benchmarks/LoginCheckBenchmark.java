@@ -0,0 +1,111 @@
+package org.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU side of a voter login: checking a presented password against the stored (encrypted)
+ * one. legacyCheck is the path DBController used before CredentialService, deriving the key and
+ * looking up a Cipher on every call; credentialCheck is CredentialService.matches with its cached
+ * key and pooled ciphers; loginCacheHit is a cachedLogin hit, which in the running server also
+ * saves the users query. No database is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginCheckBenchmark {
+    private static final String SECRET = "benchmark-secret-0123456789abcdef";
+    private static final int USERS = 1024;
+
+    MethodHandle matches;
+    MethodHandle cachedLogin;
+    String[] usernames = new String[USERS];
+    String[] passwords = new String[USERS];
+    String[] stored = new String[USERS];
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        Object credentials = EmbeddedServer.credentialService(SECRET, USERS, TimeUnit.HOURS.toMillis(1));
+        MethodHandle encrypt = EmbeddedServer.credentialMethod(credentials, "encrypt",
+                MethodType.methodType(String.class, String.class));
+        MethodHandle rememberLogin = EmbeddedServer.credentialMethod(credentials, "rememberLogin",
+                MethodType.methodType(void.class, String.class, String.class, Map.class));
+        matches = EmbeddedServer.credentialMethod(credentials, "matches",
+                MethodType.methodType(boolean.class, String.class, String.class));
+        cachedLogin = EmbeddedServer.credentialMethod(credentials, "cachedLogin",
+                MethodType.methodType(Map.class, String.class, String.class));
+        for (int i = 0; i < USERS; i++) {
+            usernames[i] = "user" + i;
+            passwords[i] = Integer.toHexString(0x10000000 + i * 7919);
+            stored[i] = (String) encrypt.invokeExact(passwords[i]);
+            rememberLogin.invokeExact(usernames[i], passwords[i], (Map<?, ?>) Map.of("userId", "U" + i));
+        }
+        // Both paths must read the same stored format
+        if (!legacyDecrypt(stored[0]).equals(passwords[0])) {
+            throw new IllegalStateException("Legacy and CredentialService formats differ");
+        }
+    }
+
+    /** Cycles through the sample users, separately for each benchmark thread. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int next() {
+            return next++ & (USERS - 1);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyCheck(Cursor cursor) throws Exception {
+        int i = cursor.next();
+        return legacyDecrypt(stored[i]).equals(passwords[i]);
+    }
+
+    @Benchmark
+    public boolean credentialCheck(Cursor cursor) throws Throwable {
+        int i = cursor.next();
+        return (boolean) matches.invokeExact(stored[i], passwords[i]);
+    }
+
+    @Benchmark
+    public Map<?, ?> loginCacheHit(Cursor cursor) throws Throwable {
+        int i = cursor.next();
+        return (Map<?, ?>) cachedLogin.invokeExact(usernames[i], passwords[i]);
+    }
+
+    private static String legacyDecrypt(String encrypted) throws Exception {
+        byte[] encryptedIvTextBytes = Base64.getDecoder().decode(encrypted);
+        byte[] iv = new byte[16];
+        System.arraycopy(encryptedIvTextBytes, 0, iv, 0, 16);
+        byte[] encryptedBytes = new byte[encryptedIvTextBytes.length - 16];
+        System.arraycopy(encryptedIvTextBytes, 16, encryptedBytes, 0, encryptedBytes.length);
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        byte[] key = MessageDigest.getInstance("SHA-256").digest(SECRET.getBytes(StandardCharsets.UTF_8));
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+        return new String(cipher.doFinal(encryptedBytes), StandardCharsets.UTF_8);
+    }
+}
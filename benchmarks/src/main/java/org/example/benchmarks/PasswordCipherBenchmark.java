@@ -0,0 +1,74 @@
+package org.example.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * encryptPassword and decryptPassword of the storage engine. DBController and InMemoryVoteStore
+ * both delegate to the shared CredentialService, so the in-memory engine measures the same code
+ * without a database. Passwords look like generated ones (8 hex digits).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordCipherBenchmark {
+    private static final int PASSWORDS = 1024;
+
+    Object store;
+    MethodHandle encrypt;
+    MethodHandle decrypt;
+    String[] passwords = new String[PASSWORDS];
+    String[] encrypted = new String[PASSWORDS];
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        store = EmbeddedServer.openStore();
+        encrypt = EmbeddedServer.storeFunction(store, "encryptPassword");
+        decrypt = EmbeddedServer.storeFunction(store, "decryptPassword");
+        for (int i = 0; i < PASSWORDS; i++) {
+            passwords[i] = Integer.toHexString(0x10000000 + i * 7919);
+            encrypted[i] = (String) encrypt.invokeExact(passwords[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        EmbeddedServer.closeStore(store);
+    }
+
+    /** Cycles through the sample passwords, separately for each benchmark thread. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int next() {
+            return next++ & (PASSWORDS - 1);
+        }
+    }
+
+    @Benchmark
+    public String encryptPassword(Cursor cursor) throws Throwable {
+        return (String) encrypt.invokeExact(passwords[cursor.next()]);
+    }
+
+    @Benchmark
+    public String decryptPassword(Cursor cursor) throws Throwable {
+        return (String) decrypt.invokeExact(encrypted[cursor.next()]);
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.benchmarks;
+
+import org.example.shared.AccountPage;
+import org.example.shared.Candidate;
+import org.example.shared.VoterAccount;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java serialization round trips (write + read, as RMI does on either end) of the payloads the
+ * service returns: candidate lists, account pages, the List<Map> account shape the API had before
+ * AccountPage, and the Login map. Sizes per event are parameters; the serialized size of each
+ * payload is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadSerializationBenchmark {
+    private static final String EVENT_ID = "AB12CD34";
+    // Shape of a successful Login result
+    private static final HashMap<String, String> LOGIN = new HashMap<>(Map.of(
+            "userId", "9E3779B1", "eventId", EVENT_ID, "eventName", "Student council 2026", "eventPassword", "5F3A9C1E"));
+
+    @State(Scope.Benchmark)
+    public static class Candidates {
+        @Param({"8", "300"})
+        public int candidates;
+
+        ArrayList<Candidate> list;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            list = new ArrayList<>(candidates);
+            for (int i = 0; i < candidates; i++) {
+                list.add(new Candidate(String.valueOf(i + 1), "Candidate " + i, null, String.format("%064x", i)));
+            }
+            System.out.println(candidates + " candidates: " + serialize(list).length + " bytes");
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Accounts {
+        @Param({"500", "100000"})
+        public int accounts;
+
+        AccountPage page;
+        ArrayList<Map<String, String>> maps;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            List<VoterAccount> rows = new ArrayList<>(accounts);
+            maps = new ArrayList<>(accounts);
+            for (int i = 0; i < accounts; i++) {
+                String userId = String.format("%08X", i * 2654435761L & 0xFFFFFFFFL);
+                String username = String.format("%08x", i * 40503L + 12345);
+                String password = String.format("%08x", i * 69069L + 1);
+                rows.add(new VoterAccount(userId, username, password, EVENT_ID));
+                Map<String, String> row = new HashMap<>();
+                row.put("userId", userId);
+                row.put("username", username);
+                row.put("password", password);
+                row.put("eventId", EVENT_ID);
+                maps.add(row);
+            }
+            page = new AccountPage(EVENT_ID, rows, null);
+            System.out.println(accounts + " accounts: AccountPage " + serialize(page).length
+                    + " bytes, List<Map> " + serialize(maps).length + " bytes");
+        }
+    }
+
+    @Benchmark
+    public Object candidateList(Candidates state) throws Exception {
+        return roundTrip(state.list);
+    }
+
+    @Benchmark
+    public Object accountPage(Accounts state) throws Exception {
+        return roundTrip(state.page);
+    }
+
+    @Benchmark
+    public Object accountMaps(Accounts state) throws Exception {
+        return roundTrip(state.maps);
+    }
+
+    @Benchmark
+    public Object loginMap() throws Exception {
+        return roundTrip(LOGIN);
+    }
+
+    private static Object roundTrip(Serializable value) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialize(value)))) {
+            return in.readObject();
+        }
+    }
+
+    private static byte[] serialize(Serializable value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.benchmarks;
+
+import org.example.shared.Candidate;
+import org.example.shared.EventInfo;
+import org.example.shared.EventResults;
+import org.example.shared.VoterAccount;
+import org.example.shared.VotingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * castVote and getResults as the API bridge sees them in each rmi.mode: in-process calls the
+ * service directly, remote goes through a stub exported the way Server exports it, so every call
+ * pays serialization and a loopback TCP round trip. getResults is sampled for p50/p99 latency;
+ * castVote is scored like VotingServiceBenchmark's, per BALLOTS_PER_ITERATION first ballots.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TransportBenchmark {
+    static final int BALLOTS_PER_ITERATION = 2_000;
+
+    @Param({"in-process", "remote"})
+    public String mode;
+
+    VotingService service;
+    VotingService target;
+    String eventId;
+    List<Candidate> candidates;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        service = EmbeddedServer.start();
+        target = mode.equals("remote") ? (VotingService) UnicastRemoteObject.exportObject(service, 0) : service;
+        EventInfo event = service.createEvent("jmh transport");
+        eventId = event.getEventId();
+        for (int i = 0; i < 4; i++) {
+            service.addCandidate(eventId, "Candidate " + i, null);
+        }
+        candidates = service.getEventForVoter(eventId, event.getEventPassword());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        if (target != service) UnicastRemoteObject.unexportObject(service, true);
+        EmbeddedServer.stop();
+    }
+
+    /** Accounts that have not voted yet, created for each castVote iteration and benchmark thread. */
+    @State(Scope.Thread)
+    public static class FreshVoters {
+        List<VoterAccount> accounts;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void provision(TransportBenchmark bench) throws Exception {
+            accounts = bench.service.createAccounts(bench.eventId, BALLOTS_PER_ITERATION).getAccounts();
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = BALLOTS_PER_ITERATION)
+    @Measurement(iterations = 5, batchSize = BALLOTS_PER_ITERATION)
+    public boolean castVote(FreshVoters fresh) throws Exception {
+        int i = fresh.next++;
+        return target.castVote(fresh.accounts.get(i).getUserId(), eventId, candidates.get(i % candidates.size()).getId());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public EventResults getResults() throws Exception {
+        return target.getResults(eventId);
+    }
+}
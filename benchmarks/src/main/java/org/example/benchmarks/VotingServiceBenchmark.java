@@ -0,0 +1,177 @@
+package org.example.benchmarks;
+
+import org.example.shared.BallotBatch;
+import org.example.shared.BallotBatchResult;
+import org.example.shared.Candidate;
+import org.example.shared.EventInfo;
+import org.example.shared.EventResults;
+import org.example.shared.VoterAccount;
+import org.example.shared.VotingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The voter-facing hot paths of VotingServiceImpl, called in-process against the in-memory
+ * storage engine: castVote (first and repeat ballots), getResults, getEventForVoter and Login.
+ * Each trial provisions one event with the given number of candidates and voter accounts, half
+ * of whom have already voted, so results and the voter index are populated.
+ *
+ * castVote waits for its group commit, so it runs on 8 threads and is scored as the time each
+ * thread takes to cast BALLOTS_PER_ITERATION first ballots (fresh accounts every iteration).
+ * castVotes is scored as the time one kiosk batch of BULK_BALLOTS first ballots takes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VotingServiceBenchmark {
+    static final int BALLOTS_PER_ITERATION = 2_000;
+    static final int BULK_BALLOTS = 10_000;
+    private static final int SEED_BATCH = 10_000;
+
+    @Param({"8", "300"})
+    public int candidates;
+
+    @Param({"1000", "100000"})
+    public int voters;
+
+    VotingService service;
+    String eventId;
+    String eventPassword;
+    List<Candidate> candidateList;
+    // Accounts [0, voters / 2) have voted, the rest have not
+    List<VoterAccount> accounts;
+
+    @Setup(Level.Trial)
+    public void provision() throws Exception {
+        service = EmbeddedServer.start();
+        EventInfo event = service.createEvent("jmh " + candidates + "x" + voters);
+        eventId = event.getEventId();
+        eventPassword = event.getEventPassword();
+        for (int i = 0; i < candidates; i++) {
+            service.addCandidate(eventId, "Candidate " + i, null);
+        }
+        candidateList = service.getEventForVoter(eventId, eventPassword);
+        accounts = service.createAccounts(eventId, voters).getAccounts();
+
+        BallotBatch batch = new BallotBatch(eventId, SEED_BATCH);
+        for (int i = 0; i < voters / 2; i++) {
+            batch.add(accounts.get(i).getUserId(), candidateFor(i));
+            if (batch.size() == SEED_BATCH) {
+                service.castVotes(batch);
+                batch = new BallotBatch(eventId, SEED_BATCH);
+            }
+        }
+        if (batch.size() > 0) service.castVotes(batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() throws Exception {
+        EmbeddedServer.stop();
+    }
+
+    String candidateFor(int i) {
+        return candidateList.get(i % candidateList.size()).getId();
+    }
+
+    /** Accounts that have not voted yet, created for each castVote iteration and benchmark thread. */
+    @State(Scope.Thread)
+    public static class FreshVoters {
+        List<VoterAccount> accounts;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void provision(VotingServiceBenchmark bench) throws Exception {
+            accounts = bench.service.createAccounts(bench.eventId, BALLOTS_PER_ITERATION).getAccounts();
+            next = 0;
+        }
+    }
+
+    /** One batch of first ballots from accounts created for each castVotes iteration. */
+    @State(Scope.Thread)
+    public static class FreshBatch {
+        BallotBatch batch;
+
+        @Setup(Level.Iteration)
+        public void provision(VotingServiceBenchmark bench) throws Exception {
+            List<VoterAccount> fresh = bench.service.createAccounts(bench.eventId, BULK_BALLOTS).getAccounts();
+            batch = new BallotBatch(bench.eventId, BULK_BALLOTS);
+            for (int i = 0; i < fresh.size(); i++) {
+                batch.add(fresh.get(i).getUserId(), bench.candidateFor(i));
+            }
+        }
+    }
+
+    /** Walks the event's accounts round robin, separately for each benchmark thread. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        VoterAccount next(List<VoterAccount> accounts, int from, int to) {
+            if (next < from || next >= to) next = from;
+            return accounts.get(next++);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = BALLOTS_PER_ITERATION)
+    @Measurement(iterations = 5, batchSize = BALLOTS_PER_ITERATION)
+    @Threads(8)
+    public boolean castVote(FreshVoters fresh) throws Exception {
+        int i = fresh.next++;
+        return service.castVote(fresh.accounts.get(i).getUserId(), eventId, candidateFor(i));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public BallotBatchResult castVotes(FreshBatch fresh) throws Exception {
+        return service.castVotes(fresh.batch);
+    }
+
+    // Turned away by the voter index before any storage work
+    @Benchmark
+    public boolean castVoteRepeat(Cursor cursor) throws Exception {
+        VoterAccount voter = cursor.next(accounts, 0, voters / 2);
+        return service.castVote(voter.getUserId(), eventId, candidateFor(0));
+    }
+
+    @Benchmark
+    public EventResults getResults() throws Exception {
+        return service.getResults(eventId);
+    }
+
+    @Benchmark
+    public List<Candidate> getEventForVoter() throws Exception {
+        return service.getEventForVoter(eventId, eventPassword);
+    }
+
+    // With more voters than credentials.loginCacheSize most logins miss the cache
+    @Benchmark
+    public Map<String, String> login(Cursor cursor) throws Exception {
+        VoterAccount voter = cursor.next(accounts, 0, voters);
+        return service.Login(voter.getUsername(), voter.getPassword());
+    }
+}
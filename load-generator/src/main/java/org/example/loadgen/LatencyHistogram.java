@@ -0,0 +1,63 @@
+package org.example.loadgen;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free latency histogram in microseconds. Values below 2048µs have their own bucket; above
+ * that each power of two is split into 1024 buckets, so percentiles are accurate to 0.1%.
+ * Recording is a single atomic increment.
+ */
+class LatencyHistogram {
+    private static final int EXACT = 2048;
+    private static final int SUB_BITS = 10;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int EXACT_BITS = 11;
+    private static final int MAX_BITS = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(EXACT + (MAX_BITS - EXACT_BITS) * SUB_BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long micros) {
+        long v = Math.max(0, Math.min(micros, (1L << MAX_BITS) - 1));
+        counts.incrementAndGet(index(v));
+        max.accumulate(v);
+    }
+
+    long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) total += counts.get(i);
+        return total;
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    /** The smallest recorded value (bucket floor) that at least fraction q of the values do not exceed. */
+    long percentile(double q) {
+        long total = count();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(floor(i), max());
+        }
+        return max();
+    }
+
+    private static int index(long v) {
+        if (v < EXACT) return (int) v;
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT + (exponent - EXACT_BITS) * SUB_BUCKETS + sub;
+    }
+
+    private static long floor(int index) {
+        if (index < EXACT) return index;
+        int exponent = (index - EXACT) / SUB_BUCKETS + EXACT_BITS;
+        int sub = (index - EXACT) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+    }
+}
@@ -0,0 +1,265 @@
+package org.example.loadgen;
+
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Election-night load generator. Provisions an event with the scenario's candidates and voters,
+ * then sends a weighted mix of login, candidate list, vote-status, vote and results requests at
+ * the target rate over RMI or through the API bridge, and reports latency percentiles,
+ * throughput and errors per operation.
+ *
+ * Load is open-loop: arrivals follow the schedule whatever the response times, each request runs
+ * on its own virtual thread, and latency is measured from the scheduled arrival, so a stalled
+ * server shows up as latency rather than as a lower request rate. Operations, voters and
+ * candidate choices are drawn from the seeded generator in arrival order, so the same scenario
+ * file replays the same request sequence; every voter votes at most once.
+ *
+ * Usage: LoadGenerator SCENARIO.properties [key=value ...]
+ */
+public class LoadGenerator {
+
+    // Returns null on success, otherwise the error category for the report
+    interface Call {
+        String run() throws Exception;
+    }
+
+    private final Scenario scenario;
+    private final Target target;
+    private final Target.Electorate electorate;
+    private final OperationStats[] stats = new OperationStats[Operation.values().length];
+    private final Semaphore inFlight;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean measuring;
+
+    LoadGenerator(Scenario scenario, Target target, Target.Electorate electorate) {
+        this.scenario = scenario;
+        this.target = target;
+        this.electorate = electorate;
+        this.inFlight = new Semaphore(scenario.maxInFlight);
+        for (Operation op : Operation.values()) stats[op.ordinal()] = new OperationStats(op);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: LoadGenerator SCENARIO.properties [key=value ...]");
+            System.exit(2);
+        }
+        Scenario scenario = Scenario.load(args[0], Arrays.copyOfRange(args, 1, args.length));
+        System.out.println("🚀 Load test: " + scenario.describe());
+        try (Target target = scenario.target.equals("rmi")
+                ? new RmiTarget(scenario.rmiUrl) : new RestTarget(scenario.restUrl)) {
+            long start = System.nanoTime();
+            Target.Electorate electorate = target.provision(scenario.eventName, scenario.candidates, scenario.voters);
+            System.out.printf("✅ Provisioned event %s: %d candidates, %d voters in %.1fs%n", electorate.eventId(),
+                    electorate.candidateIds().size(), electorate.voters().size(), (System.nanoTime() - start) / 1e9);
+            new LoadGenerator(scenario, target, electorate).run();
+        }
+    }
+
+    void run() throws Exception {
+        Random random = new Random(scenario.seed);
+        int[] opWeights = cumulative(scenario.mix);
+        double[] candidateWeights = candidateWeights(electorate.candidateIds().size(), scenario.voteSkew);
+        List<Target.Voter> voters = electorate.voters();
+        String eventId = electorate.eventId();
+        int nextVoter = 0;
+
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "load-progress");
+            t.setDaemon(true);
+            return t;
+        });
+        ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+        long warmupNanos = TimeUnit.SECONDS.toNanos(scenario.warmupSec);
+        long endNanos = warmupNanos + TimeUnit.SECONDS.toNanos(scenario.durationSec);
+        long start = System.nanoTime();
+        progress.scheduleAtFixedRate(new Progress(start), scenario.reportIntervalSec,
+                scenario.reportIntervalSec, TimeUnit.SECONDS);
+
+        double offset = 0;
+        while (offset < endNanos) {
+            long due = start + (long) offset;
+            long wait = due - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            measuring = offset >= warmupNanos;
+
+            Operation op = Operation.values()[pick(opWeights, random.nextInt(opWeights[opWeights.length - 1]))];
+            Target.Voter voter = voters.get(random.nextInt(voters.size()));
+            Call call = switch (op) {
+                case LOGIN -> () -> target.login(voter.username(), voter.password()) != null
+                        ? null : "invalid credentials";
+                case CANDIDATES -> () -> target.candidates(eventId, electorate.eventPassword()) > 0
+                        ? null : "invalid event or password";
+                case VOTE_STATUS -> () -> {
+                    target.hasVoted(voter.userId(), eventId);
+                    return null;
+                };
+                case VOTE -> {
+                    String candidateId = electorate.candidateIds().get(pick(candidateWeights, random.nextDouble()));
+                    if (nextVoter == voters.size()) yield () -> "electorate exhausted";
+                    Target.Voter ballot = voters.get(nextVoter++);
+                    yield () -> target.vote(ballot.userId(), eventId, candidateId) ? null : "not counted";
+                }
+                case RESULTS -> () -> {
+                    target.results(eventId);
+                    return null;
+                };
+            };
+            submit(workers, op, call, due, measuring);
+            offset += scenario.poisson
+                    ? -Math.log(1 - random.nextDouble()) * 1e9 / scenario.rate
+                    : 1e9 / scenario.rate;
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(2, TimeUnit.MINUTES)) {
+            System.err.println("⚠️ Load test: " + (scenario.maxInFlight - inFlight.availablePermits())
+                    + " request(s) still running after 2 minutes; reporting without them");
+        }
+        progress.shutdownNow();
+        report();
+    }
+
+    private void submit(ExecutorService workers, Operation op, Call call, long due, boolean measured) {
+        OperationStats s = stats[op.ordinal()];
+        if (!inFlight.tryAcquire()) {
+            failed.increment();
+            if (measured) s.failure("dropped (maxInFlight)");
+            return;
+        }
+        workers.execute(() -> {
+            try {
+                String error;
+                try {
+                    error = call.run();
+                } catch (RestTarget.HttpStatusException e) {
+                    error = e.getMessage();
+                } catch (Exception e) {
+                    error = e.getCause() != null
+                            ? e.getClass().getSimpleName() + " (" + e.getCause().getClass().getSimpleName() + ")"
+                            : e.getClass().getSimpleName();
+                }
+                long micros = (System.nanoTime() - due) / 1000;
+                completed.increment();
+                if (error != null) failed.increment();
+                if (!measured) return;
+                if (error == null) s.success(micros);
+                else s.failure(error);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void report() throws Exception {
+        System.out.printf("%n%-12s %10s %10s %10s %10s %10s %10s %10s%n", "operation", "requests", "ok/s",
+                "p50 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        long totalOk = 0;
+        long totalFailed = 0;
+        for (OperationStats s : stats) {
+            long ok = s.succeeded();
+            long bad = s.failed();
+            if (ok + bad == 0) continue;
+            totalOk += ok;
+            totalFailed += bad;
+            LatencyHistogram h = s.latency;
+            System.out.printf("%-12s %,10d %10.1f %10.2f %10.2f %10.2f %10.2f %,10d%n", s.operation.key, ok + bad,
+                    (double) ok / scenario.durationSec, h.percentile(0.50) / 1000.0, h.percentile(0.99) / 1000.0,
+                    h.percentile(0.999) / 1000.0, h.max() / 1000.0, bad);
+        }
+        System.out.printf("%-12s %,10d %10.1f%44s %,10d%n", "total", totalOk + totalFailed,
+                (double) totalOk / scenario.durationSec, "", totalFailed);
+        System.out.printf("Offered %.0f req/s for %ds after %ds warm-up%n", scenario.rate, scenario.durationSec,
+                scenario.warmupSec);
+        if (totalFailed > 0) {
+            System.out.println("\nErrors:");
+            for (OperationStats s : stats) {
+                for (Map.Entry<String, Long> e : s.errors().entrySet()) {
+                    System.out.printf("  %-12s %-36s %,10d%n", s.operation.key, e.getKey(), e.getValue());
+                }
+            }
+        }
+        if (!scenario.reportCsv.isEmpty()) writeCsv(Path.of(scenario.reportCsv));
+    }
+
+    private void writeCsv(Path file) throws Exception {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("operation,requests,succeeded,failed,ok_per_sec,p50_ms,p99_ms,p999_ms,max_ms");
+            for (OperationStats s : stats) {
+                LatencyHistogram h = s.latency;
+                out.printf(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n", s.operation.key,
+                        s.succeeded() + s.failed(), s.succeeded(), s.failed(),
+                        (double) s.succeeded() / scenario.durationSec, h.percentile(0.50) / 1000.0, h.percentile(0.99) / 1000.0, h.percentile(0.999) / 1000.0,
+                        h.max() / 1000.0);
+            }
+        }
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+
+    // Running totals, so a uniform draw in [0, last) picks index i with probability weights[i] / total
+    private static int[] cumulative(int[] weights) {
+        int[] sums = new int[weights.length];
+        int total = 0;
+        for (int i = 0; i < weights.length; i++) sums[i] = total += weights[i];
+        return sums;
+    }
+
+    private static int pick(int[] cumulative, int draw) {
+        int i = 0;
+        while (draw >= cumulative[i]) i++;
+        return i;
+    }
+
+    // Normalised running totals of 1/(i+1)^skew
+    private static double[] candidateWeights(int candidates, double skew) {
+        double[] sums = new double[candidates];
+        double total = 0;
+        for (int i = 0; i < candidates; i++) sums[i] = total += 1 / Math.pow(i + 1, skew);
+        for (int i = 0; i < candidates; i++) sums[i] /= total;
+        return sums;
+    }
+
+    private static int pick(double[] cumulative, double draw) {
+        int i = Arrays.binarySearch(cumulative, draw);
+        return Math.min(i >= 0 ? i + 1 : -i - 1, cumulative.length - 1);
+    }
+
+    private final class Progress implements Runnable {
+        private final long start;
+        private long lastCompleted;
+        private long lastFailed;
+
+        Progress(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void run() {
+            long done = completed.sum();
+            long errors = failed.sum();
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("⏱️ %4ds %-9s %8.1f req/s, %5d in flight, %d error(s)%n",
+                    TimeUnit.NANOSECONDS.toSeconds(elapsed), measuring ? "measuring" : "warm-up",
+                    (double) (done - lastCompleted) / scenario.reportIntervalSec,
+                    scenario.maxInFlight - inFlight.availablePermits(), errors - lastFailed);
+            lastCompleted = done;
+            lastFailed = errors;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.loadgen;
+
+// The requests a voter or a results screen makes during an election
+enum Operation {
+    LOGIN("login", 20),
+    CANDIDATES("candidates", 20),
+    VOTE_STATUS("voteStatus", 20),
+    VOTE("vote", 15),
+    RESULTS("results", 25);
+
+    // Name in the scenario file (mix.<key>) and in the report
+    final String key;
+    final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+}
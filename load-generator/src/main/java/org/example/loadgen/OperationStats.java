@@ -0,0 +1,43 @@
+package org.example.loadgen;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies of the successful requests of one operation, plus failures counted by category
+class OperationStats {
+    final Operation operation;
+    final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder succeeded = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    void success(long micros) {
+        latency.record(micros);
+        succeeded.increment();
+    }
+
+    void failure(String category) {
+        errors.computeIfAbsent(category, k -> new LongAdder()).increment();
+    }
+
+    long succeeded() {
+        return succeeded.sum();
+    }
+
+    long failed() {
+        long total = 0;
+        for (LongAdder n : errors.values()) total += n.sum();
+        return total;
+    }
+
+    Map<String, Long> errors() {
+        Map<String, Long> sorted = new TreeMap<>();
+        errors.forEach((category, n) -> sorted.put(category, n.sum()));
+        return sorted;
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.loadgen;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Calls the API bridge's REST endpoints, the way the frontend does
+class RestTarget implements Target {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper json = new ObjectMapper();
+
+    /** A response status the scenario did not expect; the message is the error category in the report. */
+    static class HttpStatusException extends IOException {
+        HttpStatusException(int status, JsonNode body) {
+            super("HTTP " + status + (body != null && body.path("error").has("code")
+                    ? " " + body.path("error").path("code").asText() : ""));
+        }
+    }
+
+    private record Response(int status, JsonNode body) {
+        JsonNode data() {
+            return body.path("data");
+        }
+    }
+
+    RestTarget(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public Electorate provision(String eventName, int candidates, int voters) throws Exception {
+        JsonNode event = expectOk(send(post("/api/events/create", Map.of("eventName", eventName)))).data();
+        String eventId = event.path("eventId").asText();
+        String eventPassword = event.path("eventPassword").asText();
+        for (int i = 0; i < candidates; i++) {
+            String form = "name=" + encode("Candidate " + (i + 1));
+            expectOk(send(request("/api/events/" + eventId + "/candidates")
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(form)).build()));
+        }
+        List<String> candidateIds = new ArrayList<>();
+        for (JsonNode c : expectOk(send(get(candidatesPath(eventId, eventPassword)))).data().path("candidates")) {
+            candidateIds.add(c.path("id").asText());
+        }
+
+        String jobs = "/api/events/" + eventId + "/accounts/jobs";
+        String jobId = expectOk(send(post(jobs, Map.of("eventSize", voters)))).data().path("jobId").asText();
+        JsonNode job;
+        do {
+            Thread.sleep(500);
+            job = expectOk(send(get(jobs + "/" + jobId))).data();
+        } while ("RUNNING".equals(job.path("state").asText()));
+        if (!"COMPLETED".equals(job.path("state").asText())) {
+            throw new IllegalStateException("Account job failed: " + job.path("error").asText());
+        }
+        List<Voter> electorate = new ArrayList<>(voters);
+        for (JsonNode a : expectOk(send(get(jobs + "/" + jobId + "/result"))).data().path("accounts")) {
+            electorate.add(new Voter(a.path("userId").asText(), a.path("username").asText(), a.path("password").asText()));
+        }
+        return new Electorate(eventId, eventPassword, candidateIds, electorate);
+    }
+
+    @Override
+    public String login(String username, String password) throws Exception {
+        Response r = send(post("/api/events/login", Map.of("username", username, "password", password)));
+        if (r.status() == 401) return null;
+        return expectOk(r).data().path("userId").asText();
+    }
+
+    @Override
+    public int candidates(String eventId, String eventPassword) throws Exception {
+        Response r = send(get(candidatesPath(eventId, eventPassword)));
+        if (r.status() == 404) return -1;
+        return expectOk(r).data().path("candidates").size();
+    }
+
+    @Override
+    public boolean hasVoted(String userId, String eventId) throws Exception {
+        return expectOk(send(get("/api/events/" + eventId + "/vote-status/" + encode(userId))))
+                .data().path("hasVoted").asBoolean();
+    }
+
+    @Override
+    public boolean vote(String userId, String eventId, String candidateId) throws Exception {
+        Response r = send(post("/api/events/" + eventId + "/vote", Map.of("userId", userId, "candidateId", candidateId)));
+        if (r.status() == 409) return false;
+        expectOk(r);
+        return true;
+    }
+
+    @Override
+    public long results(String eventId) throws Exception {
+        return expectOk(send(get("/api/events/" + eventId + "/results"))).data().path("totalVotes").asLong();
+    }
+
+    private static String candidatesPath(String eventId, String eventPassword) {
+        return "/api/events/" + eventId + "/candidates?password=" + encode(eventPassword);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)))
+                .build();
+    }
+
+    private Response send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        JsonNode body;
+        try {
+            body = json.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            // Error pages from a proxy or servlet container are not JSON
+            body = null;
+        }
+        return new Response(response.statusCode(), body != null ? body : json.createObjectNode());
+    }
+
+    private static Response expectOk(Response r) throws HttpStatusException {
+        if (r.status() / 100 != 2) throw new HttpStatusException(r.status(), r.body());
+        return r;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
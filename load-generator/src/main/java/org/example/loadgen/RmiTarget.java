@@ -0,0 +1,74 @@
+package org.example.loadgen;
+
+import org.example.shared.AccountJobStatus;
+import org.example.shared.Candidate;
+import org.example.shared.EventInfo;
+import org.example.shared.VoterAccount;
+import org.example.shared.VotingService;
+
+import java.rmi.Naming;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Calls one rmi-server node directly, the way the API bridge does
+class RmiTarget implements Target {
+    private final VotingService service;
+
+    RmiTarget(String url) throws Exception {
+        service = (VotingService) Naming.lookup(url);
+    }
+
+    @Override
+    public Electorate provision(String eventName, int candidates, int voters) throws Exception {
+        EventInfo event = service.createEvent(eventName);
+        String eventId = event.getEventId();
+        for (int i = 0; i < candidates; i++) {
+            service.addCandidate(eventId, "Candidate " + (i + 1), null);
+        }
+        List<String> candidateIds = new ArrayList<>();
+        for (Candidate c : service.getEventForVoter(eventId, event.getEventPassword())) candidateIds.add(c.getId());
+
+        AccountJobStatus job = service.startAccountJob(eventId, voters);
+        while (AccountJobStatus.RUNNING.equals(job.getState())) {
+            Thread.sleep(500);
+            job = service.getAccountJobStatus(job.getJobId());
+            if (job == null) throw new IllegalStateException("Account job disappeared");
+        }
+        if (!AccountJobStatus.COMPLETED.equals(job.getState())) {
+            throw new IllegalStateException("Account job failed: " + job.getError());
+        }
+        List<Voter> electorate = new ArrayList<>(voters);
+        for (VoterAccount a : service.getAccountJobResult(job.getJobId()).getAccounts()) {
+            electorate.add(new Voter(a.getUserId(), a.getUsername(), a.getPassword()));
+        }
+        return new Electorate(eventId, event.getEventPassword(), candidateIds, electorate);
+    }
+
+    @Override
+    public String login(String username, String password) throws Exception {
+        Map<String, String> user = service.Login(username, password);
+        return user != null ? user.get("userId") : null;
+    }
+
+    @Override
+    public int candidates(String eventId, String eventPassword) throws Exception {
+        List<Candidate> list = service.getEventForVoter(eventId, eventPassword);
+        return list != null ? list.size() : -1;
+    }
+
+    @Override
+    public boolean hasVoted(String userId, String eventId) throws Exception {
+        return service.hasUserVoted(userId, eventId);
+    }
+
+    @Override
+    public boolean vote(String userId, String eventId, String candidateId) throws Exception {
+        return service.castVote(userId, eventId, candidateId);
+    }
+
+    @Override
+    public long results(String eventId) throws Exception {
+        return service.getResults(eventId).getTotalVotes();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.loadgen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * A load test scenario, read from a .properties file (see scenarios/election-night.properties)
+ * with key=value overrides from the command line. Missing keys take the defaults below.
+ */
+public class Scenario {
+    final String target;
+    final String rmiUrl;
+    final String restUrl;
+    final String eventName;
+    final int candidates;
+    final int voters;
+    final double rate;
+    final boolean poisson;
+    final int warmupSec;
+    final int durationSec;
+    final int maxInFlight;
+    final long seed;
+    // Indexed by Operation.ordinal()
+    final int[] mix = new int[Operation.values().length];
+    final double voteSkew;
+    final int reportIntervalSec;
+    final String reportCsv;
+
+    private final Properties props;
+
+    Scenario(Properties props) {
+        this.props = props;
+        target = get("target", "rmi");
+        if (!target.equals("rmi") && !target.equals("rest")) {
+            throw new IllegalArgumentException("target must be rmi or rest, got: " + target);
+        }
+        rmiUrl = get("rmi.url", "rmi://localhost:1099/VotingService");
+        restUrl = stripSlash(get("rest.url", "http://localhost:8080"));
+        eventName = get("event.name", "load-test");
+        candidates = positive("event.candidates", 8);
+        voters = positive("event.voters", 10_000);
+        rate = Double.parseDouble(get("rate", "200"));
+        if (rate <= 0) throw new IllegalArgumentException("rate must be positive");
+        String arrival = get("arrival", "poisson");
+        if (!arrival.equals("poisson") && !arrival.equals("uniform")) {
+            throw new IllegalArgumentException("arrival must be poisson or uniform, got: " + arrival);
+        }
+        poisson = arrival.equals("poisson");
+        warmupSec = Integer.parseInt(get("warmup.sec", "10"));
+        durationSec = positive("duration.sec", 60);
+        maxInFlight = positive("maxInFlight", 5000);
+        seed = Long.parseLong(get("seed", "42"));
+        int total = 0;
+        for (Operation op : Operation.values()) {
+            mix[op.ordinal()] = Integer.parseInt(get("mix." + op.key, String.valueOf(op.defaultWeight)));
+            if (mix[op.ordinal()] < 0) throw new IllegalArgumentException("mix." + op.key + " must not be negative");
+            total += mix[op.ordinal()];
+        }
+        if (total == 0) throw new IllegalArgumentException("At least one mix.* weight must be positive");
+        voteSkew = Double.parseDouble(get("vote.skew", "1.0"));
+        reportIntervalSec = positive("report.intervalSec", 5);
+        reportCsv = get("report.csv", "");
+    }
+
+    static Scenario load(String file, String[] overrides) throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(file))) {
+            props.load(in);
+        }
+        for (String override : overrides) {
+            int eq = override.indexOf('=');
+            if (eq < 1) throw new IllegalArgumentException("Expected key=value, got: " + override);
+            props.setProperty(override.substring(0, eq).trim(), override.substring(eq + 1).trim());
+        }
+        return new Scenario(props);
+    }
+
+    private String get(String key, String defaultValue) {
+        String value = props.getProperty(key);
+        return (value == null || value.isBlank()) ? defaultValue : value.trim();
+    }
+
+    private int positive(String key, int defaultValue) {
+        int value = Integer.parseInt(get(key, String.valueOf(defaultValue)));
+        if (value < 1) throw new IllegalArgumentException(key + " must be positive");
+        return value;
+    }
+
+    private static String stripSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    String describe() {
+        StringBuilder mixText = new StringBuilder();
+        for (Operation op : Operation.values()) {
+            if (mix[op.ordinal()] > 0) mixText.append(' ').append(op.key).append('=').append(mix[op.ordinal()]);
+        }
+        return String.format("target=%s, %d candidates, %d voters, %.0f req/s (%s), %ds warm-up + %ds, seed %d, mix:%s",
+                target.equals("rmi") ? rmiUrl : restUrl, candidates, voters, rate, poisson ? "poisson" : "uniform",
+                warmupSec, durationSec, seed, mixText);
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.loadgen;
+
+import java.util.List;
+
+/**
+ * The system under test, reached over RMI (RmiTarget) or through the API bridge (RestTarget).
+ * Methods throw when the call itself fails (network, server error, HTTP error status); a false
+ * or null return is a request the service turned down.
+ */
+interface Target extends AutoCloseable {
+
+    record Voter(String userId, String username, String password) {
+    }
+
+    record Electorate(String eventId, String eventPassword, List<String> candidateIds, List<Voter> voters) {
+    }
+
+    /** Creates an event with candidates and voter accounts to run the scenario against. */
+    Electorate provision(String eventName, int candidates, int voters) throws Exception;
+
+    /** The voter's userId, or null if the credentials were rejected. */
+    String login(String username, String password) throws Exception;
+
+    /** Number of candidates on the ballot, or -1 if the event or password was rejected. */
+    int candidates(String eventId, String eventPassword) throws Exception;
+
+    boolean hasVoted(String userId, String eventId) throws Exception;
+
+    boolean vote(String userId, String eventId, String candidateId) throws Exception;
+
+    /** Total votes counted so far. */
+    long results(String eventId) throws Exception;
+
+    @Override
+    default void close() {
+    }
+}
@@ -1,6 +1,6 @@
 import { useEffect, useState, useRef } from "react";
 import { useParams, Link, useNavigate } from "react-router-dom";
-import { getResults } from "@/utils/api";
+import { getResults, subscribeResults } from "@/utils/api";
 import { useToast } from "@/components/ui/useToast";
 
 interface ResultsData {
@@ -19,6 +19,7 @@ export default function ResultsLivePage() {
   const { show } = useToast();
   const navigate = useNavigate();
   const timerRef = useRef<number | null>(null);
+  const [live, setLive] = useState(false);
 
   const fetchData = async () => {
     if (!eventId) return;
@@ -35,11 +36,33 @@ export default function ResultsLivePage() {
     }
   };
 
+  // Prefer the server push stream; poll only if it cannot be opened
   useEffect(() => {
-    fetchData();
-    timerRef.current = window.setInterval(fetchData, POLL_INTERVAL_MS);
+    if (!eventId) return;
+    const startPolling = () => {
+      setLive(false);
+      if (timerRef.current) return;
+      fetchData();
+      timerRef.current = window.setInterval(fetchData, POLL_INTERVAL_MS);
+    };
+    let close: () => void = () => {};
+    close = subscribeResults(
+      eventId,
+      (res) => {
+        setData(res);
+        setError(null);
+        setLoading(false);
+        setLive(true);
+      },
+      () => {
+        close();
+        startPolling();
+      },
+    );
     return () => {
+      close();
       if (timerRef.current) window.clearInterval(timerRef.current);
+      timerRef.current = null;
     };
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [eventId]);
@@ -84,7 +107,9 @@ export default function ResultsLivePage() {
                 </p>
               </div>
               <p className="text-xs text-gray-400">
-                Auto-updates every {POLL_INTERVAL_MS / 1000}s
+                {live
+                  ? "Live"
+                  : `Auto-updates every ${POLL_INTERVAL_MS / 1000}s`}
               </p>
             </div>
             <div className="space-y-3">
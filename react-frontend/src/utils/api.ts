@@ -27,6 +27,8 @@ interface CandidateDto {
   name?: string;
   candidateName?: string;
   photo?: string;
+  photoUrl?: string;
+  photoHash?: string;
   image?: string;
 }
 interface AccountDto {
@@ -108,14 +110,22 @@ export const addCandidates = (
   });
 };
 
-export const getCandidates = (eventId: string, password?: string) => {
+export const getCandidates = async (eventId: string, password?: string) => {
   let url = `${base_url}/${eventId}/candidates`;
   if (password) url += `?password=${encodeURIComponent(password)}`;
-  return request<{
+  const data = await request<{
     eventId: string;
     totalCandidates: number;
     candidates: CandidateDto[];
   }>(url);
+  // Photos are separate, browser-cacheable URLs; expose them as `photo` for existing consumers
+  return {
+    ...data,
+    candidates: (data.candidates || []).map((c) => ({
+      ...c,
+      photo: c.photoUrl || c.photo,
+    })),
+  };
 };
 
 export const updateCandidate = (
@@ -262,6 +272,64 @@ export const getResults = (eventId: string) =>
     results: Record<string, number>;
   }>(`${base_url}/${eventId}/results`);
 
+interface ResultsEntry {
+  candidateId: string;
+  name: string;
+  votes: number;
+}
+export interface LiveResults {
+  eventId: string;
+  totalVotes: number;
+  results: Record<string, number>;
+}
+
+// Live results over Server-Sent Events. Applies the initial snapshot and later deltas to a
+// per-candidate map and reports the same shape as getResults. Returns a function that closes
+// the stream. onError fires when the browser cannot (re)connect, so callers can fall back to polling.
+export const subscribeResults = (
+  eventId: string,
+  onUpdate: (data: LiveResults) => void,
+  onError: () => void,
+) => {
+  if (typeof EventSource === "undefined") {
+    onError();
+    return () => {};
+  }
+  const source = new EventSource(`${base_url}/${eventId}/results/stream`);
+  const candidates = new Map<string, ResultsEntry>();
+  const emit = (totalVotes: number) => {
+    const results: Record<string, number> = {};
+    candidates.forEach((c) => {
+      results[c.name] = (results[c.name] || 0) + c.votes;
+    });
+    onUpdate({ eventId, totalVotes, results });
+  };
+  source.addEventListener("snapshot", (e) => {
+    const body = JSON.parse((e as MessageEvent).data) as {
+      totalVotes: number;
+      candidates: ResultsEntry[];
+    };
+    candidates.clear();
+    body.candidates.forEach((c) => candidates.set(c.candidateId, c));
+    emit(body.totalVotes);
+  });
+  source.addEventListener("delta", (e) => {
+    const body = JSON.parse((e as MessageEvent).data) as {
+      totalVotes: number;
+      changed: ResultsEntry[];
+      removed: string[];
+    };
+    body.changed.forEach((c) => candidates.set(c.candidateId, c));
+    body.removed.forEach((id) => candidates.delete(id));
+    emit(body.totalVotes);
+  });
+  source.onerror = () => {
+    // CLOSED means the browser gave up (e.g. 503 or no SSE support upstream); CONNECTING is a retry
+    if (source.readyState === EventSource.CLOSED) onError();
+  };
+  return () => source.close();
+};
+
 // Vote status
 export const getVoteStatus = (eventId: string, userId: string) =>
   request<{ eventId: string; userId: string; hasVoted: boolean }>(
@@ -0,0 +1,247 @@
+import org.example.shared.AccountJobStatus;
+import org.example.shared.VoterAccount;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk voter-account generation.
+ * A request is split into chunks; each chunk's credentials are generated and encrypted on a
+ * worker thread (one SecureRandom per thread, so workers do not contend on a shared generator)
+ * and written as a single batched INSERT in its own transaction. Chunks run in parallel across
+ * the worker pool. Every request is tracked as a job that can be polled for progress and whose
+ * accounts can be collected once after it has finished; the job, with the generated plaintext
+ * passwords, is dropped as soon as they are handed out.
+ */
+public class AccountProvisioner {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final VoteStore dbController;
+    private final int chunkSize;
+    private final int maxAttempts;
+    private final long retentionMs;
+    private final ExecutorService workers;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public static final class Account {
+        private final String userId;
+        private final String username;
+        private final String password;
+        private final String encryptedPassword;
+
+        Account(String userId, String username, String password, String encryptedPassword) {
+            this.userId = userId;
+            this.username = username;
+            this.password = password;
+            this.encryptedPassword = encryptedPassword;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public String getEncryptedPassword() {
+            return encryptedPassword;
+        }
+    }
+
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final String eventId;
+        final int requested;
+        final long startedAt = System.currentTimeMillis();
+        final AtomicInteger created = new AtomicInteger();
+        final List<Account> accounts;
+        volatile String state = AccountJobStatus.RUNNING;
+        volatile String error;
+        volatile long finishedAt;
+        final List<CompletableFuture<Void>> chunks = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> done;
+
+        Job(String eventId, int requested) {
+            this.eventId = eventId;
+            this.requested = requested;
+            this.accounts = Collections.synchronizedList(new ArrayList<>(requested));
+        }
+    }
+
+    public AccountProvisioner(VoteStore dbController) {
+        this.dbController = dbController;
+        this.chunkSize = Math.max(1, ServerConfig.getInt("accounts.chunkSize", 1000));
+        this.maxAttempts = Math.max(1, ServerConfig.getInt("accounts.maxAttempts", 5));
+        this.retentionMs = ServerConfig.getLong("accounts.jobRetentionMin", 30) * 60_000;
+        int threads = ServerConfig.getInt("accounts.workers", Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "account-worker-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Starts generating accounts in the background and returns the job's initial status. */
+    public AccountJobStatus start(String eventId, int count) {
+        return statusOf(submit(eventId, count));
+    }
+
+    /** Generates accounts and waits for them; the synchronous createAccounts path. */
+    public List<VoterAccount> provision(String eventId, int count) throws Exception {
+        Job job = submit(eventId, count);
+        try {
+            job.done.get();
+        } catch (ExecutionException e) {
+            // Partial results are still returned, as the old one-by-one loop did
+            System.err.println("❌ Accounts: job " + job.id + " failed: " + job.error);
+        }
+        jobs.remove(job.id);
+        return toRows(job);
+    }
+
+    /** Status of a job, or null if unknown or expired. */
+    public AccountJobStatus status(String jobId) {
+        expireJobs();
+        Job job = jobs.get(jobId);
+        return job != null ? statusOf(job) : null;
+    }
+
+    /**
+     * Accounts of a finished job, or null if it is unknown, expired, still running or already
+     * collected. The job is forgotten once its accounts are returned.
+     */
+    public List<VoterAccount> result(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || AccountJobStatus.RUNNING.equals(job.state) || !jobs.remove(jobId, job)) return null;
+        List<VoterAccount> rows = toRows(job);
+        job.accounts.clear();
+        return rows;
+    }
+
+    private Job submit(String eventId, int count) {
+        expireJobs();
+        Job job = new Job(eventId, count);
+        jobs.put(job.id, job);
+        for (int offset = 0; offset < count; offset += chunkSize) {
+            int size = Math.min(chunkSize, count - offset);
+            job.chunks.add(CompletableFuture.runAsync(() -> writeChunk(job, size), workers));
+        }
+        job.done = CompletableFuture.allOf(job.chunks.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((v, e) -> finish(job, e));
+        System.out.println("✅ Accounts: job " + job.id + " started for event " + eventId + " (" + count
+                + " account(s), " + job.chunks.size() + " chunk(s))");
+        return job;
+    }
+
+    private void writeChunk(Job job, int size) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            List<Account> chunk = generate(size);
+            try {
+                if (dbController.insertUsers(job.eventId, chunk)) {
+                    job.accounts.addAll(chunk);
+                    reportProgress(job, job.created.addAndGet(size) - size, size);
+                    return;
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to store accounts: " + e.getMessage(), e);
+            }
+            System.err.println("⚠️ Accounts: job " + job.id + " chunk collided with an existing account, regenerating (attempt "
+                    + attempt + ")");
+        }
+        throw new IllegalStateException("Gave up after " + maxAttempts + " colliding attempts");
+    }
+
+    private List<Account> generate(int size) {
+        SecureRandom random = RANDOM.get();
+        List<Account> chunk = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String password = randomHex(random, 8);
+            try {
+                chunk.add(new Account(randomHex(random, 8).toUpperCase(), randomHex(random, 8), password,
+                        dbController.encryptPassword(password)));
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to encrypt password", e);
+            }
+        }
+        return chunk;
+    }
+
+    private static String randomHex(SecureRandom random, int length) {
+        byte[] bytes = new byte[(length + 1) / 2];
+        random.nextBytes(bytes);
+        char[] out = new char[length];
+        for (int i = 0; i < length; i++) {
+            int b = bytes[i / 2];
+            out[i] = HEX[(i % 2 == 0 ? b >> 4 : b) & 0xF];
+        }
+        return new String(out);
+    }
+
+    // Logs each time the job crosses another 10% of its target
+    private void reportProgress(Job job, int before, int added) {
+        int step = Math.max(1, job.requested / 10);
+        if ((before + added) / step > before / step) {
+            System.out.println("📊 Accounts: job " + job.id + " " + (before + added) + "/" + job.requested + " created");
+        }
+    }
+
+    private void finish(Job job, Throwable failure) {
+        job.finishedAt = System.currentTimeMillis();
+        if (failure != null) {
+            Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+            job.error = cause.getMessage() + " (" + job.created.get() + " of " + job.requested + " created)";
+            job.state = AccountJobStatus.FAILED;
+        } else {
+            job.state = AccountJobStatus.COMPLETED;
+        }
+        System.out.println((failure == null ? "✅" : "❌") + " Accounts: job " + job.id + " " + job.state + ", "
+                + job.created.get() + "/" + job.requested + " in " + (job.finishedAt - job.startedAt) + "ms");
+    }
+
+    private void expireJobs() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        jobs.values().removeIf(j -> j.finishedAt != 0 && j.finishedAt < cutoff);
+    }
+
+    private static AccountJobStatus statusOf(Job job) {
+        return new AccountJobStatus(job.id, job.eventId, job.state, job.requested, job.created.get(), job.error,
+                job.startedAt, job.finishedAt);
+    }
+
+    private static List<VoterAccount> toRows(Job job) {
+        List<VoterAccount> rows = new ArrayList<>(job.accounts.size());
+        synchronized (job.accounts) {
+            for (Account a : job.accounts) {
+                rows.add(new VoterAccount(a.getUserId(), a.getUsername(), a.getPassword(), job.eventId));
+            }
+        }
+        return rows;
+    }
+
+    // Chunks dropped or interrupted by shutdownNow would otherwise leave their job RUNNING forever
+    public void shutdown() {
+        workers.shutdownNow();
+        IllegalStateException stopped = new IllegalStateException("Server shut down before the job finished");
+        for (Job job : jobs.values()) {
+            for (CompletableFuture<Void> chunk : job.chunks) chunk.completeExceptionally(stopped);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+import org.example.shared.BallotCsv;
+import org.example.shared.BallotImportProgress;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line ballot file import, replacing the VoteInserter-style one-off programs.
+ * Streams the CSV (userId,candidateId per line) into the votes table in checkpointed chunks;
+ * run it again with the same import id to resume an interrupted import. Without one, the id is
+ * derived from the file's content, so rerunning the same file resumes it.
+ * Run it while the RMI server is stopped, or use the admin endpoint instead, so the running
+ * server's voter index and live tally stay in step.
+ *
+ * Usage: java BallotImport eventId file.csv [importId] [chunkSize]
+ */
+public class BallotImport {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: java BallotImport eventId file.csv [importId] [chunkSize]");
+            System.exit(2);
+        }
+        String eventId = args[0];
+        Path file = Paths.get(args[1]);
+        int chunkSize = args.length > 3 ? Integer.parseInt(args[3]) : ServerConfig.getInt("import.chunkSize", 5000);
+        VoteStore db = null;
+        try {
+            String importId = args.length > 2 ? args[2] : null;
+            if (importId == null) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    importId = BallotCsv.importId(eventId, in);
+                }
+            }
+            db = VoteStore.open();
+            CandidateCatalog catalog = new CandidateCatalog(db, new PhotoCache(db));
+            if (catalog.get(eventId) == null) {
+                System.err.println("❌ Event not found: " + eventId);
+                System.exit(1);
+            }
+            VoterIndex voterIndex = new VoterIndex();
+            voterIndex.loadFromDatabase(db);
+            BulkVoteProcessor processor = new BulkVoteProcessor(db, catalog, voterIndex, new LiveTally(db));
+            BallotImportProgress result = new BallotImporter(db, processor).importFile(eventId, importId, file, chunkSize);
+            System.out.println("Import " + result.getImportId() + " " + result.getState() + ": rows=" + result.getRowsDone()
+                    + " stored=" + result.getStored() + " alreadyVoted=" + result.getAlreadyVoted()
+                    + " rejected=" + result.getRejected());
+        } catch (Exception e) {
+            System.err.println("❌ Import failed: " + e.getMessage() + " (run again with the same import id to resume)");
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            if (db != null) db.close();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+import org.example.shared.BallotBatch;
+import org.example.shared.BallotBatchResult;
+import org.example.shared.BallotCsv;
+import org.example.shared.BallotImportProgress;
+import org.example.shared.BallotStatus;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable import of ballot files from counting centres.
+ * The file is applied in chunks; each chunk goes through BulkVoteProcessor (candidate and user ids
+ * checked against in-memory sets, batched multi-row inserts) and the import's checkpoint row in
+ * ballot_imports is then advanced past it. A run that stops part way (crash, dropped upload) is
+ * continued by starting the same import id again: rows up to the checkpoint are skipped.
+ * If the server died between a chunk's insert and its checkpoint, that chunk is applied again on
+ * resume and its rows are counted as alreadyVoted, never stored twice.
+ */
+public class BallotImporter {
+    private static final int MAX_REJECTIONS_PER_CHUNK = 100;
+
+    private final VoteStore dbController;
+    private final BulkVoteProcessor bulkVoteProcessor;
+    private final long idleMs;
+    private final Map<String, ActiveImport> active = new ConcurrentHashMap<>();
+
+    private static final class ActiveImport {
+        final BallotImportProgress progress;
+        final Set<String> users;
+        final long startedAt = System.currentTimeMillis();
+        final long rowsAtStart;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        ActiveImport(BallotImportProgress progress, Set<String> users) {
+            this.progress = progress;
+            this.users = users;
+            this.rowsAtStart = progress.getRowsDone();
+        }
+    }
+
+    public BallotImporter(VoteStore dbController, BulkVoteProcessor bulkVoteProcessor) {
+        this.dbController = dbController;
+        this.bulkVoteProcessor = bulkVoteProcessor;
+        this.idleMs = ServerConfig.getLong("import.idleTimeoutMin", 30) * 60_000;
+    }
+
+    /** Loads (or creates) the import's checkpoint and the event's user ids. */
+    public BallotImportProgress begin(String eventId, String importId) throws Exception {
+        expireIdle();
+        BallotImportProgress progress = dbController.getBallotImport(importId);
+        if (progress != null && !progress.getEventId().equals(eventId)) {
+            throw new IllegalArgumentException("Import " + importId + " belongs to event " + progress.getEventId());
+        }
+        if (progress == null) {
+            progress = new BallotImportProgress(importId, eventId, BallotImportProgress.RUNNING, 0, 0, 0, 0,
+                    Collections.emptyList());
+            dbController.saveBallotImport(progress);
+        } else if (!progress.isCompleted()) {
+            System.out.println("🔁 Import " + importId + ": resuming after row " + progress.getRowsDone());
+        }
+        if (progress.isCompleted()) return progress;
+        long start = System.currentTimeMillis();
+        Set<String> users = dbController.getUserIds(eventId);
+        System.out.println("📥 Import " + importId + ": loaded " + users.size() + " user id(s) for event " + eventId
+                + " in " + (System.currentTimeMillis() - start) + "ms");
+        active.put(importId, new ActiveImport(progress, users));
+        return progress;
+    }
+
+    /** Applies rows firstRow..firstRow+size-1 and advances the checkpoint. */
+    public BallotImportProgress importChunk(String importId, long firstRow, BallotBatch ballots) throws Exception {
+        ActiveImport run = active.get(importId);
+        if (run == null) throw new IllegalStateException("Import " + importId + " is not started");
+        if (!run.progress.getEventId().equals(ballots.getEventId())) {
+            throw new IllegalArgumentException("Import " + importId + " belongs to event " + run.progress.getEventId()
+                    + ", not " + ballots.getEventId());
+        }
+        synchronized (run) {
+            run.lastUsed = System.currentTimeMillis();
+            BallotImportProgress p = run.progress;
+            if (firstRow + ballots.size() - 1 <= p.getRowsDone()) return withRejections(p, Collections.emptyList());
+            if (firstRow != p.getRowsDone() + 1) {
+                throw new IllegalArgumentException("Import " + importId + " expects row " + (p.getRowsDone() + 1)
+                        + " next, got " + firstRow);
+            }
+            BallotBatchResult result = bulkVoteProcessor.cast(ballots, run.users);
+            if (result.count(BallotStatus.FAILED) > 0) {
+                // Checkpoint stays put so the caller retries the chunk; rows stored meanwhile come back as alreadyVoted
+                throw new IllegalStateException("Import " + importId + ": rows " + firstRow + "-"
+                        + (firstRow + ballots.size() - 1) + " could not be written, retry from row " + firstRow);
+            }
+            List<String> rejections = new ArrayList<>();
+            for (int i = 0; i < result.size(); i++) {
+                BallotStatus status = result.getStatus(i);
+                if (status == BallotStatus.STORED) continue;
+                if (rejections.size() < MAX_REJECTIONS_PER_CHUNK) rejections.add("row " + (firstRow + i) + ": " + status);
+            }
+            int stored = result.count(BallotStatus.STORED);
+            int alreadyVoted = result.count(BallotStatus.ALREADY_VOTED);
+            p.setStored(p.getStored() + stored);
+            p.setAlreadyVoted(p.getAlreadyVoted() + alreadyVoted);
+            p.setRejected(p.getRejected() + result.size() - stored - alreadyVoted);
+            p.setRowsDone(firstRow + ballots.size() - 1);
+            dbController.saveBallotImport(p);
+            return withRejections(p, rejections);
+        }
+    }
+
+    /** Marks the import completed and logs its throughput. */
+    public BallotImportProgress finish(String importId) throws Exception {
+        ActiveImport run = active.remove(importId);
+        if (run == null) {
+            BallotImportProgress stored = dbController.getBallotImport(importId);
+            if (stored == null) throw new IllegalStateException("Import " + importId + " is not started");
+            return stored;
+        }
+        synchronized (run) {
+            BallotImportProgress p = run.progress;
+            p.setState(BallotImportProgress.COMPLETED);
+            dbController.saveBallotImport(p);
+            long rows = p.getRowsDone() - run.rowsAtStart;
+            long ms = Math.max(1, System.currentTimeMillis() - run.startedAt);
+            System.out.println("✅ Import " + importId + ": " + rows + " row(s) in " + ms + "ms (" + (rows * 1000 / ms)
+                    + " rows/s); total stored=" + p.getStored() + " alreadyVoted=" + p.getAlreadyVoted()
+                    + " rejected=" + p.getRejected());
+            return withRejections(p, Collections.emptyList());
+        }
+    }
+
+    /** Imports a whole file in-process (the command-line path), resuming from its checkpoint. */
+    public BallotImportProgress importFile(String eventId, String importId, Path file, int chunkSize) throws Exception {
+        BallotImportProgress progress = begin(eventId, importId);
+        if (progress.isCompleted()) return progress;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            BallotCsv csv = new BallotCsv(reader);
+            csv.skip(progress.getRowsDone());
+            long firstRow = progress.getRowsDone() + 1;
+            BallotBatch batch = new BallotBatch(eventId, chunkSize);
+            String[] ballot;
+            while ((ballot = csv.next()) != null) {
+                batch.add(ballot[0], ballot[1]);
+                if (batch.size() == chunkSize) {
+                    report(importChunk(importId, firstRow, batch));
+                    firstRow += batch.size();
+                    batch = new BallotBatch(eventId, chunkSize);
+                }
+            }
+            if (batch.size() > 0) report(importChunk(importId, firstRow, batch));
+        }
+        return finish(importId);
+    }
+
+    private static void report(BallotImportProgress p) {
+        for (String r : p.getRejections()) System.out.println("   ⚠️ " + r);
+        System.out.println("📊 Import " + p.getImportId() + ": " + p.getRowsDone() + " row(s) done, stored=" + p.getStored()
+                + " alreadyVoted=" + p.getAlreadyVoted() + " rejected=" + p.getRejected());
+    }
+
+    private static BallotImportProgress withRejections(BallotImportProgress p, List<String> rejections) {
+        return new BallotImportProgress(p.getImportId(), p.getEventId(), p.getState(), p.getRowsDone(), p.getStored(),
+                p.getAlreadyVoted(), p.getRejected(), rejections);
+    }
+
+    private void expireIdle() {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        active.values().removeIf(a -> a.lastUsed < cutoff);
+    }
+}
@@ -0,0 +1,126 @@
+import org.example.shared.BallotBatch;
+import org.example.shared.BallotBatchResult;
+import org.example.shared.BallotStatus;
+import org.example.shared.Candidate;
+import org.example.shared.CandidateSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stores a whole batch of ballots for one event, as replayed by offline polling-station kiosks.
+ * One pass validates every ballot against the candidate snapshot, drops repeat voters within the
+ * batch and claims the rest in the voter index; the survivors are written straight to the votes
+ * table in chunked multi-row transactions (bypassing the group-commit queue, which exists to
+ * batch single votes). Each ballot gets its own BallotStatus.
+ */
+public class BulkVoteProcessor {
+    private final VoteStore dbController;
+    private final CandidateCatalog candidateCatalog;
+    private final VoterIndex voterIndex;
+    private final LiveTally liveTally;
+    private final int chunkSize;
+    private final int maxBallots;
+
+    public BulkVoteProcessor(VoteStore dbController, CandidateCatalog candidateCatalog, VoterIndex voterIndex,
+                             LiveTally liveTally) {
+        this.dbController = dbController;
+        this.candidateCatalog = candidateCatalog;
+        this.voterIndex = voterIndex;
+        this.liveTally = liveTally;
+        // Three placeholders per row; MySQL allows 65535 per statement
+        this.chunkSize = Math.min(20_000, Math.max(1, ServerConfig.getInt("vote.bulk.chunkSize", 2000)));
+        this.maxBallots = ServerConfig.getInt("vote.bulk.maxBallots", 50_000);
+    }
+
+    public int getMaxBallots() {
+        return maxBallots;
+    }
+
+    /** Outcomes index-aligned with the batch; throws if the event does not exist or the batch is too large. */
+    public BallotBatchResult cast(BallotBatch batch) {
+        return cast(batch, null);
+    }
+
+    /** As cast(batch), also rejecting user ids that are not in knownUsers (the event's users) up front. */
+    public BallotBatchResult cast(BallotBatch batch, Set<String> knownUsers) {
+        String eventId = batch.getEventId();
+        CandidateSnapshot snapshot = candidateCatalog.get(eventId);
+        if (snapshot == null) throw new IllegalArgumentException("Event not found: " + eventId);
+        if (batch.size() > maxBallots) {
+            throw new IllegalArgumentException("Too many ballots: " + batch.size() + " (max " + maxBallots + ")");
+        }
+        long start = System.currentTimeMillis();
+        Set<String> candidateIds = new HashSet<>();
+        for (Candidate c : snapshot.getCandidates()) candidateIds.add(c.getId());
+
+        BallotStatus[] statuses = new BallotStatus[batch.size()];
+        Set<String> seen = new HashSet<>();
+        List<Integer> accepted = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String userId = batch.getUserId(i);
+            if (userId == null || userId.isBlank() || knownUsers != null && !knownUsers.contains(userId)) {
+                statuses[i] = BallotStatus.INVALID_USER;
+            } else if (!candidateIds.contains(batch.getCandidateId(i))) {
+                statuses[i] = BallotStatus.INVALID_CANDIDATE;
+            } else if (!seen.add(userId)) {
+                statuses[i] = BallotStatus.DUPLICATE_IN_BATCH;
+            } else if (!voterIndex.claim(userId, eventId)) {
+                statuses[i] = BallotStatus.ALREADY_VOTED;
+            } else {
+                accepted.add(i);
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            writeChunk(batch, accepted.subList(from, Math.min(from + chunkSize, accepted.size())), statuses);
+        }
+
+        int stored = 0;
+        for (BallotStatus s : statuses) {
+            if (s == BallotStatus.STORED) stored++;
+        }
+        System.out.println("🗳️ RMI: Bulk vote for event " + eventId + ": " + stored + "/" + batch.size()
+                + " ballot(s) stored in " + (System.currentTimeMillis() - start) + "ms");
+        return new BallotBatchResult(eventId, statuses);
+    }
+
+    private void writeChunk(BallotBatch batch, List<Integer> indexes, BallotStatus[] statuses) {
+        String eventId = batch.getEventId();
+        List<VoteRecord> votes = new ArrayList<>(indexes.size());
+        for (int idx : indexes) votes.add(new VoteRecord(batch.getUserId(idx), eventId, batch.getCandidateId(idx)));
+        VoteOutcome[] outcomes;
+        try {
+            outcomes = dbController.insertVotes(votes);
+        } catch (Exception e) {
+            // insertVotes stores nothing when it throws, so every claim of the chunk is given back
+            System.err.println("❌ RMI: Bulk vote chunk of " + votes.size() + " for event " + eventId + " failed: "
+                    + e.getMessage());
+            for (int idx : indexes) {
+                voterIndex.release(batch.getUserId(idx), eventId);
+                statuses[idx] = BallotStatus.FAILED;
+            }
+            return;
+        }
+        for (int i = 0; i < indexes.size(); i++) {
+            int idx = indexes.get(i);
+            VoteRecord vote = votes.get(i);
+            switch (outcomes[i]) {
+                case STORED:
+                    liveTally.recordVote(eventId, vote.getCandidateId());
+                    statuses[idx] = BallotStatus.STORED;
+                    break;
+                case DUPLICATE:
+                    // Stored by another server or before the voter index was loaded
+                    statuses[idx] = BallotStatus.ALREADY_VOTED;
+                    break;
+                default:
+                    // Candidate was checked already, so the foreign key that failed is the user's
+                    voterIndex.release(vote.getUserId(), eventId);
+                    statuses[idx] = BallotStatus.INVALID_USER;
+            }
+        }
+    }
+}
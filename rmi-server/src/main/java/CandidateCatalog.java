@@ -0,0 +1,109 @@
+import org.example.shared.Candidate;
+import org.example.shared.CandidateSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-event candidate lists served to voters.
+ * Each event maps to an immutable CandidateSnapshot; admin changes build a new list and swap it
+ * in atomically, so readers never lock and never see a half-applied change. Snapshots are loaded
+ * from the database on first use, which also covers events created before a restart.
+ */
+public class CandidateCatalog {
+    // Seeded from the clock so versions (and therefore ETags) are not reused after a restart
+    private static final AtomicLong VERSIONS = new AtomicLong(System.currentTimeMillis());
+
+    private final VoteStore dbController;
+    private final PhotoCache photoCache;
+    private final Map<String, CandidateSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public CandidateCatalog(VoteStore dbController, PhotoCache photoCache) {
+        this.dbController = dbController;
+        this.photoCache = photoCache;
+    }
+
+    /** Current snapshot of an event, or null if the event does not exist. */
+    public CandidateSnapshot get(String eventId) {
+        CandidateSnapshot snapshot = snapshots.get(eventId);
+        if (snapshot != null) return snapshot;
+        if (dbController.getEventPassword(eventId) == null) return null;
+        return snapshots.computeIfAbsent(eventId, this::load);
+    }
+
+    /** Whether the event exists and currently lists the candidate. */
+    public boolean hasCandidate(String eventId, String candidateId) {
+        CandidateSnapshot snapshot = get(eventId);
+        if (snapshot == null) return false;
+        for (Candidate c : snapshot.getCandidates()) {
+            if (c.getId().equals(candidateId)) return true;
+        }
+        return false;
+    }
+
+    public void registerEvent(String eventId) {
+        snapshots.putIfAbsent(eventId, new CandidateSnapshot(eventId, VERSIONS.incrementAndGet(), new ArrayList<>()));
+    }
+
+    public void addCandidate(String eventId, String candidateId, String name) {
+        Candidate added = new Candidate(candidateId, name, null, photoHash(eventId, candidateId));
+        swap(eventId, list -> {
+            // A snapshot loaded after the insert already holds the candidate
+            list.removeIf(c -> c.getId().equals(candidateId));
+            list.add(added);
+            return list;
+        });
+    }
+
+    /** Applies a rename and/or photo change; a null name keeps the current one. */
+    public void updateCandidate(String eventId, String candidateId, String newName, boolean photoChanged) {
+        String newHash = photoChanged ? photoHash(eventId, candidateId) : null;
+        swap(eventId, list -> {
+            for (int i = 0; i < list.size(); i++) {
+                Candidate c = list.get(i);
+                if (c.getId().equals(candidateId)) {
+                    list.set(i, new Candidate(c.getId(), newName != null ? newName : c.getName(), null,
+                            photoChanged ? newHash : c.getPhotoHash()));
+                    break;
+                }
+            }
+            return list;
+        });
+    }
+
+    public void removeCandidate(String eventId, String candidateId) {
+        swap(eventId, list -> {
+            list.removeIf(c -> c.getId().equals(candidateId));
+            return list;
+        });
+    }
+
+    // Builds the next snapshot from a copy of the current list; events not loaded yet are left
+    // alone since their first read will see the database state
+    private void swap(String eventId, UnaryOperator<List<Candidate>> change) {
+        snapshots.computeIfPresent(eventId, (id, current) -> new CandidateSnapshot(id, VERSIONS.incrementAndGet(),
+                change.apply(new ArrayList<>(current.getCandidates()))));
+    }
+
+    private CandidateSnapshot load(String eventId) {
+        List<Map<String, String>> rows = dbController.getCandidates(eventId);
+        List<String> ids = new ArrayList<>();
+        for (Map<String, String> row : rows) ids.add(row.get("id"));
+        // Photos are served by getCandidatePhoto; the list only carries their hashes
+        Map<String, String> photoHashes = photoCache.hashesFor(eventId, ids, PhotoVariant.MEDIUM);
+        List<Candidate> candidates = new ArrayList<>();
+        for (Map<String, String> row : rows) {
+            candidates.add(new Candidate(row.get("id"), row.get("name"), null, photoHashes.get(row.get("id"))));
+        }
+        return new CandidateSnapshot(eventId, VERSIONS.incrementAndGet(), candidates);
+    }
+
+    private String photoHash(String eventId, String candidateId) {
+        PhotoCache.Photo photo = photoCache.get(eventId, candidateId, PhotoVariant.MEDIUM);
+        return photo != null ? photo.getHash() : null;
+    }
+}
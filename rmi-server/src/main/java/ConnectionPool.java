@@ -0,0 +1,298 @@
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Properties;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool shared by every DBController in the JVM.
+ * Callers use it exactly like DriverManager: borrow with getConnection() and return the
+ * connection by closing it (try-with-resources).
+ */
+public class ConnectionPool {
+    private static volatile ConnectionPool shared;
+
+    private final String url;
+    private final Properties connectionProps;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final long validateAfterIdleMs;
+
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger opened = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile boolean closed;
+
+    // Physical connection plus the time it was last handed back to the pool
+    private static final class PooledEntry {
+        final Connection physical;
+        long lastReleased;
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.lastReleased = System.currentTimeMillis();
+        }
+    }
+
+    public ConnectionPool(String url, String username, String password, int minSize, int maxSize,
+                          long acquireTimeoutMs, int statementCacheSize) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + " max=" + maxSize);
+        }
+        this.url = url;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.validateAfterIdleMs = ServerConfig.getLong("pool.validateAfterIdleMs", 30_000);
+        this.permits = new Semaphore(maxSize, true);
+
+        connectionProps = new Properties();
+        connectionProps.setProperty("user", username);
+        connectionProps.setProperty("password", password);
+        // Lets addBatch()/executeBatch() go out as multi-row INSERTs (bulk account provisioning)
+        connectionProps.setProperty("rewriteBatchedStatements", "true");
+        if (statementCacheSize > 0) {
+            // Connector/J keeps parsed/server-side prepared statements per physical connection,
+            // so a pooled connection re-uses them across DBController calls.
+            connectionProps.setProperty("cachePrepStmts", "true");
+            connectionProps.setProperty("useServerPrepStmts", "true");
+            connectionProps.setProperty("prepStmtCacheSize", String.valueOf(statementCacheSize));
+            connectionProps.setProperty("prepStmtCacheSqlLimit", "2048");
+        }
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            System.err.println("❌ Pool: MySQL driver not found on classpath");
+        }
+        prefill();
+    }
+
+    /** Pool configured from db.properties, created on first use and shared JVM-wide. */
+    public static ConnectionPool getShared() {
+        ConnectionPool pool = shared;
+        if (pool == null) {
+            synchronized (ConnectionPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    pool = new ConnectionPool(
+                            ServerConfig.get("db.url", "jdbc:mysql://localhost:3306/votingdb"),
+                            ServerConfig.get("db.username", "root"),
+                            ServerConfig.get("db.password", "root"),
+                            ServerConfig.getInt("pool.minSize", 2),
+                            ServerConfig.getInt("pool.maxSize", 16),
+                            ServerConfig.getLong("pool.acquireTimeoutMs", 5_000),
+                            ServerConfig.getInt("pool.statementCacheSize", 250));
+                    pool.registerMetrics(Metrics.getShared());
+                    shared = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    // Read when scraped, so acquire/release pay nothing extra
+    private void registerMetrics(Metrics metrics) {
+        metrics.register("voting_db_pool_connections", "gauge", "Pool connections by state", sink -> {
+            sink.accept(Metrics.label("state", "in_use"), getActiveCount());
+            sink.accept(Metrics.label("state", "idle"), getIdleCount());
+            sink.accept(Metrics.label("state", "open"), getOpenCount());
+            sink.accept(Metrics.label("state", "max"), maxSize);
+        });
+        metrics.register("voting_db_pool_acquisitions_total", "counter", "Connections handed out",
+                sink -> sink.accept("", getAcquisitionCount()));
+        metrics.register("voting_db_pool_acquire_timeouts_total", "counter",
+                "Acquisitions that gave up after pool.acquireTimeoutMs", sink -> sink.accept("", getTimeoutCount()));
+        metrics.register("voting_db_pool_wait_seconds_total", "counter", "Time spent waiting for a connection",
+                sink -> sink.accept("", waitNanos.sum() / 1e9));
+    }
+
+    private void prefill() {
+        try {
+            for (int i = 0; i < minSize; i++) {
+                idle.offerLast(new PooledEntry(openPhysical()));
+            }
+            System.out.println("✅ Pool: opened " + idle.size() + " connection(s), max " + maxSize);
+        } catch (SQLException e) {
+            // Not fatal: connections will be opened lazily once the database is reachable
+            System.err.println("❌ Pool: could not prefill connections: " + e.getMessage());
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection c = DriverManager.getConnection(url, connectionProps);
+        opened.incrementAndGet();
+        return c;
+    }
+
+    /**
+     * Borrows a connection, waiting at most pool.acquireTimeoutMs for one to become free.
+     * Closing the returned connection hands it back to the pool.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "Timed out after " + acquireTimeoutMs + "ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection");
+        }
+        waitNanos.add(System.nanoTime() - start);
+        acquisitions.increment();
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) {
+                entry = new PooledEntry(openPhysical());
+            }
+            active.incrementAndGet();
+            return lease(entry);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledEntry takeValidIdle() {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            boolean stale = System.currentTimeMillis() - entry.lastReleased > validateAfterIdleMs;
+            try {
+                if (!entry.physical.isClosed() && (!stale || entry.physical.isValid(2))) {
+                    return entry;
+                }
+            } catch (SQLException ignored) {
+            }
+            discard(entry);
+        }
+        return null;
+    }
+
+    private void release(PooledEntry entry) {
+        active.decrementAndGet();
+        try {
+            if (closed || entry.physical.isClosed()) {
+                discard(entry);
+            } else {
+                if (!entry.physical.getAutoCommit()) {
+                    entry.physical.rollback();
+                    entry.physical.setAutoCommit(true);
+                }
+                entry.lastReleased = System.currentTimeMillis();
+                // LIFO keeps the hot connections warm and lets surplus ones age out
+                idle.offerFirst(entry);
+            }
+        } catch (SQLException e) {
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledEntry entry) {
+        opened.decrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private Connection lease(PooledEntry entry) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean returned;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!returned) {
+                            returned = true;
+                            release(entry);
+                        }
+                        return null;
+                    case "isClosed":
+                        return returned || entry.physical.isClosed();
+                    case "unwrap":
+                    case "isWrapperFor":
+                        break;
+                    default:
+                        if (returned) {
+                            throw new SQLException("Connection has already been returned to the pool");
+                        }
+                }
+                try {
+                    return method.invoke(entry.physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    public void close() {
+        closed = true;
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            discard(entry);
+        }
+    }
+
+    // ---- Metrics ----
+
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getOpenCount() {
+        return opened.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getAcquisitionCount() {
+        return acquisitions.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public double getAverageWaitMillis() {
+        long n = acquisitions.sum();
+        return n == 0 ? 0.0 : waitNanos.sum() / (n * 1_000_000.0);
+    }
+
+    public String stats() {
+        return String.format("active=%d idle=%d open=%d/%d acquisitions=%d avgWait=%.3fms timeouts=%d",
+                getActiveCount(), getIdleCount(), getOpenCount(), maxSize, getAcquisitionCount(),
+                getAverageWaitMillis(), getTimeoutCount());
+    }
+}
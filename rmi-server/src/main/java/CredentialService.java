@@ -0,0 +1,201 @@
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Password encryption for voter accounts plus a short-lived cache of successful logins.
+ * The AES key is derived once from encryption.secret in db.properties. Cipher and MessageDigest
+ * instances come from small shared pools and are re-initialised for each operation instead of
+ * being looked up again; per-thread copies would be rebuilt for every virtual thread when the
+ * service runs inside the bridge. The login cache stores a SHA-256 of the presented credentials, never the password itself, so
+ * a repeated login with the same credentials is answered without a database round trip.
+ */
+public class CredentialService {
+    private static final String TRANSFORMATION = "AES/CBC/PKCS5Padding";
+    private static final int IV_LENGTH = 16;
+    // Idle instances kept per pool; more concurrent callers just create extra ones
+    private static final int POOL_SIZE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+    private static CredentialService shared;
+
+    private final SecretKeySpec key;
+    private final Pool<Cipher> ciphers;
+    private final Pool<MessageDigest> digests;
+    private final SecureRandom random = new SecureRandom();
+
+    private final int cacheSize;
+    private final long cacheTtlMs;
+    private final LinkedHashMap<String, CachedLogin> logins;
+
+    private static final class CachedLogin {
+        final byte[] credentialHash;
+        final Map<String, String> userInfo;
+        final long expiresAt;
+
+        CachedLogin(byte[] credentialHash, Map<String, String> userInfo, long expiresAt) {
+            this.credentialHash = credentialHash;
+            this.userInfo = userInfo;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Bounded free list; borrowing never blocks
+    private static final class Pool<T> {
+        private final BlockingQueue<T> idle = new ArrayBlockingQueue<>(POOL_SIZE);
+        private final Supplier<T> factory;
+
+        Pool(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        T borrow() {
+            T item = idle.poll();
+            return item != null ? item : factory.get();
+        }
+
+        void release(T item) {
+            idle.offer(item);
+        }
+    }
+
+    /** Created on first use from db.properties; fails if encryption.secret is not set. */
+    public static synchronized CredentialService getShared() {
+        if (shared == null) {
+            shared = fromConfig();
+        }
+        return shared;
+    }
+
+    static CredentialService fromConfig() {
+        String secret = ServerConfig.get("encryption.secret", null);
+        if (secret == null) {
+            throw new IllegalStateException("encryption.secret is not set in db.properties (or -Dencryption.secret)");
+        }
+        return new CredentialService(secret,
+                ServerConfig.getInt("credentials.loginCacheSize", 10_000),
+                ServerConfig.getLong("credentials.loginCacheTtlSec", 60) * 1000);
+    }
+
+    public CredentialService(String secret, int cacheSize, long cacheTtlMs) {
+        try {
+            byte[] derived = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            this.key = new SecretKeySpec(derived, "AES");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        this.ciphers = new Pool<>(() -> {
+            try {
+                return Cipher.getInstance(TRANSFORMATION);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(TRANSFORMATION + " not available", e);
+            }
+        });
+        this.digests = new Pool<>(() -> {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        });
+        this.cacheSize = cacheSize;
+        this.cacheTtlMs = cacheTtlMs;
+        this.logins = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedLogin> eldest) {
+                return size() > CredentialService.this.cacheSize;
+            }
+        };
+    }
+
+    /** Base64(IV || AES-CBC ciphertext), the format stored in users.password. */
+    public String encrypt(String password) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        byte[] plain = password.getBytes(StandardCharsets.UTF_8);
+        Cipher cipher = ciphers.borrow();
+        byte[] out;
+        int written;
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+            out = new byte[IV_LENGTH + cipher.getOutputSize(plain.length)];
+            written = cipher.doFinal(plain, 0, plain.length, out, IV_LENGTH);
+        } finally {
+            ciphers.release(cipher);
+        }
+        System.arraycopy(iv, 0, out, 0, IV_LENGTH);
+        return Base64.getEncoder().encodeToString(IV_LENGTH + written == out.length ? out : Arrays.copyOf(out, IV_LENGTH + written));
+    }
+
+    public String decrypt(String encrypted) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(encrypted);
+        Cipher cipher = ciphers.borrow();
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(bytes, 0, IV_LENGTH));
+            return new String(cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH), StandardCharsets.UTF_8);
+        } finally {
+            ciphers.release(cipher);
+        }
+    }
+
+    /** True if the stored (encrypted) password decrypts to the given one. */
+    public boolean matches(String encrypted, String password) throws GeneralSecurityException {
+        return decrypt(encrypted).equals(password);
+    }
+
+    // ---- Login cache ----
+
+    /** User info from a recent successful login with the same credentials, or null. */
+    public Map<String, String> cachedLogin(String username, String password) {
+        if (cacheSize <= 0) return null;
+        CachedLogin cached;
+        synchronized (logins) {
+            cached = logins.get(username);
+        }
+        if (cached == null) return null;
+        if (cached.expiresAt < System.currentTimeMillis()) {
+            forget(username, cached);
+            return null;
+        }
+        if (!MessageDigest.isEqual(cached.credentialHash, credentialHash(username, password))) return null;
+        return new HashMap<>(cached.userInfo);
+    }
+
+    public void rememberLogin(String username, String password, Map<String, String> userInfo) {
+        if (cacheSize <= 0) return;
+        CachedLogin entry = new CachedLogin(credentialHash(username, password), new HashMap<>(userInfo),
+                System.currentTimeMillis() + cacheTtlMs);
+        synchronized (logins) {
+            logins.put(username, entry);
+        }
+    }
+
+    private void forget(String username, CachedLogin expired) {
+        synchronized (logins) {
+            logins.remove(username, expired);
+        }
+    }
+
+    private byte[] credentialHash(String username, String password) {
+        MessageDigest digest = digests.borrow();
+        try {
+            digest.update(username.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return digest.digest(password.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            digest.reset();
+            digests.release(digest);
+        }
+    }
+}
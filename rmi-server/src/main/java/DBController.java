@@ -1,83 +1,55 @@
+import org.example.shared.BallotImportProgress;
+import org.example.shared.VoterAccount;
 import java.sql.*;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import javax.crypto.Cipher;
-import javax.crypto.spec.IvParameterSpec;
-import java.nio.charset.StandardCharsets;
-import java.security.SecureRandom;
-import java.util.Base64;
-import javax.crypto.spec.SecretKeySpec;
-import java.security.MessageDigest;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.lang.String.*;
 
-public class DBController {
-    private final String url = "jdbc:mysql://localhost:3306/votingdb";
-    private final String username = "root";
-    private final String password = "root";
-    private Connection conn = null;
-    private static final String transformation = "AES/CBC/PKCS5Padding";
-    private static final String SECRET = "your-32-char-secret-key-123456789012"; // 32 chars for AES-256
+/**
+ * MySQL storage engine (storage.engine=mysql, the default), backed by the shared connection pool.
+ */
+public class DBController implements VoteStore {
+    private final ConnectionPool pool;
+    private final CredentialService credentials = CredentialService.getShared();
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
 
-    private SecretKeySpec getSecretKey() throws Exception {
-        byte[] key = SECRET.getBytes(StandardCharsets.UTF_8);
-        MessageDigest sha = MessageDigest.getInstance("SHA-256");
-        key = sha.digest(key);
-        return new SecretKeySpec(key, "AES");
+    public DBController() {
+        this(ConnectionPool.getShared());
     }
 
+    public DBController(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    // Key material and ciphers are set up once in CredentialService and reused per thread
+    @Override
     public String encryptPassword(String password) throws Exception {
-        Cipher cipher = Cipher.getInstance(transformation);
-        SecretKeySpec secretKey = getSecretKey();
-        byte[] iv = new byte[16];
-        new SecureRandom().nextBytes(iv);
-        IvParameterSpec ivSpec = new IvParameterSpec(iv);
-        cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivSpec);
-        byte[] encrypted = cipher.doFinal(password.getBytes(StandardCharsets.UTF_8));
-        byte[] encryptedIvAndText = new byte[iv.length + encrypted.length];
-        System.arraycopy(iv, 0, encryptedIvAndText, 0, iv.length);
-        System.arraycopy(encrypted, 0, encryptedIvAndText, iv.length, encrypted.length);
-        return Base64.getEncoder().encodeToString(encryptedIvAndText);
+        return credentials.encrypt(password);
     }
 
+    @Override
     public String decryptPassword(String encrypted) throws Exception {
-        byte[] encryptedIvTextBytes = Base64.getDecoder().decode(encrypted);
-        byte[] iv = new byte[16];
-        System.arraycopy(encryptedIvTextBytes, 0, iv, 0, 16);
-        IvParameterSpec ivSpec = new IvParameterSpec(iv);
-        int encryptedSize = encryptedIvTextBytes.length - 16;
-        byte[] encryptedBytes = new byte[encryptedSize];
-        System.arraycopy(encryptedIvTextBytes, 16, encryptedBytes, 0, encryptedSize);
-        Cipher cipher = Cipher.getInstance(transformation);
-        SecretKeySpec secretKey = getSecretKey();
-        cipher.init(Cipher.DECRYPT_MODE, secretKey, ivSpec);
-        byte[] decrypted = cipher.doFinal(encryptedBytes);
-        return new String(decrypted, StandardCharsets.UTF_8);
+        return credentials.decrypt(encrypted);
     }
 
+    // Borrowed from the shared pool; closing the connection returns it.
     public Connection getConnection() throws SQLException {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            conn = DriverManager.getConnection(url, username, password);
-        } catch (ClassNotFoundException e) {
-            e.printStackTrace();
-        }
-        return conn;
+        return pool.getConnection();
     }
 
-    public void closeConnection() {
-        if (conn != null) {
-            try {
-                conn.close();
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-        }
+    public ConnectionPool getPool() {
+        return pool;
     }
 
+    @Override
     public boolean validateUser(String userId, String password) {
         // Can't compare encrypted values because a new random IV is used each encryption.
         String query = "SELECT password FROM users WHERE id = ?";
@@ -93,11 +65,13 @@ public class DBController {
             }
         } catch (Exception e) {
             System.err.println("❌ Database error in validateUser: " + e.getMessage());
+            VoteStore.recordError("validateUser");
             e.printStackTrace();
             return false;
         }
     }
 
+    @Override
     public Map<String, String> getUserInfo(String username, String password) {
         // Fetch stored encrypted password then decrypt for comparison.
         String query = "SELECT u.id, u.event_id, u.password as enc_password, e.name as event_name, e.password as event_password " +
@@ -122,11 +96,13 @@ public class DBController {
             }
         } catch (Exception e) {
             System.err.println("❌ Database error in getUserInfo: " + e.getMessage());
+            VoteStore.recordError("getUserInfo");
             e.printStackTrace();
             return null;
         }
     }
 
+    @Override
     public boolean registerUser(String userId, String password, String username, String eventID) {
         String query = "INSERT INTO users (id,username, password, event_id) VALUES (?, ?,?, ?)";
         try (Connection conn = getConnection();
@@ -139,11 +115,44 @@ public class DBController {
             return rowsAffected > 0;
         } catch (Exception e) {
             System.err.println("❌ Database error in registerUser: " + e.getMessage());
+            VoteStore.recordError("registerUser");
             e.printStackTrace();
             return false;
         }
     }
 
+    /**
+     * Inserts generated accounts in one transaction using a JDBC batch (sent as multi-row INSERTs).
+     * Passwords must already be encrypted. Returns false, with nothing stored, if a generated id or
+     * username collided with an existing row so the caller can regenerate the chunk and retry.
+     */
+    @Override
+    public boolean insertUsers(String eventId, List<AccountProvisioner.Account> accounts) throws SQLException {
+        String query = "INSERT INTO users (id, username, password, event_id) VALUES (?, ?, ?, ?)";
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                for (AccountProvisioner.Account account : accounts) {
+                    stmt.setString(1, account.getUserId());
+                    stmt.setString(2, account.getUsername());
+                    stmt.setString(3, account.getEncryptedPassword());
+                    stmt.setString(4, eventId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                if (e.getErrorCode() == MYSQL_DUPLICATE_KEY) return false;
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Override
     public boolean createEvent(String eventName, String eventId, String password) {
         String query = "INSERT INTO events (id, name, password) VALUES (?, ?, ?)";
         try (Connection conn = getConnection();
@@ -155,19 +164,23 @@ public class DBController {
             return rowsAffected > 0;
         } catch (SQLException e) {
             System.err.println("❌ Database error in createEvent: " + e.getMessage());
+            VoteStore.recordError("createEvent");
             e.printStackTrace();
             return false;
         }
     }
 
-    public String addCandidate(String eventId, String candidateName, byte[] photo) {
-        // Expect table 'candidates.photo' to be a (LONG)BLOB to store raw bytes.
-        String query = "INSERT INTO candidates (event_id, name, photo) VALUES (?, ?, ?)";
+    @Override
+    public String addCandidate(String eventId, String candidateName, PhotoProcessor.ProcessedPhoto photo) {
+        // photo holds the normalized original; medium and thumbnail renditions sit alongside it
+        String query = "INSERT INTO candidates (event_id, name, photo, photo_medium, photo_thumb) VALUES (?, ?, ?, ?, ?)";
         try (Connection conn = getConnection();
                 PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, eventId);
             stmt.setString(2, candidateName);
-            stmt.setBytes(3, photo);
+            stmt.setBytes(3, photo != null ? photo.getOriginal() : null);
+            stmt.setBytes(4, photo != null ? photo.getMedium() : null);
+            stmt.setBytes(5, photo != null ? photo.getThumbnail() : null);
             int rowsAffected = stmt.executeUpdate();
             if (rowsAffected > 0) {
                 try (ResultSet rs = stmt.getGeneratedKeys()) {
@@ -179,12 +192,14 @@ public class DBController {
             return null;
         } catch (SQLException e) {
             System.err.println("❌ Database error in addCandidate: " + e.getMessage());
+            VoteStore.recordError("addCandidate");
             e.printStackTrace();
             return null;
         }
     }
 
-    public boolean updateCandidate(String eventId, String candidateId, String newName, byte[] newPhoto) {
+    @Override
+    public boolean updateCandidate(String eventId, String candidateId, String newName, PhotoProcessor.ProcessedPhoto newPhoto) {
         // Build dynamic SQL depending on provided fields
         StringBuilder sb = new StringBuilder("UPDATE candidates SET ");
         List<Object> params = new ArrayList<>();
@@ -194,8 +209,10 @@ public class DBController {
         }
         if (newPhoto != null) {
             if (!params.isEmpty()) sb.append(", ");
-            sb.append("photo = ?");
-            params.add(newPhoto);
+            sb.append("photo = ?, photo_medium = ?, photo_thumb = ?");
+            params.add(newPhoto.getOriginal());
+            params.add(newPhoto.getMedium());
+            params.add(newPhoto.getThumbnail());
         }
         if (params.isEmpty()) return false; // nothing to update
         sb.append(" WHERE id = ? AND event_id = ?");
@@ -211,11 +228,13 @@ public class DBController {
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("❌ Database error in updateCandidate: " + e.getMessage());
+            VoteStore.recordError("updateCandidate");
             e.printStackTrace();
             return false;
         }
     }
 
+    @Override
     public boolean deleteCandidate(String eventId, String candidateId) {
         // Ensure we match both candidate id and event id to avoid accidental cross-event deletions
         String query = "DELETE FROM candidates WHERE id = ? AND event_id = ?";
@@ -225,75 +244,163 @@ public class DBController {
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
             System.err.println("❌ Database error in deleteCandidate: " + e.getMessage());
+            VoteStore.recordError("deleteCandidate");
             e.printStackTrace();
             return false;
         }
     }
 
-    public List<Map<String, String>> getUserAccounts(String eventId) {
-        List<Map<String, String>> accounts = new ArrayList<>();
-        String query = "SELECT id, username, password, event_id FROM users WHERE event_id = ?";
+    @Override
+    public List<VoterAccount> getUserAccounts(String eventId) {
+        List<VoterAccount> accounts = new ArrayList<>();
+        String query = "SELECT id, username, password FROM users WHERE event_id = ?";
         try (Connection conn = getConnection();
                 PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setString(1, eventId);
             try (ResultSet rs = stmt.executeQuery()) {
-                int count = 0;
-                while (rs.next()) {
-                    Map<String, String> userMap = new HashMap<>(); // NEW MAP EACH ROW
-                    String decryptedPassword;
-                    try {
-                        decryptedPassword = decryptPassword(rs.getString("password"));
-                    } catch (Exception ex) {
-                        decryptedPassword = ""; // fallback; don't abort whole list
-                    }
-                    userMap.put("userId", rs.getString("id"));
-                    userMap.put("username", rs.getString("username"));
-                    userMap.put("password", decryptedPassword);
-                    userMap.put("eventId", rs.getString("event_id"));
-                    accounts.add(userMap);
-                    count++;
-                }
-                System.out.println("✅ Database: fetched " + count + " user account(s) for event " + eventId);
+                readAccounts(rs, eventId, accounts);
+                System.out.println("✅ Database: fetched " + accounts.size() + " user account(s) for event " + eventId);
             }
         } catch (Exception e) {
             System.err.println("❌ Database error in getUserAccounts: " + e.getMessage());
+            VoteStore.recordError("getUserAccounts");
             e.printStackTrace();
         }
         return accounts;
     }
 
+    /**
+     * One page of an event's accounts ordered by id, starting after afterUserId (null for the first
+     * page). Reads limit + 1 rows so the caller can tell whether another page follows; served by the
+     * users(event_id) index, which carries the primary key.
+     */
+    @Override
+    public List<VoterAccount> getUserAccountsPage(String eventId, String afterUserId, int limit) throws SQLException {
+        List<VoterAccount> accounts = new ArrayList<>();
+        String query = "SELECT id, username, password FROM users WHERE event_id = ? AND id > ? ORDER BY id LIMIT ?";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, eventId);
+            stmt.setString(2, afterUserId != null ? afterUserId : "");
+            stmt.setInt(3, limit + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                readAccounts(rs, eventId, accounts);
+            }
+        }
+        return accounts;
+    }
+
+    private void readAccounts(ResultSet rs, String eventId, List<VoterAccount> accounts) throws SQLException {
+        while (rs.next()) {
+            String decryptedPassword;
+            try {
+                decryptedPassword = decryptPassword(rs.getString("password"));
+            } catch (Exception ex) {
+                decryptedPassword = ""; // fallback; don't abort whole list
+            }
+            accounts.add(new VoterAccount(rs.getString("id"), rs.getString("username"), decryptedPassword, eventId));
+        }
+    }
+
+    /** Candidate metadata plus vote counts. Photos are fetched separately so the GROUP BY never touches blobs. */
+    @Override
     public List<Map<String, String>> getCandidates(String eventId) {
         List<Map<String, String>> candidates = new ArrayList<>();
-        String query = "SELECT c.id, c.name, c.photo, COUNT(v.candidate_id) as votes " +
+        String query = "SELECT c.id, c.name, COUNT(v.candidate_id) as votes " +
                 "FROM candidates c " +
                 "LEFT JOIN votes v ON c.id = v.candidate_id AND v.event_id = ? " +
                 "WHERE c.event_id = ? " +
-                "GROUP BY c.id, c.name, c.photo";
+                "GROUP BY c.id, c.name";
         try (Connection conn = getConnection();
                 PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setString(1, eventId);
             stmt.setString(2, eventId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                Map<String, String> candidate = new HashMap<>();
-                candidate.put("id", rs.getString("id"));
-                candidate.put("name", rs.getString("name"));
-                candidate.put("votes", rs.getString("votes"));
-                try {
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, String> candidate = new HashMap<>();
+                    candidate.put("id", rs.getString("id"));
+                    candidate.put("name", rs.getString("name"));
+                    candidate.put("votes", rs.getString("votes"));
+                    candidates.add(candidate);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Database error in getCandidates: " + e.getMessage());
+            VoteStore.recordError("getCandidates");
+            e.printStackTrace();
+        }
+        return candidates;
+    }
+
+    /** One rendition of a candidate's photo; rows uploaded before renditions existed fall back to the original. */
+    @Override
+    public byte[] getCandidatePhoto(String eventId, String candidateId, PhotoVariant variant) {
+        String query = "SELECT COALESCE(" + variant.getColumn() + ", photo) AS photo FROM candidates WHERE id = ? AND event_id = ?";
+        try (Connection conn = getConnection(); PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setInt(1, Integer.parseInt(candidateId));
+            stmt.setString(2, eventId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    byte[] bytes = rs.getBytes("photo");
+                    return (bytes != null && bytes.length > 0) ? bytes : null;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Database error in getCandidatePhoto: " + e.getMessage());
+            VoteStore.recordError("getCandidatePhoto");
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /** Candidate id -> photo bytes (in the given rendition) for every candidate of an event that has a photo. */
+    @Override
+    public Map<String, byte[]> getCandidatePhotos(String eventId, PhotoVariant variant) {
+        Map<String, byte[]> photos = new HashMap<>();
+        String query = "SELECT id, COALESCE(" + variant.getColumn() + ", photo) AS photo FROM candidates " +
+                "WHERE event_id = ? AND photo IS NOT NULL";
+        try (Connection conn = getConnection(); PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, eventId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
                     byte[] bytes = rs.getBytes("photo");
                     if (bytes != null && bytes.length > 0) {
-                        candidate.put("photoBase64", Base64.getEncoder().encodeToString(bytes));
+                        photos.put(rs.getString("id"), bytes);
                     }
-                } catch (Exception ignored) {}
-                candidates.add(candidate);
+                }
             }
         } catch (Exception e) {
-            System.err.println("❌ Database error in getCandidates: " + e.getMessage());
+            System.err.println("❌ Database error in getCandidatePhotos: " + e.getMessage());
+            VoteStore.recordError("getCandidatePhotos");
             e.printStackTrace();
         }
-        return candidates;
+        return photos;
+    }
+
+    /** Vote counts for every candidate of every event; used to rebuild the in-memory tally at startup. */
+    @Override
+    public List<Map<String, String>> getAllCandidateTallies() throws SQLException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        String query = "SELECT c.event_id, c.id, c.name, COUNT(v.candidate_id) as votes " +
+                "FROM candidates c " +
+                "LEFT JOIN votes v ON c.id = v.candidate_id AND v.event_id = c.event_id " +
+                "GROUP BY c.event_id, c.id, c.name";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Map<String, String> row = new HashMap<>();
+                row.put("eventId", rs.getString("event_id"));
+                row.put("id", rs.getString("id"));
+                row.put("name", rs.getString("name"));
+                row.put("votes", rs.getString("votes"));
+                rows.add(row);
+            }
+        }
+        return rows;
     }
 
+    @Override
     public String getEventPassword(String eventId) {
         String query = "SELECT password FROM events WHERE id = ?";
         try (Connection conn = getConnection(); PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -305,74 +412,194 @@ public class DBController {
             }
         } catch (Exception e) {
             System.err.println("❌ Database error in getEventPassword: " + e.getMessage());
+            VoteStore.recordError("getEventPassword");
             e.printStackTrace();
         }
         return null;
     }
 
-    public boolean castVote(String userId, String eventId, String candidateId) {
-        // First check if user has already voted in this event
-        String checkQuery = "SELECT COUNT(*) FROM votes WHERE user_id = ? AND event_id = ?";
-        try (Connection conn = getConnection();
-                PreparedStatement checkStmt = conn.prepareStatement(checkQuery)) {
-
-            checkStmt.setString(1, userId);
-            checkStmt.setString(2, eventId);
-            ResultSet rs = checkStmt.executeQuery();
-
-            if (rs.next() && rs.getInt(1) > 0) {
-                System.out.println("❌ User " + userId + " has already voted in event " + eventId);
-                return false; // User has already voted
+    /**
+     * Stores a batch of votes in one transaction using a single multi-row INSERT.
+     * Repeat voters are normally filtered out before this point (VoterIndex); the votes
+     * table's (user_id, event_id) key is the final guard. Returns one outcome per input vote.
+     */
+    @Override
+    public VoteOutcome[] insertVotes(List<VoteRecord> votes) throws SQLException {
+        VoteOutcome[] outcomes = new VoteOutcome[votes.size()];
+        if (votes.isEmpty()) return outcomes;
+        // First ballot per voter within the batch wins
+        List<Integer> toInsert = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < votes.size(); i++) {
+            if (seen.add(votes.get(i).voterKey())) {
+                toInsert.add(i);
+            } else {
+                outcomes[i] = VoteOutcome.DUPLICATE;
+            }
+        }
+        StringBuilder insert = new StringBuilder("INSERT INTO votes (user_id, candidate_id, event_id) VALUES ");
+        for (int i = 0; i < toInsert.size(); i++) {
+            insert.append(i == 0 ? "(?, ?, ?)" : ", (?, ?, ?)");
+        }
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(insert.toString())) {
+                int p = 1;
+                for (int idx : toInsert) {
+                    VoteRecord v = votes.get(idx);
+                    stmt.setString(p++, v.getUserId());
+                    stmt.setInt(p++, Integer.parseInt(v.getCandidateId()));
+                    stmt.setString(p++, v.getEventId());
+                }
+                stmt.executeUpdate();
+                conn.commit();
+                for (int idx : toInsert) outcomes[idx] = VoteOutcome.STORED;
+                return outcomes;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // A duplicate from another writer or a bad candidate id spoiled the multi-row
+                // insert; retry row by row so each caller gets its own verdict.
+                conn.rollback();
+                System.err.println("⚠️ Database: batch of " + votes.size() + " votes hit a constraint, retrying row by row");
+                insertVotesIndividually(conn, votes, toInsert, outcomes);
+                return outcomes;
+            } finally {
+                conn.setAutoCommit(true);
             }
+        }
+    }
 
-            // Cast the vote by inserting into votes table
-            String voteQuery = "INSERT INTO votes (user_id, candidate_id, event_id) VALUES (?, ?, ?)";
-            try (PreparedStatement voteStmt = conn.prepareStatement(voteQuery)) {
-                voteStmt.setString(1, userId);
-                voteStmt.setInt(2, Integer.parseInt(candidateId));
-                voteStmt.setString(3, eventId);
-
-                int rowsAffected = voteStmt.executeUpdate();
-                if (rowsAffected > 0) {
-                    System.out.println("✅ Vote cast successfully - User: " + userId + ", Candidate: " + candidateId
-                            + ", Event: " + eventId);
-                    return true;
-                } else {
-                    System.out.println("❌ Failed to cast vote");
-                    return false;
+    // Still one transaction: a row that breaks a constraint is undone on its own, while any other
+    // error rolls every row back, so a failed call never leaves part of the batch stored
+    private void insertVotesIndividually(Connection conn, List<VoteRecord> votes, List<Integer> indexes,
+                                         VoteOutcome[] outcomes) throws SQLException {
+        String query = "INSERT INTO votes (user_id, candidate_id, event_id) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (int idx : indexes) {
+                VoteRecord v = votes.get(idx);
+                try {
+                    stmt.setString(1, v.getUserId());
+                    stmt.setInt(2, Integer.parseInt(v.getCandidateId()));
+                    stmt.setString(3, v.getEventId());
+                    stmt.executeUpdate();
+                    outcomes[idx] = VoteOutcome.STORED;
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    outcomes[idx] = e.getErrorCode() == MYSQL_DUPLICATE_KEY ? VoteOutcome.DUPLICATE : VoteOutcome.REJECTED;
                 }
             }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
 
+    @Override
+    public boolean deleteEvent(String eventId) {
+        // Accounts, candidates, votes and imports go with it (ON DELETE CASCADE)
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement("DELETE FROM events WHERE id = ?")) {
+            stmt.setString(1, eventId);
+            return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("❌ Database error in castVote: " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("❌ Database error in deleteEvent: " + e.getMessage());
+            VoteStore.recordError("deleteEvent");
             return false;
-        } finally {
-            closeConnection();
         }
     }
 
-    public boolean hasUserVoted(String userId, String eventId) {
-        String query = "SELECT COUNT(*) FROM votes WHERE user_id = ? AND event_id = ?";
+    @Override
+    public long countEvents() {
         try (Connection conn = getConnection();
-                PreparedStatement stmt = conn.prepareStatement(query)) {
+                PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM events");
+                ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Database error in countEvents: " + e.getMessage());
+            VoteStore.recordError("countEvents");
+            return -1;
+        }
+    }
+
+    /** Ids of all users of an event, streamed; used to validate imported ballots in memory. */
+    @Override
+    public Set<String> getUserIds(String eventId) throws SQLException {
+        Set<String> ids = new HashSet<>();
+        String query = "SELECT id FROM users WHERE event_id = ?";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setString(1, eventId);
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) ids.add(rs.getString(1));
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean isEventUser(String userId, String eventId) throws SQLException {
+        String query = "SELECT 1 FROM users WHERE id = ? AND event_id = ?";
+        try (Connection conn = getConnection(); PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setString(1, userId);
             stmt.setString(2, eventId);
-            ResultSet rs = stmt.executeQuery();
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
 
-            if (rs.next()) {
-                boolean hasVoted = rs.getInt(1) > 0;
-                System.out
-                        .println("🔍 Database: User " + userId + " vote status in event " + eventId + ": " + hasVoted);
-                return hasVoted;
+    /** Checkpoint of a ballot import, or null if it has never run. */
+    @Override
+    public BallotImportProgress getBallotImport(String importId) throws SQLException {
+        String query = "SELECT event_id, state, rows_done, stored, already_voted, rejected FROM ballot_imports WHERE id = ?";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, importId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return null;
+                return new BallotImportProgress(importId, rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4),
+                        rs.getLong(5), rs.getLong(6), Collections.emptyList());
+            }
+        }
+    }
+
+    /** Inserts or overwrites the checkpoint row of an import. */
+    @Override
+    public void saveBallotImport(BallotImportProgress progress) throws SQLException {
+        String query = "INSERT INTO ballot_imports (id, event_id, state, rows_done, stored, already_voted, rejected) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE state = VALUES(state), rows_done = VALUES(rows_done), "
+                + "stored = VALUES(stored), already_voted = VALUES(already_voted), rejected = VALUES(rejected)";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, progress.getImportId());
+            stmt.setString(2, progress.getEventId());
+            stmt.setString(3, progress.getState());
+            stmt.setLong(4, progress.getRowsDone());
+            stmt.setLong(5, progress.getStored());
+            stmt.setLong(6, progress.getAlreadyVoted());
+            stmt.setLong(7, progress.getRejected());
+            stmt.executeUpdate();
+        }
+    }
+
+    /** Streams every (user_id, event_id) pair in the votes table; used to build the voter index. */
+    @Override
+    public void forEachVoter(BiConsumer<String, String> consumer) throws SQLException {
+        String query = "SELECT user_id, event_id FROM votes";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE); // Connector/J: stream rows instead of buffering the table
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(rs.getString(1), rs.getString(2));
+                }
             }
-            return false;
-        } catch (SQLException e) {
-            System.err.println("❌ Database error in hasUserVoted: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        } finally {
-            closeConnection();
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void close() {
+        System.out.println("🔌 Pool stats at shutdown: " + pool.stats());
+        pool.close();
+    }
+}
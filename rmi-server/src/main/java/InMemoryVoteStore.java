@@ -0,0 +1,673 @@
+import org.example.shared.BallotImportProgress;
+import org.example.shared.VoterAccount;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+/**
+ * In-process storage engine (storage.engine=memory): no MySQL needed, so the server can be run and
+ * benchmarked on its own. Everything lives in concurrent maps; candidate ids are ints, each
+ * candidate keeps a LongAdder of its votes, and each event maps voter id to candidate id, which
+ * is also what enforces one vote per voter. Constraint behaviour follows the MySQL schema: votes
+ * for unknown users, candidates or events are rejected, ids and usernames are unique, and
+ * deleting an event or candidate removes what hangs off it.
+ *
+ * With storage.memory.snapshotFile set, the whole store is written to that file every
+ * storage.memory.snapshotIntervalSec and on shutdown, and loaded from it on startup. Votes cast
+ * after the last snapshot are lost on a crash (enable the vote journal for those).
+ */
+public class InMemoryVoteStore implements VoteStore {
+    private static final int SNAPSHOT_MAGIC = 0x564F5445; // "VOTE"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final CredentialService credentials = CredentialService.getShared();
+    // Writes hold the read side; snapshots and deletes hold the write side, so a snapshot sees one
+    // consistent state and a delete never races a vote for what it removes
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    // Account inserts check id and username uniqueness across all events
+    private final Object accountLock = new Object();
+    // One snapshot file writer at a time (the periodic one and the one on close)
+    private final Object snapshotLock = new Object();
+
+    private final Map<String, Event> events = new ConcurrentHashMap<>();
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final Map<String, String> userIdsByUsername = new ConcurrentHashMap<>();
+    private final Map<Integer, CandidateRow> candidates = new ConcurrentHashMap<>();
+    private final AtomicInteger lastCandidateId = new AtomicInteger();
+    private final Map<String, BallotImportProgress> imports = new ConcurrentHashMap<>();
+
+    private final Path snapshotFile;
+    private ScheduledExecutorService snapshotter;
+
+    private static final class Event {
+        final String id;
+        final String name;
+        final String password;
+        // Ordered by id for paging, like the users(event_id) index
+        final ConcurrentSkipListMap<String, User> users = new ConcurrentSkipListMap<>();
+        final Set<Integer> candidateIds = ConcurrentHashMap.newKeySet();
+        // Voter id -> candidate id
+        final Map<String, Integer> votes = new ConcurrentHashMap<>();
+
+        Event(String id, String name, String password) {
+            this.id = id;
+            this.name = name;
+            this.password = password;
+        }
+    }
+
+    private static final class User {
+        final String id;
+        final String username;
+        final String encryptedPassword;
+        final String eventId;
+
+        User(String id, String username, String encryptedPassword, String eventId) {
+            this.id = id;
+            this.username = username;
+            this.encryptedPassword = encryptedPassword;
+            this.eventId = eventId;
+        }
+    }
+
+    private static final class CandidateRow {
+        final int id;
+        final String eventId;
+        volatile String name;
+        volatile byte[] photo;
+        volatile byte[] medium;
+        volatile byte[] thumbnail;
+        final LongAdder votes = new LongAdder();
+
+        CandidateRow(int id, String eventId, String name) {
+            this.id = id;
+            this.eventId = eventId;
+            this.name = name;
+        }
+    }
+
+    public InMemoryVoteStore(Path snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    /** A store configured from db.properties, loaded from its snapshot file if there is one. */
+    public static InMemoryVoteStore open() throws IOException {
+        String file = ServerConfig.get("storage.memory.snapshotFile", "").trim();
+        InMemoryVoteStore store = new InMemoryVoteStore(file.isEmpty() ? null : Paths.get(file));
+        if (store.snapshotFile != null && Files.exists(store.snapshotFile)) {
+            store.load();
+        }
+        store.startSnapshots(ServerConfig.getLong("storage.memory.snapshotIntervalSec", 60));
+        System.out.println("✅ Memory store: " + store.events.size() + " event(s), " + store.users.size()
+                + " account(s)" + (store.snapshotFile != null ? ", snapshots in " + store.snapshotFile.toAbsolutePath()
+                : ", no snapshots"));
+        return store;
+    }
+
+    private void startSnapshots(long intervalSec) {
+        if (snapshotFile == null || intervalSec <= 0) return;
+        snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "memory-store-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        snapshotter.scheduleWithFixedDelay(() -> {
+            try {
+                snapshot();
+            } catch (IOException e) {
+                System.err.println("❌ Memory store: snapshot failed: " + e.getMessage());
+            }
+        }, intervalSec, intervalSec, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public String encryptPassword(String password) throws Exception {
+        return credentials.encrypt(password);
+    }
+
+    @Override
+    public String decryptPassword(String encrypted) throws Exception {
+        return credentials.decrypt(encrypted);
+    }
+
+    // ---- Accounts ----
+
+    @Override
+    public boolean validateUser(String userId, String password) {
+        User user = users.get(userId);
+        try {
+            return user != null && credentials.matches(user.encryptedPassword, password);
+        } catch (Exception e) {
+            System.err.println("❌ Memory store error in validateUser: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Map<String, String> getUserInfo(String username, String password) {
+        String userId = userIdsByUsername.get(username);
+        User user = userId != null ? users.get(userId) : null;
+        Event event = user != null ? events.get(user.eventId) : null;
+        if (event == null) return null;
+        try {
+            if (!credentials.matches(user.encryptedPassword, password)) return null;
+        } catch (Exception e) {
+            System.err.println("❌ Memory store error in getUserInfo: " + e.getMessage());
+            return null;
+        }
+        Map<String, String> userInfo = new HashMap<>();
+        userInfo.put("userId", user.id);
+        userInfo.put("eventId", event.id);
+        userInfo.put("eventName", event.name);
+        userInfo.put("eventPassword", event.password);
+        return userInfo;
+    }
+
+    @Override
+    public boolean registerUser(String userId, String password, String username, String eventID) {
+        try {
+            User user = new User(userId, username, encryptPassword(password), eventID);
+            return addUsers(eventID, Collections.singletonList(user));
+        } catch (Exception e) {
+            System.err.println("❌ Memory store error in registerUser: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean insertUsers(String eventId, List<AccountProvisioner.Account> accounts) throws SQLException {
+        List<User> rows = new ArrayList<>(accounts.size());
+        for (AccountProvisioner.Account a : accounts) {
+            rows.add(new User(a.getUserId(), a.getUsername(), a.getEncryptedPassword(), eventId));
+        }
+        return addUsers(eventId, rows);
+    }
+
+    private boolean addUsers(String eventId, List<User> rows) throws SQLException {
+        Lock lock = stateLock.readLock();
+        lock.lock();
+        try {
+            Event event = events.get(eventId);
+            if (event == null) throw new SQLException("Unknown event: " + eventId);
+            synchronized (accountLock) {
+                Set<String> ids = new HashSet<>();
+                Set<String> usernames = new HashSet<>();
+                for (User u : rows) {
+                    if (users.containsKey(u.id) || userIdsByUsername.containsKey(u.username)
+                            || !ids.add(u.id) || !usernames.add(u.username)) {
+                        return false;
+                    }
+                }
+                for (User u : rows) {
+                    users.put(u.id, u);
+                    userIdsByUsername.put(u.username, u.id);
+                    event.users.put(u.id, u);
+                }
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<VoterAccount> getUserAccounts(String eventId) {
+        Event event = events.get(eventId);
+        return event == null ? new ArrayList<>() : toAccounts(event.users.values(), eventId, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<VoterAccount> getUserAccountsPage(String eventId, String afterUserId, int limit) throws SQLException {
+        Event event = events.get(eventId);
+        if (event == null) return new ArrayList<>();
+        return toAccounts(event.users.tailMap(afterUserId != null ? afterUserId : "", false).values(), eventId, limit + 1);
+    }
+
+    private List<VoterAccount> toAccounts(Iterable<User> rows, String eventId, int max) {
+        List<VoterAccount> accounts = new ArrayList<>();
+        for (User u : rows) {
+            if (accounts.size() >= max) break;
+            String password;
+            try {
+                password = decryptPassword(u.encryptedPassword);
+            } catch (Exception e) {
+                password = ""; // same fallback as DBController
+            }
+            accounts.add(new VoterAccount(u.id, u.username, password, eventId));
+        }
+        return accounts;
+    }
+
+    @Override
+    public Set<String> getUserIds(String eventId) {
+        Event event = events.get(eventId);
+        return event == null ? new HashSet<>() : new HashSet<>(event.users.keySet());
+    }
+
+    @Override
+    public boolean isEventUser(String userId, String eventId) {
+        Event event = events.get(eventId);
+        return event != null && event.users.containsKey(userId);
+    }
+
+    // ---- Events and candidates ----
+
+    @Override
+    public boolean createEvent(String eventName, String eventId, String password) {
+        Lock lock = stateLock.readLock();
+        lock.lock();
+        try {
+            return events.putIfAbsent(eventId, new Event(eventId, eventName, password)) == null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteEvent(String eventId) {
+        Lock lock = stateLock.writeLock();
+        lock.lock();
+        try {
+            Event event = events.remove(eventId);
+            if (event == null) return false;
+            for (User u : event.users.values()) {
+                users.remove(u.id);
+                userIdsByUsername.remove(u.username);
+            }
+            for (Integer id : event.candidateIds) candidates.remove(id);
+            imports.values().removeIf(p -> eventId.equals(p.getEventId()));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String getEventPassword(String eventId) {
+        Event event = events.get(eventId);
+        return event != null ? event.password : null;
+    }
+
+    @Override
+    public long countEvents() {
+        return events.size();
+    }
+
+    @Override
+    public String addCandidate(String eventId, String candidateName, PhotoProcessor.ProcessedPhoto photo) {
+        Lock lock = stateLock.readLock();
+        lock.lock();
+        try {
+            Event event = events.get(eventId);
+            if (event == null) return null;
+            CandidateRow row = new CandidateRow(lastCandidateId.incrementAndGet(), eventId, candidateName);
+            if (photo != null) setPhoto(row, photo);
+            candidates.put(row.id, row);
+            event.candidateIds.add(row.id);
+            return String.valueOf(row.id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean updateCandidate(String eventId, String candidateId, String newName, PhotoProcessor.ProcessedPhoto newPhoto) {
+        boolean rename = newName != null && !newName.isBlank();
+        if (!rename && newPhoto == null) return false; // nothing to update
+        Lock lock = stateLock.readLock();
+        lock.lock();
+        try {
+            CandidateRow row = candidate(eventId, candidateId);
+            if (row == null) return false;
+            if (rename) row.name = newName;
+            if (newPhoto != null) setPhoto(row, newPhoto);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void setPhoto(CandidateRow row, PhotoProcessor.ProcessedPhoto photo) {
+        row.photo = photo.getOriginal();
+        row.medium = photo.getMedium();
+        row.thumbnail = photo.getThumbnail();
+    }
+
+    @Override
+    public boolean deleteCandidate(String eventId, String candidateId) {
+        Lock lock = stateLock.writeLock();
+        lock.lock();
+        try {
+            CandidateRow row = candidate(eventId, candidateId);
+            if (row == null) return false;
+            candidates.remove(row.id);
+            Event event = events.get(eventId);
+            event.candidateIds.remove(row.id);
+            // The candidate's votes go with it, as with ON DELETE CASCADE
+            event.votes.values().removeIf(id -> id == row.id);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Null unless the id is numeric and belongs to the event
+    private CandidateRow candidate(String eventId, String candidateId) {
+        CandidateRow row;
+        try {
+            row = candidates.get(Integer.valueOf(candidateId));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return row != null && row.eventId.equals(eventId) ? row : null;
+    }
+
+    @Override
+    public List<Map<String, String>> getCandidates(String eventId) {
+        List<Map<String, String>> rows = new ArrayList<>();
+        Event event = events.get(eventId);
+        if (event == null) return rows;
+        for (Integer id : event.candidateIds) {
+            CandidateRow row = candidates.get(id);
+            if (row != null) rows.add(tallyRow(row, false));
+        }
+        return rows;
+    }
+
+    @Override
+    public List<Map<String, String>> getAllCandidateTallies() throws SQLException {
+        List<Map<String, String>> rows = new ArrayList<>();
+        for (CandidateRow row : candidates.values()) rows.add(tallyRow(row, true));
+        return rows;
+    }
+
+    private static Map<String, String> tallyRow(CandidateRow row, boolean withEvent) {
+        Map<String, String> m = new HashMap<>();
+        if (withEvent) m.put("eventId", row.eventId);
+        m.put("id", String.valueOf(row.id));
+        m.put("name", row.name);
+        m.put("votes", String.valueOf(row.votes.sum()));
+        return m;
+    }
+
+    @Override
+    public byte[] getCandidatePhoto(String eventId, String candidateId, PhotoVariant variant) {
+        CandidateRow row = candidate(eventId, candidateId);
+        return row != null ? photoOf(row, variant) : null;
+    }
+
+    @Override
+    public Map<String, byte[]> getCandidatePhotos(String eventId, PhotoVariant variant) {
+        Map<String, byte[]> photos = new HashMap<>();
+        Event event = events.get(eventId);
+        if (event == null) return photos;
+        for (Integer id : event.candidateIds) {
+            CandidateRow row = candidates.get(id);
+            byte[] bytes = row != null && row.photo != null ? photoOf(row, variant) : null;
+            if (bytes != null) photos.put(String.valueOf(id), bytes);
+        }
+        return photos;
+    }
+
+    // The rendition if stored, else the original; null for no photo
+    private static byte[] photoOf(CandidateRow row, PhotoVariant variant) {
+        byte[] bytes = variant == PhotoVariant.MEDIUM ? row.medium : variant == PhotoVariant.THUMBNAIL ? row.thumbnail : null;
+        if (bytes == null) bytes = row.photo;
+        return bytes != null && bytes.length > 0 ? bytes : null;
+    }
+
+    // ---- Votes ----
+
+    @Override
+    public VoteOutcome[] insertVotes(List<VoteRecord> votes) {
+        VoteOutcome[] outcomes = new VoteOutcome[votes.size()];
+        Lock lock = stateLock.readLock();
+        lock.lock();
+        try {
+            for (int i = 0; i < votes.size(); i++) {
+                VoteRecord v = votes.get(i);
+                Event event = events.get(v.getEventId());
+                CandidateRow row;
+                try {
+                    row = candidates.get(Integer.valueOf(v.getCandidateId()));
+                } catch (NumberFormatException e) {
+                    row = null;
+                }
+                // Same foreign keys as the votes table: user, candidate and event must exist
+                if (event == null || row == null || !users.containsKey(v.getUserId())) {
+                    outcomes[i] = VoteOutcome.REJECTED;
+                } else if (event.votes.putIfAbsent(v.getUserId(), row.id) != null) {
+                    outcomes[i] = VoteOutcome.DUPLICATE;
+                } else {
+                    row.votes.increment();
+                    outcomes[i] = VoteOutcome.STORED;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return outcomes;
+    }
+
+    @Override
+    public void forEachVoter(BiConsumer<String, String> consumer) throws SQLException {
+        for (Event event : events.values()) {
+            for (String userId : event.votes.keySet()) consumer.accept(userId, event.id);
+        }
+    }
+
+    // ---- Ballot imports ----
+
+    @Override
+    public BallotImportProgress getBallotImport(String importId) {
+        // A copy, as from the database: callers update the one they get and save it back
+        BallotImportProgress p = imports.get(importId);
+        return p == null ? null : new BallotImportProgress(p.getImportId(), p.getEventId(), p.getState(),
+                p.getRowsDone(), p.getStored(), p.getAlreadyVoted(), p.getRejected(), Collections.emptyList());
+    }
+
+    @Override
+    public void saveBallotImport(BallotImportProgress progress) throws SQLException {
+        if (!events.containsKey(progress.getEventId())) throw new SQLException("Unknown event: " + progress.getEventId());
+        imports.put(progress.getImportId(), new BallotImportProgress(progress.getImportId(), progress.getEventId(),
+                progress.getState(), progress.getRowsDone(), progress.getStored(), progress.getAlreadyVoted(),
+                progress.getRejected(), Collections.emptyList()));
+    }
+
+    // ---- Snapshots ----
+
+    /** Writes the whole store to the snapshot file (via a temporary file, so a crash never leaves half a snapshot). */
+    public void snapshot() throws IOException {
+        if (snapshotFile == null) return;
+        synchronized (snapshotLock) {
+            writeSnapshot();
+        }
+    }
+
+    private void writeSnapshot() throws IOException {
+        long start = System.currentTimeMillis();
+        // Copied under the write lock and written out after it is released, so votes wait only for
+        // the copy, not the disk. Photo arrays are replaced on update, never changed in place, so
+        // the copy shares them.
+        int lastId;
+        List<Event> eventRows;
+        Map<String, Map<String, Integer>> votesByEvent = new HashMap<>();
+        List<User> userRows;
+        List<CandidateRow> candidateRows = new ArrayList<>(candidates.size());
+        List<BallotImportProgress> importRows;
+        long voteCount = 0;
+        Lock lock = stateLock.writeLock();
+        lock.lock();
+        try {
+            lastId = lastCandidateId.get();
+            eventRows = new ArrayList<>(events.values());
+            for (Event e : eventRows) {
+                Map<String, Integer> votes = new HashMap<>(e.votes);
+                votesByEvent.put(e.id, votes);
+                voteCount += votes.size();
+            }
+            userRows = new ArrayList<>(users.values());
+            for (CandidateRow c : candidates.values()) {
+                CandidateRow copy = new CandidateRow(c.id, c.eventId, c.name);
+                copy.photo = c.photo;
+                copy.medium = c.medium;
+                copy.thumbnail = c.thumbnail;
+                candidateRows.add(copy);
+            }
+            importRows = new ArrayList<>(imports.values());
+        } finally {
+            lock.unlock();
+        }
+
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(lastId);
+            out.writeInt(eventRows.size());
+            for (Event e : eventRows) {
+                out.writeUTF(e.id);
+                out.writeUTF(e.name);
+                out.writeUTF(e.password);
+            }
+            out.writeInt(userRows.size());
+            for (User u : userRows) {
+                out.writeUTF(u.id);
+                out.writeUTF(u.username);
+                out.writeUTF(u.encryptedPassword);
+                out.writeUTF(u.eventId);
+            }
+            out.writeInt(candidateRows.size());
+            for (CandidateRow c : candidateRows) {
+                out.writeInt(c.id);
+                out.writeUTF(c.eventId);
+                out.writeUTF(c.name);
+                writeBytes(out, c.photo);
+                writeBytes(out, c.medium);
+                writeBytes(out, c.thumbnail);
+            }
+            out.writeLong(voteCount);
+            for (Map.Entry<String, Map<String, Integer>> e : votesByEvent.entrySet()) {
+                for (Map.Entry<String, Integer> v : e.getValue().entrySet()) {
+                    out.writeUTF(e.getKey());
+                    out.writeUTF(v.getKey());
+                    out.writeInt(v.getValue());
+                }
+            }
+            out.writeInt(importRows.size());
+            for (BallotImportProgress p : importRows) {
+                out.writeUTF(p.getImportId());
+                out.writeUTF(p.getEventId());
+                out.writeUTF(p.getState());
+                out.writeLong(p.getRowsDone());
+                out.writeLong(p.getStored());
+                out.writeLong(p.getAlreadyVoted());
+                out.writeLong(p.getRejected());
+            }
+            out.flush();
+            // On disk before the rename, or a crash could leave the snapshot name on unwritten data
+            channel.force(true);
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("💾 Memory store: snapshot of " + eventRows.size() + " event(s) and " + voteCount + " vote(s) written in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private void load() throws IOException {
+        long start = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Not a memory store snapshot: " + snapshotFile);
+            }
+            lastCandidateId.set(in.readInt());
+            for (int i = in.readInt(); i > 0; i--) {
+                Event e = new Event(in.readUTF(), in.readUTF(), in.readUTF());
+                events.put(e.id, e);
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                User u = new User(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF());
+                users.put(u.id, u);
+                userIdsByUsername.put(u.username, u.id);
+                events.get(u.eventId).users.put(u.id, u);
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                CandidateRow c = new CandidateRow(in.readInt(), in.readUTF(), in.readUTF());
+                c.photo = readBytes(in);
+                c.medium = readBytes(in);
+                c.thumbnail = readBytes(in);
+                candidates.put(c.id, c);
+                events.get(c.eventId).candidateIds.add(c.id);
+            }
+            for (long i = in.readLong(); i > 0; i--) {
+                Event e = events.get(in.readUTF());
+                String userId = in.readUTF();
+                int candidateId = in.readInt();
+                e.votes.put(userId, candidateId);
+                candidates.get(candidateId).votes.increment();
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                BallotImportProgress p = new BallotImportProgress(in.readUTF(), in.readUTF(), in.readUTF(), in.readLong(),
+                        in.readLong(), in.readLong(), in.readLong(), Collections.emptyList());
+                imports.put(p.getImportId(), p);
+            }
+        }
+        System.out.println("✅ Memory store: loaded " + snapshotFile + " in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeInt(-1);
+        } else {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        if (snapshotter != null) snapshotter.shutdownNow();
+        try {
+            snapshot();
+        } catch (IOException e) {
+            System.err.println("❌ Memory store: final snapshot failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+import org.example.shared.VotingService;
+
+/**
+ * Entry point for running the voting service inside the API bridge's JVM (rmi.mode=in-process).
+ * The bridge calls the returned object directly, so votes and results skip serialization, the
+ * loopback TCP connection and the RMI dispatch threads. Startup and shutdown match Server's.
+ */
+public final class InProcessService {
+    private static VotingServiceImpl service;
+    private static VotingService instrumented;
+
+    private InProcessService() {
+    }
+
+    /** Starts the service on first use and returns it; later calls return the same instance. */
+    public static synchronized VotingService start() throws Exception {
+        if (service == null) {
+            service = Server.startService();
+            instrumented = Server.instrumented(service);
+            System.out.println("✅ Voting service is running in-process");
+        }
+        return instrumented;
+    }
+
+    public static synchronized void stop() {
+        if (service == null) return;
+        Server.stopService(service);
+        service = null;
+        instrumented = null;
+    }
+}
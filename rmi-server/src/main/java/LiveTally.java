@@ -0,0 +1,258 @@
+import org.example.shared.EventResults;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory per-event, per-candidate vote counts so getResults never touches the database.
+ * Counters are LongAdders (striped cells), so concurrent castVote threads do not contend on a
+ * single value. The tally is rebuilt from the votes table at startup, kept current by the vote
+ * path and candidate admin calls, and periodically reconciled against the database.
+ * Each event also has a version that moves on every change, so subscribers can block in
+ * awaitChange until there is something new instead of re-reading the counts.
+ */
+public class LiveTally {
+    private static final long MAX_WAIT_MS = 60_000;
+    // Each tally starts its versions in a fresh range, so a rebuilt tally never reuses an old version
+    private static final AtomicLong EPOCHS = new AtomicLong(System.currentTimeMillis() << 20);
+
+    private final VoteStore dbController;
+    private final Map<String, EventTally> events = new ConcurrentHashMap<>();
+    private ScheduledExecutorService reconciler;
+
+    private static final class CandidateCount {
+        volatile String name;
+        final LongAdder votes = new LongAdder();
+
+        CandidateCount(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final class EventTally {
+        final Map<String, CandidateCount> candidates = new ConcurrentHashMap<>();
+        final AtomicLong version = new AtomicLong(EPOCHS.addAndGet(1L << 20));
+        final AtomicInteger waiters = new AtomicInteger();
+        // A lock rather than a monitor, so waiting virtual threads do not pin their carrier
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition changed = lock.newCondition();
+
+        void bump() {
+            version.incrementAndGet();
+            // Only take the lock when someone is actually waiting
+            if (waiters.get() > 0) {
+                lock.lock();
+                try {
+                    changed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    public LiveTally(VoteStore dbController) {
+        this.dbController = dbController;
+    }
+
+    /** Rebuilds every event's counters from the votes table; a failed read leaves them untouched. */
+    public void loadFromDatabase() throws SQLException {
+        long start = System.currentTimeMillis();
+        Map<String, EventTally> loaded = new HashMap<>();
+        for (Map<String, String> row : dbController.getAllCandidateTallies()) {
+            EventTally tally = loaded.computeIfAbsent(row.get("eventId"), k -> new EventTally());
+            CandidateCount count = new CandidateCount(row.get("name"));
+            count.votes.add(Long.parseLong(row.get("votes")));
+            tally.candidates.put(row.get("id"), count);
+        }
+        events.putAll(loaded);
+        System.out.println("✅ Tally: loaded " + loaded.size() + " event(s) in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private EventTally tallyFor(String eventId) {
+        EventTally tally = events.get(eventId);
+        if (tally != null) return tally;
+        // Event created by another process or before a failed startup load; only cache real events
+        if (dbController.getEventPassword(eventId) == null) return null;
+        return events.computeIfAbsent(eventId, id -> {
+            EventTally t = new EventTally();
+            for (Map<String, String> row : dbController.getCandidates(id)) {
+                CandidateCount count = new CandidateCount(row.get("name"));
+                count.votes.add(Long.parseLong(row.get("votes")));
+                t.candidates.put(row.get("id"), count);
+            }
+            return t;
+        });
+    }
+
+    public void registerEvent(String eventId) {
+        events.putIfAbsent(eventId, new EventTally());
+    }
+
+    public void addCandidate(String eventId, String candidateId, String name) {
+        EventTally tally = tallyFor(eventId);
+        if (tally != null && tally.candidates.putIfAbsent(candidateId, new CandidateCount(name)) == null) tally.bump();
+    }
+
+    public void renameCandidate(String eventId, String candidateId, String newName) {
+        EventTally tally = events.get(eventId);
+        CandidateCount count = tally != null ? tally.candidates.get(candidateId) : null;
+        if (count != null) {
+            count.name = newName;
+            tally.bump();
+        }
+    }
+
+    public void removeCandidate(String eventId, String candidateId) {
+        EventTally tally = events.get(eventId);
+        if (tally != null && tally.candidates.remove(candidateId) != null) tally.bump();
+    }
+
+    /** Called once a vote has been committed. */
+    public void recordVote(String eventId, String candidateId) {
+        EventTally tally = tallyFor(eventId);
+        if (tally == null) return;
+        CandidateCount count = tally.candidates.get(candidateId);
+        if (count == null) {
+            // Candidate added outside this server; pick it up from the database on next read
+            events.remove(eventId);
+            tally.bump();
+            return;
+        }
+        count.votes.increment();
+        tally.bump();
+    }
+
+    /** Current counts per candidate; empty for an unknown event. */
+    public EventResults results(String eventId) {
+        List<EventResults.Entry> entries = new ArrayList<>();
+        EventTally tally = tallyFor(eventId);
+        if (tally == null) return new EventResults(eventId, entries, 0);
+        // Read before the counts: a change made while copying moves the version past this one
+        long version = tally.version.get();
+        for (Map.Entry<String, CandidateCount> e : tally.candidates.entrySet()) {
+            entries.add(new EventResults.Entry(e.getKey(), e.getValue().name, e.getValue().votes.sum()));
+        }
+        return new EventResults(eventId, entries, version);
+    }
+
+    /** Sum of all counts currently held in memory. */
+    public long totalVotes() {
+        long total = 0;
+        for (EventTally tally : events.values()) {
+            for (CandidateCount count : tally.candidates.values()) total += count.votes.sum();
+        }
+        return total;
+    }
+
+    /** Votes counted per event, keyed by event id. */
+    public Map<String, Long> votesByEvent() {
+        Map<String, Long> totals = new HashMap<>();
+        for (Map.Entry<String, EventTally> e : events.entrySet()) {
+            long total = 0;
+            for (CandidateCount count : e.getValue().candidates.values()) total += count.votes.sum();
+            totals.put(e.getKey(), total);
+        }
+        return totals;
+    }
+
+    /**
+     * Blocks until the event's version differs from knownVersion and returns the new results,
+     * or returns null once maxWaitMs (capped at a minute) passes without a change. Returns null at
+     * once for an unknown event.
+     */
+    public EventResults awaitChange(String eventId, long knownVersion, long maxWaitMs) throws InterruptedException {
+        EventTally tally = tallyFor(eventId);
+        if (tally == null) return null;
+        long remaining = TimeUnit.MILLISECONDS.toNanos(Math.min(Math.max(0, maxWaitMs), MAX_WAIT_MS));
+        tally.waiters.incrementAndGet();
+        tally.lock.lock();
+        try {
+            while (tally.version.get() == knownVersion && remaining > 0) {
+                remaining = tally.changed.awaitNanos(remaining);
+            }
+        } finally {
+            tally.lock.unlock();
+            tally.waiters.decrementAndGet();
+        }
+        return tally.version.get() == knownVersion ? null : results(eventId);
+    }
+
+    // ---- Reconciliation ----
+
+    public void startReconciler(long intervalSec) {
+        if (intervalSec <= 0) return;
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tally-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, intervalSec, intervalSec, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Compares the counters with the votes table and reports drift. A vote that commits
+     * between the two reads shows up as a one-off difference, so drift is only reported if
+     * it is still there on a second look.
+     */
+    public int reconcile() {
+        int drifted = 0;
+        for (String eventId : events.keySet()) {
+            try {
+                if (hasDrift(eventId, false)) {
+                    Thread.sleep(1000);
+                    if (hasDrift(eventId, true)) drifted++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return drifted;
+            } catch (Exception e) {
+                System.err.println("❌ Tally: reconciliation failed for event " + eventId + ": " + e.getMessage());
+            }
+        }
+        return drifted;
+    }
+
+    private boolean hasDrift(String eventId, boolean report) {
+        EventTally tally = events.get(eventId);
+        if (tally == null) return false;
+        boolean drift = false;
+        List<Map<String, String>> rows = dbController.getCandidates(eventId);
+        for (Map<String, String> row : rows) {
+            long dbVotes = Long.parseLong(row.get("votes"));
+            CandidateCount count = tally.candidates.get(row.get("id"));
+            long memVotes = count != null ? count.votes.sum() : -1;
+            if (memVotes != dbVotes) {
+                drift = true;
+                if (report) {
+                    System.err.println("⚠️ Tally drift: event " + eventId + " candidate " + row.get("id")
+                            + " memory=" + (count != null ? memVotes : "missing") + " database=" + dbVotes);
+                }
+            }
+        }
+        if (rows.size() != tally.candidates.size()) {
+            drift = true;
+            if (report) {
+                System.err.println("⚠️ Tally drift: event " + eventId + " has " + tally.candidates.size()
+                        + " candidate(s) in memory but " + rows.size() + " in database");
+            }
+        }
+        return drift;
+    }
+
+    public void shutdown() {
+        if (reconciler != null) reconciler.shutdownNow();
+    }
+}
@@ -0,0 +1,60 @@
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves Metrics.scrape() at http://host:metrics.port/metrics for Prometheus, on one daemon
+ * thread of its own so scrapes never take an RMI or writer thread.
+ */
+public final class MetricsServer {
+    private static HttpServer server;
+
+    private MetricsServer() {
+    }
+
+    /** Starts the endpoint unless metrics.enabled is false or it is already running. */
+    public static synchronized void start() {
+        if (server != null || !Metrics.getShared().isEnabled()) return;
+        int port = ServerConfig.getInt("metrics.port", 9464);
+        try {
+            HttpServer http = HttpServer.create(new InetSocketAddress(port), 0);
+            http.createContext("/metrics", exchange -> {
+                try {
+                    if (!"GET".equals(exchange.getRequestMethod())) {
+                        exchange.sendResponseHeaders(405, -1);
+                        return;
+                    }
+                    byte[] body = Metrics.getShared().scrape().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                } finally {
+                    exchange.close();
+                }
+            });
+            http.setExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "metrics-http");
+                t.setDaemon(true);
+                return t;
+            }));
+            http.start();
+            server = http;
+            System.out.println("📈 Metrics: serving http://localhost:" + port + "/metrics");
+        } catch (IOException e) {
+            // The voting service runs without the endpoint rather than not at all
+            System.err.println("⚠️ Metrics: could not listen on port " + port + ": " + e.getMessage());
+        }
+    }
+
+    public static synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        server = null;
+    }
+}
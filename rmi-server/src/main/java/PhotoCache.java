@@ -0,0 +1,170 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Candidate photos served separately from the candidate list.
+ * Keeps the content hash of every photo it has seen (used as ETag and in photo URLs) and a
+ * size-bounded LRU of photo bytes so repeated photo requests do not go back to the database.
+ */
+public class PhotoCache {
+    private static final String NO_PHOTO = "";
+
+    private final VoteStore dbController;
+    private final long maxBytes;
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Photo> photos = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedBytes;
+
+    public static final class Photo {
+        private final byte[] data;
+        private final String hash;
+        private final String contentType;
+
+        Photo(byte[] data) {
+            this.data = data;
+            this.hash = sha256Hex(data);
+            this.contentType = detectContentType(data);
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+    }
+
+    public PhotoCache(VoteStore dbController) {
+        this(dbController, ServerConfig.getLong("photo.cacheMaxBytes", 64L * 1024 * 1024));
+    }
+
+    public PhotoCache(VoteStore dbController, long maxBytes) {
+        this.dbController = dbController;
+        this.maxBytes = maxBytes;
+    }
+
+    private static String key(String eventId, String candidateId, PhotoVariant variant) {
+        return eventId + '\u0000' + candidateId + '\u0000' + variant.name();
+    }
+
+    /**
+     * One rendition of a candidate's photo, or null if the candidate has none. The miss is
+     * remembered until invalidate, so callers pass only candidates that exist.
+     */
+    public Photo get(String eventId, String candidateId, PhotoVariant variant) {
+        String key = key(eventId, candidateId, variant);
+        synchronized (photos) {
+            Photo cached = photos.get(key);
+            if (cached != null) return cached;
+        }
+        if (NO_PHOTO.equals(hashes.get(key))) return null;
+        byte[] data = dbController.getCandidatePhoto(eventId, candidateId, variant);
+        if (data == null) {
+            hashes.put(key, NO_PHOTO);
+            return null;
+        }
+        Photo photo = new Photo(data);
+        remember(key, photo);
+        return photo;
+    }
+
+    /**
+     * Photo hash of the given rendition per candidate id (null for candidates without a photo).
+     * Hashes not seen yet are filled with one query for the whole event.
+     */
+    public Map<String, String> hashesFor(String eventId, List<String> candidateIds, PhotoVariant variant) {
+        Map<String, String> result = new LinkedHashMap<>();
+        boolean missing = false;
+        for (String id : candidateIds) {
+            if (!hashes.containsKey(key(eventId, id, variant))) {
+                missing = true;
+                break;
+            }
+        }
+        if (missing) {
+            Map<String, byte[]> loaded = dbController.getCandidatePhotos(eventId, variant);
+            for (String id : candidateIds) {
+                byte[] data = loaded.get(id);
+                if (data == null) {
+                    hashes.put(key(eventId, id, variant), NO_PHOTO);
+                } else {
+                    remember(key(eventId, id, variant), new Photo(data));
+                }
+            }
+        }
+        for (String id : candidateIds) {
+            String hash = hashes.get(key(eventId, id, variant));
+            result.put(id, (hash == null || hash.isEmpty()) ? null : hash);
+        }
+        return result;
+    }
+
+    /** Drops everything known about a candidate's photo after an update or delete. */
+    public void invalidate(String eventId, String candidateId) {
+        for (PhotoVariant variant : PhotoVariant.values()) {
+            String key = key(eventId, candidateId, variant);
+            hashes.remove(key);
+            synchronized (photos) {
+                Photo removed = photos.remove(key);
+                if (removed != null) cachedBytes -= removed.data.length;
+            }
+        }
+    }
+
+    private void remember(String key, Photo photo) {
+        hashes.put(key, photo.hash);
+        if (photo.data.length > maxBytes) return;
+        synchronized (photos) {
+            Photo previous = photos.put(key, photo);
+            if (previous != null) cachedBytes -= previous.data.length;
+            cachedBytes += photo.data.length;
+            Iterator<Map.Entry<String, Photo>> it = photos.entrySet().iterator();
+            while (cachedBytes > maxBytes && it.hasNext()) {
+                cachedBytes -= it.next().getValue().data.length;
+                it.remove();
+            }
+        }
+    }
+
+    public static String sha256Hex(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Sniffs the image type from its magic bytes; uploads are not labelled with a content type. */
+    public static String detectContentType(byte[] data) {
+        if (data.length >= 3 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (data.length >= 8 && (data[0] & 0xFF) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G') {
+            return "image/png";
+        }
+        if (data.length >= 6 && data[0] == 'G' && data[1] == 'I' && data[2] == 'F') {
+            return "image/gif";
+        }
+        if (data.length >= 12 && new String(data, 0, 4, StandardCharsets.US_ASCII).equals("RIFF")
+                && new String(data, 8, 4, StandardCharsets.US_ASCII).equals("WEBP")) {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+}
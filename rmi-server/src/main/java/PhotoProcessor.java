@@ -0,0 +1,208 @@
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Normalizes uploaded candidate photos on the add/update path.
+ * Each upload is decoded once, capped to photo.maxDimension and re-encoded as JPEG, and a
+ * medium display size and a thumbnail are produced from the same decoded image.
+ * Work runs on a small bounded pool of low-priority threads so a burst of admin uploads
+ * queues (or is rejected) instead of competing with vote handling for CPU.
+ */
+public class PhotoProcessor {
+    // Largest upload decoded at all: a few KB of PNG can declare a huge canvas, and decoding
+    // allocates width * height pixels before any scaling (24 MP is about 100 MB as ARGB)
+    static final int MAX_SOURCE_SIDE = 12_000;
+    static final long MAX_SOURCE_PIXELS = 24_000_000L;
+
+    private final int maxDimension;
+    private final int mediumDimension;
+    private final int thumbnailDimension;
+    private final float jpegQuality;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor workers;
+
+    public static final class ProcessedPhoto {
+        private final byte[] original;
+        private final byte[] medium;
+        private final byte[] thumbnail;
+
+        ProcessedPhoto(byte[] original, byte[] medium, byte[] thumbnail) {
+            this.original = original;
+            this.medium = medium;
+            this.thumbnail = thumbnail;
+        }
+
+        public byte[] getOriginal() {
+            return original;
+        }
+
+        public byte[] getMedium() {
+            return medium;
+        }
+
+        public byte[] getThumbnail() {
+            return thumbnail;
+        }
+    }
+
+    public PhotoProcessor() {
+        this.maxDimension = ServerConfig.getInt("photo.maxDimension", 1600);
+        this.mediumDimension = ServerConfig.getInt("photo.mediumDimension", 480);
+        this.thumbnailDimension = ServerConfig.getInt("photo.thumbnailDimension", 128);
+        this.jpegQuality = ServerConfig.getInt("photo.jpegQuality", 85) / 100f;
+        this.timeoutMs = ServerConfig.getLong("photo.processTimeoutMs", 30_000);
+        int threads = ServerConfig.getInt("photo.workers", 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(ServerConfig.getInt("photo.queueSize", 16)),
+                r -> {
+                    Thread t = new Thread(r, "photo-worker-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Processes an upload on the worker pool and waits for the result.
+     * Throws IllegalArgumentException for data that is not a readable image and
+     * IllegalStateException when the pool is saturated or processing times out.
+     */
+    public ProcessedPhoto process(byte[] upload) {
+        Future<ProcessedPhoto> future;
+        try {
+            future = workers.submit(() -> processNow(upload));
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Photo processing is busy, try again shortly");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException) throw (IllegalArgumentException) cause;
+            throw new IllegalStateException("Photo processing failed: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Photo processing timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing photo");
+        }
+    }
+
+    private ProcessedPhoto processNow(byte[] upload) throws IOException {
+        long start = System.currentTimeMillis();
+        BufferedImage decoded = decode(upload);
+        BufferedImage capped = scaleToFit(decoded, maxDimension);
+        byte[] original = encodeJpeg(capped);
+        byte[] medium = encodeJpeg(scaleToFit(capped, mediumDimension));
+        byte[] thumbnail = encodeJpeg(scaleToFit(capped, thumbnailDimension));
+        System.out.println("🖼️ Photo: " + decoded.getWidth() + "x" + decoded.getHeight() + " " + upload.length
+                + "B -> original " + original.length + "B, medium " + medium.length + "B, thumb " + thumbnail.length
+                + "B in " + (System.currentTimeMillis() - start) + "ms");
+        return new ProcessedPhoto(original, medium, thumbnail);
+    }
+
+    // Reads the declared size from the image header and refuses oversized images before decoding
+    private static BufferedImage decode(byte[] upload) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(upload))) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported or corrupt image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > MAX_SOURCE_SIDE || height > MAX_SOURCE_SIDE || (long) width * height > MAX_SOURCE_PIXELS) {
+                    throw new IllegalArgumentException("Image is too large: " + width + "x" + height
+                            + " (at most " + MAX_SOURCE_SIDE + " px per side and " + MAX_SOURCE_PIXELS + " px)");
+                }
+                BufferedImage decoded = reader.read(0);
+                if (decoded == null) throw new IllegalArgumentException("Unsupported or corrupt image");
+                return decoded;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscales so the longer side is at most maxSide, halving in steps for quality.
+     * The result is always an opaque RGB image (transparency is flattened onto white for JPEG).
+     */
+    private static BufferedImage scaleToFit(BufferedImage src, int maxSide) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        double scale = Math.min(1.0, (double) maxSide / Math.max(w, h));
+        int targetW = Math.max(1, (int) Math.round(w * scale));
+        int targetH = Math.max(1, (int) Math.round(h * scale));
+
+        BufferedImage current = src;
+        int curW = w;
+        int curH = h;
+        do {
+            curW = Math.max(targetW, curW / 2);
+            curH = Math.max(targetH, curH / 2);
+            BufferedImage next = new BufferedImage(curW, curH, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, curW, curH);
+            g.drawImage(current, 0, 0, curW, curH, null);
+            g.dispose();
+            current = next;
+        } while (curW != targetW || curH != targetH);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) throw new IOException("No JPEG encoder available");
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    public int getQueueDepth() {
+        return workers.getQueue().size();
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
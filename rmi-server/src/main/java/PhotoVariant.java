@@ -0,0 +1,34 @@
+/**
+ * Stored renditions of a candidate photo and the candidates column holding each one.
+ */
+public enum PhotoVariant {
+    ORIGINAL("photo"),
+    MEDIUM("photo_medium"),
+    THUMBNAIL("photo_thumb");
+
+    private final String column;
+
+    PhotoVariant(String column) {
+        this.column = column;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /** Parses the variant names used by the API ("original", "medium", "thumb"); voter-facing default is MEDIUM. */
+    public static PhotoVariant fromName(String name) {
+        if (name == null || name.isBlank()) return MEDIUM;
+        switch (name.trim().toLowerCase()) {
+            case "original":
+                return ORIGINAL;
+            case "thumb":
+            case "thumbnail":
+                return THUMBNAIL;
+            case "medium":
+                return MEDIUM;
+            default:
+                throw new IllegalArgumentException("Unknown photo size: " + name);
+        }
+    }
+}
@@ -1,16 +1,102 @@
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+/**
+ * Versioned schema migrations.
+ * Each migration runs once and is recorded in schema_migrations, so the runner can be started
+ * against a fresh or an existing database at any time (the server runs it on startup unless
+ * schema.migrateOnStartup=false). Every step is also idempotent on its own: columns and indexes
+ * are only added if information_schema shows they are missing, and they are added with online
+ * DDL (ALGORITHM=INPLACE, LOCK=NONE) so reads and writes continue while an index builds.
+ * A MySQL named lock keeps two servers starting together from migrating at the same time.
+ */
 public class SchemaCreator {
+    private static final String LOCK_NAME = "votingdb.schema_migrations";
+    private static final int LOCK_TIMEOUT_SEC = 60;
 
-    // Database Config
-    private static final String URL = "jdbc:mysql://localhost:3306/votingdb";
-    private static final String USER = "root";
-    private static final String PASSWORD = "root";
+    interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    // Append only: never renumber or edit a migration that has shipped
+    private static List<Migration> migrations() {
+        List<Migration> list = new ArrayList<>();
+        list.add(new Migration(1, "base tables", SchemaCreator::createTables));
+        list.add(new Migration(2, "candidate photo renditions", conn -> {
+            addColumnIfMissing(conn, "candidates", "photo_medium", "MEDIUMBLOB NULL AFTER photo");
+            addColumnIfMissing(conn, "candidates", "photo_thumb", "MEDIUMBLOB NULL AFTER photo_medium");
+        }));
+        list.add(new Migration(3, "users.username lookup index", SchemaCreator::createUsernameIndex));
+        // Results/tally queries filter votes by event and group by candidate; (event_id, candidate_id)
+        // answers them from the index alone
+        list.add(new Migration(4, "votes(event_id, candidate_id) index", conn ->
+                createIndexIfMissing(conn, "votes", "idx_votes_event_candidate", "event_id, candidate_id", false)));
+        // InnoDB appends the primary key, so this also serves "WHERE event_id = ? ORDER BY id"
+        list.add(new Migration(5, "users(event_id) index", conn ->
+                createIndexIfMissing(conn, "users", "idx_users_event", "event_id", false)));
+        list.add(new Migration(6, "ballot import checkpoints", SchemaCreator::createBallotImportTable));
+        return list;
+    }
 
     public static void main(String[] args) {
+        try {
+            int applied = migrate(ConnectionPool.getShared());
+            System.out.println("Schema is up to date (" + applied + " migration(s) applied).");
+        } catch (SQLException e) {
+            System.err.println("Database error: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            ConnectionPool.getShared().close();
+        }
+    }
+
+    /** Applies pending migrations in version order and returns how many ran. */
+    public static int migrate(ConnectionPool pool) throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            if (!acquireLock(conn)) {
+                throw new SQLException("Timed out waiting for schema migration lock " + LOCK_NAME);
+            }
+            try {
+                ensureMigrationTable(conn);
+                Set<Integer> done = appliedVersions(conn);
+                int applied = 0;
+                for (Migration m : migrations()) {
+                    if (done.contains(m.version)) continue;
+                    long start = System.currentTimeMillis();
+                    System.out.println("🛠️ Schema: applying V" + m.version + " " + m.description + "...");
+                    m.step.apply(conn);
+                    long elapsed = System.currentTimeMillis() - start;
+                    record(conn, m, elapsed);
+                    System.out.println("✅ Schema: V" + m.version + " applied in " + elapsed + "ms");
+                    applied++;
+                }
+                return applied;
+            } finally {
+                releaseLock(conn);
+            }
+        }
+    }
+
+    private static void createTables(Connection conn) throws SQLException {
         // SQL Statements defined in order of dependency (Parents first, then Children)
 
         // 1. Events Table
@@ -60,29 +146,135 @@ public class SchemaCreator {
             )
         """;
 
-        try (Connection conn = DriverManager.getConnection(URL, USER, PASSWORD);
-             Statement stmt = conn.createStatement()) {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sqlEvents);
+            stmt.execute(sqlUsers);
+            stmt.execute(sqlCandidates);
+            stmt.execute(sqlVotes);
+        }
+    }
 
-            System.out.println("Connected to database...");
+    // One row per ballot file import; rows_done is the checkpoint a resumed import continues from
+    private static void createBallotImportTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS ballot_imports (
+                    id VARCHAR(64) PRIMARY KEY,
+                    event_id VARCHAR(36) NOT NULL,
+                    state VARCHAR(16) NOT NULL,
+                    rows_done BIGINT NOT NULL DEFAULT 0,
+                    stored BIGINT NOT NULL DEFAULT 0,
+                    already_voted BIGINT NOT NULL DEFAULT 0,
+                    rejected BIGINT NOT NULL DEFAULT 0,
+                    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                    FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+                )
+            """);
+        }
+    }
 
-            // Execute creation steps
-            stmt.execute(sqlEvents);
-            System.out.println("Created 'events' table.");
+    // Login looks users up by username. Unique when the data allows it; databases that already
+    // hold duplicate usernames get a plain index and a warning instead of a failed migration.
+    private static void createUsernameIndex(Connection conn) throws SQLException {
+        if (indexExists(conn, "users", "uq_users_username") || indexExists(conn, "users", "idx_users_username")) return;
+        boolean duplicates;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT username FROM users GROUP BY username HAVING COUNT(*) > 1 LIMIT 1")) {
+            duplicates = rs.next();
+        }
+        if (duplicates) {
+            System.err.println("⚠️ Schema: users.username has duplicates; creating a non-unique index");
+            createIndexIfMissing(conn, "users", "idx_users_username", "username", false);
+        } else {
+            createIndexIfMissing(conn, "users", "uq_users_username", "username", true);
+        }
+    }
 
-            stmt.execute(sqlUsers);
-            System.out.println("Created 'users' table.");
+    private static void createIndexIfMissing(Connection conn, String table, String index, String columns,
+                                             boolean unique) throws SQLException {
+        if (indexExists(conn, table, index)) return;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD " + (unique ? "UNIQUE " : "") + "INDEX " + index
+                    + " (" + columns + "), ALGORITHM=INPLACE, LOCK=NONE");
+        }
+    }
 
-            stmt.execute(sqlCandidates);
-            System.out.println("Created 'candidates' table.");
+    private static void addColumnIfMissing(Connection conn, String table, String column, String definition)
+            throws SQLException {
+        String query = "SELECT 1 FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, table);
+            stmt.setString(2, column);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) return;
+            }
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition
+                    + ", ALGORITHM=INPLACE, LOCK=NONE");
+        }
+    }
 
-            stmt.execute(sqlVotes);
-            System.out.println("Created 'votes' table.");
+    private static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        String query = "SELECT 1 FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ? LIMIT 1";
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, table);
+            stmt.setString(2, index);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
 
-            System.out.println("Schema creation complete successfully!");
+    private static void ensureMigrationTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_migrations (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(255) NOT NULL,
+                    duration_ms BIGINT NOT NULL,
+                    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+        }
+    }
+
+    private static Set<Integer> appliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM schema_migrations")) {
+            while (rs.next()) versions.add(rs.getInt(1));
+        }
+        return versions;
+    }
+
+    private static void record(Connection conn, Migration m, long elapsedMs) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO schema_migrations (version, description, duration_ms) VALUES (?, ?, ?)")) {
+            stmt.setInt(1, m.version);
+            stmt.setString(2, m.description);
+            stmt.setLong(3, elapsedMs);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static boolean acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SEC);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
 
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
         } catch (SQLException e) {
-            System.err.println("Database error: " + e.getMessage());
-            e.printStackTrace();
+            System.err.println("⚠️ Schema: failed to release migration lock: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
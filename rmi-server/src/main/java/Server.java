@@ -1,6 +1,9 @@
 import org.example.shared.VotingService;
+
+import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
 
 public class Server {
     public static void main(String[] args) {
@@ -8,13 +11,49 @@ public class Server {
             // Allow overriding RMI hostname for external clients
             String rmiHost = System.getenv().getOrDefault("RMI_HOST", System.getProperty("rmi.host","0.0.0.0"));
             System.setProperty("java.rmi.server.hostname", rmiHost);
-            VotingService service = new VotingServiceImpl();
-            Registry registry = LocateRegistry.createRegistry(1099); // Default RMI port
-            registry.rebind("VotingService", service);
-            System.out.println("✅ RMI Server is running on host: " + System.getProperty("java.rmi.server.hostname"));
+            // Several nodes can run side by side (each with its own rmi.port and, optionally, db.url);
+            // the API bridge routes events between them
+            int port = ServerConfig.getInt("rmi.port", 1099);
+            String serviceName = ServerConfig.get("rmi.serviceName", "VotingService");
+            VotingServiceImpl service = startService();
+            VotingService stub = (VotingService) UnicastRemoteObject.exportObject(instrumented(service), 0);
+            Registry registry = LocateRegistry.createRegistry(port);
+            registry.rebind(serviceName, stub);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> stopService(service)));
+            System.out.println("✅ RMI Server is running on host: " + System.getProperty("java.rmi.server.hostname")
+                    + " port: " + port + " as " + serviceName);
         } catch (Exception e) {
             System.err.println("RMI Server exception: " + e.toString());
             e.printStackTrace();
         }
     }
-}
\ No newline at end of file
+
+    /** Opens the configured storage engine and creates the service; shared with InProcessService. */
+    static VotingServiceImpl startService() throws Exception {
+        // Photo processing uses java.awt imaging; the server never has a display
+        System.setProperty("java.awt.headless", "true");
+        VoteStore store = VoteStore.open();
+        VotingServiceImpl service;
+        try {
+            service = new VotingServiceImpl(store);
+        } catch (RemoteException | RuntimeException e) {
+            // The service could not load its state; do not leave the pool or snapshot open
+            store.close();
+            throw e;
+        }
+        MetricsServer.start();
+        return service;
+    }
+
+    /** service with every call timed as voting_service_method, labelled with the method name. */
+    static VotingService instrumented(VotingServiceImpl service) {
+        return Metrics.getShared().instrument(VotingService.class, service, "voting_service_method",
+                "VotingService calls handled by this node", "method");
+    }
+
+    // Also closes the storage engine (connection pool or final snapshot)
+    static void stopService(VotingServiceImpl service) {
+        MetricsServer.stop();
+        service.shutdown();
+    }
+}
@@ -0,0 +1,58 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Central access to the rmi-server settings in db.properties.
+ * Any key can be overridden with a JVM system property of the same name (e.g. -Ddb.url=...).
+ */
+public final class ServerConfig {
+    private static final Properties PROPS = load();
+
+    private ServerConfig() {
+    }
+
+    private static Properties load() {
+        Properties props = new Properties();
+        try (InputStream in = ServerConfig.class.getResourceAsStream("/db.properties")) {
+            if (in != null) {
+                props.load(in);
+            } else {
+                System.err.println("⚠️ Config: db.properties not found on classpath, using defaults");
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Config: failed to read db.properties: " + e.getMessage());
+        }
+        return props;
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = PROPS.getProperty(key);
+        }
+        return (value == null || value.isBlank()) ? defaultValue : value.trim();
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Config: invalid integer for " + key + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(get(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            System.err.println("⚠️ Config: invalid number for " + key + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(get(key, String.valueOf(defaultValue)));
+    }
+}
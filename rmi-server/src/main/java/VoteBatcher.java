@@ -0,0 +1,270 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Group-commit stage in front of the votes table.
+ * Concurrent castVote calls are queued and written by a small set of writer threads in
+ * micro-batches (one multi-row INSERT per batch). Every caller blocks until the batch
+ * holding its vote has committed and then receives its own VoteOutcome.
+ */
+public class VoteBatcher {
+    private final VoteStore dbController;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long ackTimeoutMs;
+    private final BlockingQueue<PendingVote> queue;
+    private final int writerCount;
+    private final long statsIntervalSec;
+    private final List<Thread> writers = new ArrayList<>();
+    private ScheduledExecutorService statsReporter;
+    private volatile boolean running = true;
+    private volatile Consumer<VoteRecord> commitListener = v -> { };
+
+    // Stats
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedVotes = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+    private final AtomicLong maxBatch = new AtomicLong();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+
+    private static final class PendingVote {
+        final VoteRecord vote;
+        final CompletableFuture<VoteOutcome> result = new CompletableFuture<>();
+
+        PendingVote(VoteRecord vote) {
+            this.vote = vote;
+        }
+    }
+
+    public VoteBatcher(VoteStore dbController) {
+        this(dbController,
+                ServerConfig.getInt("vote.batch.maxSize", 256),
+                ServerConfig.getLong("vote.batch.lingerMs", 2),
+                ServerConfig.getInt("vote.batch.writers", 2),
+                ServerConfig.getLong("vote.batch.ackTimeoutMs", 10_000));
+    }
+
+    public VoteBatcher(VoteStore dbController, int maxBatchSize, long lingerMs, int writerCount, long ackTimeoutMs) {
+        if (maxBatchSize < 1 || writerCount < 1) {
+            throw new IllegalArgumentException("Batch size and writer count must be positive");
+        }
+        this.dbController = dbController;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMs));
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1024, maxBatchSize * writerCount * 16));
+        this.writerCount = writerCount;
+        this.statsIntervalSec = ServerConfig.getLong("vote.batch.statsIntervalSec", 60);
+    }
+
+    /** Starts the writer threads (and the stats reporter); set the commit listener first. */
+    public synchronized void start() {
+        if (!writers.isEmpty()) return;
+        for (int i = 0; i < writerCount; i++) {
+            Thread t = new Thread(this::writeLoop, "vote-batcher-" + i);
+            t.setDaemon(true);
+            t.start();
+            writers.add(t);
+        }
+        if (statsIntervalSec > 0) {
+            statsReporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "vote-batcher-stats");
+                t.setDaemon(true);
+                return t;
+            });
+            statsReporter.scheduleAtFixedRate(() -> {
+                if (batches.sum() > 0) System.out.println("📊 Vote batcher: " + stats());
+            }, statsIntervalSec, statsIntervalSec, TimeUnit.SECONDS);
+        }
+        System.out.println("✅ Vote batcher started: maxBatch=" + maxBatchSize + " linger="
+                + TimeUnit.NANOSECONDS.toMillis(lingerNanos) + "ms writers=" + writerCount);
+    }
+
+    /** Invoked on the writer thread for every stored vote, after commit and before the caller is released. */
+    public void setCommitListener(Consumer<VoteRecord> listener) {
+        this.commitListener = listener;
+    }
+
+    /** Queues a vote for the next batch; the future completes once that batch has committed. */
+    public CompletableFuture<VoteOutcome> submit(VoteRecord vote) {
+        return enqueue(vote).result;
+    }
+
+    // A vote that could not be queued completes exceptionally at once and is never written
+    private PendingVote enqueue(VoteRecord vote) {
+        PendingVote pending = new PendingVote(vote);
+        if (!running) {
+            pending.result.completeExceptionally(new IllegalStateException("Vote batcher is shut down"));
+            return pending;
+        }
+        try {
+            if (!queue.offer(pending, ackTimeoutMs, TimeUnit.MILLISECONDS)) {
+                pending.result.completeExceptionally(new TimeoutException("Vote queue is full"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.result.completeExceptionally(e);
+        }
+        return pending;
+    }
+
+    /**
+     * Blocking form used by the RMI layer: returns the vote's outcome once its batch has
+     * committed. Any exception other than VoteNotConfirmedException means the vote was not
+     * stored. VoteNotConfirmedException means a writer already holds the vote, so it may still be.
+     */
+    public VoteOutcome castVote(VoteRecord vote) throws Exception {
+        PendingVote pending = enqueue(vote);
+        try {
+            return pending.result.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+            // Still queued: take it back so the caller knows for certain it was not stored
+            if (queue.remove(pending)) throw e;
+            if (pending.result.isDone()) {
+                try {
+                    return pending.result.getNow(null);
+                } catch (CompletionException c) {
+                    throw failure(c);
+                }
+            }
+            throw new VoteNotConfirmedException("Vote not confirmed within " + ackTimeoutMs + "ms", pending.result);
+        }
+    }
+
+    private static Exception failure(Exception wrapped) {
+        Throwable cause = wrapped.getCause();
+        return cause instanceof Exception ? (Exception) cause : wrapped;
+    }
+
+    private void writeLoop() {
+        List<PendingVote> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingVote first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                // Linger briefly so callers arriving right behind us share the commit
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    PendingVote next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingVote> batch) {
+        List<VoteRecord> votes = new ArrayList<>(batch.size());
+        for (PendingVote p : batch) votes.add(p.vote);
+        long start = System.nanoTime();
+        try {
+            VoteOutcome[] outcomes = dbController.insertVotes(votes);
+            recordCommit(batch.size(), System.nanoTime() - start);
+            for (int i = 0; i < batch.size(); i++) {
+                if (outcomes[i] == VoteOutcome.STORED) notifyCommitted(votes.get(i));
+                batch.get(i).result.complete(outcomes[i]);
+            }
+        } catch (Exception e) {
+            failedBatches.increment();
+            System.err.println("❌ Vote batcher: batch of " + batch.size() + " failed: " + e.getMessage());
+            for (PendingVote p : batch) p.result.completeExceptionally(e);
+        }
+    }
+
+    private void notifyCommitted(VoteRecord vote) {
+        try {
+            commitListener.accept(vote);
+        } catch (RuntimeException e) {
+            System.err.println("❌ Vote batcher: commit listener failed for " + vote + ": " + e.getMessage());
+        }
+    }
+
+    private void recordCommit(int size, long nanos) {
+        batches.increment();
+        batchedVotes.add(size);
+        commitNanos.add(nanos);
+        maxBatch.accumulateAndGet(size, Math::max);
+        maxCommitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public synchronized void shutdown() {
+        running = false;
+        for (Thread t : writers) {
+            try {
+                t.join(ackTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (statsReporter != null) statsReporter.shutdownNow();
+    }
+
+    // ---- Stats ----
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getBatchedVoteCount() {
+        return batchedVotes.sum();
+    }
+
+    public long getFailedBatchCount() {
+        return failedBatches.sum();
+    }
+
+    public double getAverageBatchSize() {
+        long n = batches.sum();
+        return n == 0 ? 0.0 : (double) batchedVotes.sum() / n;
+    }
+
+    public long getMaxBatchSize() {
+        return maxBatch.get();
+    }
+
+    public double getAverageCommitMillis() {
+        long n = batches.sum();
+        return n == 0 ? 0.0 : commitNanos.sum() / (n * 1_000_000.0);
+    }
+
+    public double getMaxCommitMillis() {
+        return maxCommitNanos.get() / 1_000_000.0;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public String stats() {
+        return String.format("batches=%d votes=%d avgBatch=%.1f maxBatch=%d avgCommit=%.2fms maxCommit=%.2fms failed=%d queued=%d",
+                getBatchCount(), getBatchedVoteCount(), getAverageBatchSize(), getMaxBatchSize(),
+                getAverageCommitMillis(), getMaxCommitMillis(), getFailedBatchCount(), getQueueDepth());
+    }
+}
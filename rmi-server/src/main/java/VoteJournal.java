@@ -0,0 +1,623 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only journal in front of the votes table (journal.enabled=true).
+ * Accepted votes are appended to a memory-mapped segment file and the caller is released once a
+ * sync thread has forced the segment to disk; votes arriving together share one fsync. A flusher
+ * thread then copies journaled votes into the votes table in batches and records the last flushed
+ * sequence number in a checkpoint file. On startup every journaled vote after the checkpoint is
+ * queued again; inserting one the database already holds just reports a duplicate. Segments are
+ * rotated when full and deleted once all of their votes are flushed.
+ *
+ * Record layout: int payload length, int CRC32 of sequence + payload, long sequence, payload
+ * (user id, event id, candidate id as length-prefixed UTF-8). A zero length marks the end of the
+ * written part of a segment; a bad length or checksum marks a torn write and ends the segment.
+ */
+public class VoteJournal {
+    private static final int HEADER = 16;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path dir;
+    private final VoteStore dbController;
+    private final int segmentBytes;
+    private final long syncLingerNanos;
+    private final int flushBatchSize;
+    private final long checkpointIntervalMs;
+    private final long ackTimeoutMs;
+    private final long statsIntervalSec;
+    private ScheduledExecutorService statsReporter;
+
+    // Guarded by lock: the active segment, sequence numbers and votes awaiting fsync. A lock rather
+    // than synchronized, so appenders parked on a virtual thread do not pin their carrier.
+    private final ReentrantLock lock = new ReentrantLock();
+    // Signalled when there is something to sync or the journal stops
+    private final Condition unsyncedAdded = lock.newCondition();
+    // Signalled when syncedSeq moves, the sync fails or the journal stops
+    private final Condition syncedMoved = lock.newCondition();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private Segment active;
+    private long appendedSeq;
+    private long syncedSeq;
+    private List<Entry> unsynced = new ArrayList<>();
+    private IOException syncFailure;
+
+    private final BlockingQueue<Entry> flushQueue = new LinkedBlockingQueue<>();
+    private final AtomicLong flushedSeq = new AtomicLong();
+    // Append time of the first vote in the batch being written, 0 when the flusher is idle
+    private volatile long flushingSince;
+    private volatile long checkpointedSeq;
+    private long lastCheckpointAt;
+    private volatile boolean running = true;
+    private Thread syncer;
+    private Thread flusher;
+    private volatile Consumer<VoteRecord> commitListener = v -> { };
+    private volatile Consumer<VoteRecord> rejectListener = v -> { };
+
+    // Stats
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder syncNanos = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+
+    private static final class Segment {
+        final Path path;
+        final long firstSeq;
+        FileChannel channel;
+        MappedByteBuffer buffer;
+
+        Segment(Path path, long firstSeq) {
+            this.path = path;
+            this.firstSeq = firstSeq;
+        }
+    }
+
+    private static final class Entry {
+        final long seq;
+        final VoteRecord vote;
+        final long appendedAt;
+
+        Entry(long seq, VoteRecord vote, long appendedAt) {
+            this.seq = seq;
+            this.vote = vote;
+            this.appendedAt = appendedAt;
+        }
+    }
+
+    public VoteJournal(VoteStore dbController) {
+        this(dbController, Paths.get(ServerConfig.get("journal.dir", "vote-journal")),
+                (int) Math.min(Integer.MAX_VALUE, ServerConfig.getLong("journal.segmentMb", 64) << 20),
+                ServerConfig.getLong("journal.syncLingerMs", 1),
+                ServerConfig.getInt("journal.flushBatchSize", 1000),
+                ServerConfig.getLong("journal.checkpointIntervalMs", 1000),
+                ServerConfig.getLong("vote.batch.ackTimeoutMs", 10_000));
+    }
+
+    public VoteJournal(VoteStore dbController, Path dir, int segmentBytes, long syncLingerMs, int flushBatchSize,
+                       long checkpointIntervalMs, long ackTimeoutMs) {
+        if (segmentBytes < 4096 || flushBatchSize < 1) {
+            throw new IllegalArgumentException("Journal segments must be at least 4 KB and flush batches positive");
+        }
+        this.dir = dir;
+        this.dbController = dbController;
+        this.segmentBytes = segmentBytes;
+        this.syncLingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, syncLingerMs));
+        this.flushBatchSize = flushBatchSize;
+        this.checkpointIntervalMs = checkpointIntervalMs;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.statsIntervalSec = ServerConfig.getLong("journal.statsIntervalSec", 60);
+    }
+
+    /** Invoked on the flusher thread for every vote the database stored. */
+    public void setCommitListener(Consumer<VoteRecord> listener) {
+        this.commitListener = listener;
+    }
+
+    /** Invoked on the flusher thread for every vote the database refused (unknown user or candidate). */
+    public void setRejectListener(Consumer<VoteRecord> listener) {
+        this.rejectListener = listener;
+    }
+
+    /**
+     * Reads the journal left by the previous run and returns the votes that may not have reached
+     * the database yet, in journal order. They are flushed once start() is called; the caller
+     * should mark their voters as having voted first.
+     */
+    public List<VoteRecord> recover() throws IOException {
+        lock.lock();
+        try {
+            return recoverLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<VoteRecord> recoverLocked() throws IOException {
+        Files.createDirectories(dir);
+        long checkpoint = readCheckpoint();
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path p : stream) files.add(p);
+        }
+        // Names carry the zero-padded first sequence number, so name order is journal order
+        Collections.sort(files);
+        List<VoteRecord> pending = new ArrayList<>();
+        long lastSeq = checkpoint;
+        long now = System.currentTimeMillis();
+        for (Path file : files) {
+            List<Entry> entries = readSegment(file);
+            boolean hasPending = false;
+            for (Entry e : entries) {
+                lastSeq = Math.max(lastSeq, e.seq);
+                if (e.seq > checkpoint) {
+                    flushQueue.add(new Entry(e.seq, e.vote, now));
+                    pending.add(e.vote);
+                    hasPending = true;
+                }
+            }
+            if (hasPending) {
+                segments.add(new Segment(file, entries.get(0).seq));
+            } else {
+                Files.deleteIfExists(file);
+            }
+        }
+        appendedSeq = lastSeq;
+        syncedSeq = lastSeq;
+        flushedSeq.set(checkpoint);
+        checkpointedSeq = checkpoint;
+        // Never append behind a possibly torn tail: new votes always go to a fresh segment
+        active = openSegment(lastSeq + 1);
+        System.out.println("✅ Vote journal: " + dir.toAbsolutePath() + ", " + pending.size()
+                + " vote(s) to replay after sequence " + checkpoint);
+        return pending;
+    }
+
+    /** Starts the sync, flush and stats threads; call after recover(). Does nothing if already started. */
+    public void start() {
+        lock.lock();
+        try {
+            if (syncer != null) return;
+            syncer = new Thread(this::syncLoop, "vote-journal-sync");
+            syncer.setDaemon(true);
+            syncer.start();
+            flusher = new Thread(this::flushLoop, "vote-journal-flush");
+            flusher.setDaemon(true);
+            flusher.start();
+            if (statsIntervalSec > 0) {
+                statsReporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "vote-journal-stats");
+                    t.setDaemon(true);
+                    return t;
+                });
+                statsReporter.scheduleAtFixedRate(() -> {
+                    if (appended.sum() > 0) System.out.println("📊 Vote journal: " + stats());
+                }, statsIntervalSec, statsIntervalSec, TimeUnit.SECONDS);
+            }
+            System.out.println("✅ Vote journal started: segment=" + (segmentBytes >> 20) + "MB flushBatch=" + flushBatchSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends a vote and returns once it is on disk. The vote reaches the votes table later; a
+     * vote the database refuses is reported to the reject listener. An IOException means the vote
+     * was not written; VoteNotConfirmedException means it was written but not confirmed synced in
+     * time, so it may still be stored or replayed on restart.
+     */
+    public void append(VoteRecord vote) throws IOException, VoteNotConfirmedException {
+        byte[] payload = encode(vote);
+        if (HEADER + payload.length >= segmentBytes) throw new IllegalArgumentException("Vote too large for journal");
+        long seq;
+        lock.lock();
+        try {
+            if (!running) throw new IllegalStateException("Vote journal is shut down");
+            if (syncFailure != null) throw syncFailure;
+            if (active.buffer.remaining() < HEADER + payload.length + 4) rotate();
+            seq = ++appendedSeq;
+            write(active.buffer, seq, payload);
+            unsynced.add(new Entry(seq, vote, System.currentTimeMillis()));
+            unsyncedAdded.signal();
+        } finally {
+            lock.unlock();
+        }
+        appended.increment();
+        try {
+            awaitSynced(seq);
+        } catch (IOException | TimeoutException e) {
+            throw notConfirmed(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw notConfirmed(e);
+        }
+    }
+
+    private static VoteNotConfirmedException notConfirmed(Exception cause) {
+        VoteNotConfirmedException e = new VoteNotConfirmedException("Journaled vote not confirmed synced: "
+                + cause.getMessage(), null);
+        e.initCause(cause);
+        return e;
+    }
+
+    private void awaitSynced(long seq) throws IOException, InterruptedException, TimeoutException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(ackTimeoutMs);
+        lock.lock();
+        try {
+            while (syncedSeq < seq) {
+                if (syncFailure != null) throw syncFailure;
+                if (remaining <= 0) throw new TimeoutException("Vote journal sync timed out");
+                remaining = syncedMoved.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---- Sync thread: one fsync for everything appended since the last one ----
+
+    private void syncLoop() {
+        while (true) {
+            try {
+                lock.lock();
+                try {
+                    while (unsynced.isEmpty() && running) unsyncedAdded.await(100, TimeUnit.MILLISECONDS);
+                    if (unsynced.isEmpty()) return;
+                } finally {
+                    lock.unlock();
+                }
+                // Linger briefly so votes arriving right behind share the fsync
+                if (syncLingerNanos > 0) LockSupport.parkNanos(syncLingerNanos);
+                List<Entry> batch;
+                MappedByteBuffer buffer;
+                long target;
+                lock.lock();
+                try {
+                    batch = unsynced;
+                    unsynced = new ArrayList<>();
+                    buffer = active.buffer;
+                    target = appendedSeq;
+                } finally {
+                    lock.unlock();
+                }
+                long start = System.nanoTime();
+                // Earlier segments were forced when they were rotated out
+                buffer.force();
+                syncs.increment();
+                syncNanos.add(System.nanoTime() - start);
+                flushQueue.addAll(batch);
+                lock.lock();
+                try {
+                    syncedSeq = target;
+                    syncedMoved.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // force() reports I/O errors as unchecked; acknowledged votes would no longer be durable
+                System.err.println("❌ Vote journal: fsync failed, refusing further votes: " + e.getMessage());
+                lock.lock();
+                try {
+                    syncFailure = new IOException("Vote journal fsync failed", e);
+                    syncedMoved.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    // Called with the lock held
+    private void rotate() throws IOException {
+        Segment full = active;
+        full.buffer.force();
+        full.channel.close();
+        full.buffer = null;
+        active = openSegment(appendedSeq + 1);
+        System.out.println("🔁 Vote journal: rotated to " + active.path.getFileName());
+    }
+
+    private Segment openSegment(long firstSeq) throws IOException {
+        Segment segment = new Segment(dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX)),
+                firstSeq);
+        segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        segment.buffer = segment.channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segments.add(segment);
+        return segment;
+    }
+
+    // ---- Flusher thread: journal -> votes table ----
+
+    private void flushLoop() {
+        List<Entry> batch = new ArrayList<>(flushBatchSize);
+        long backoffMs = 100;
+        while (running || !flushQueue.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Entry first = flushQueue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        maybeCheckpoint();
+                        continue;
+                    }
+                    batch.add(first);
+                    flushQueue.drainTo(batch, flushBatchSize - 1);
+                    flushingSince = first.appendedAt;
+                }
+                List<VoteRecord> votes = new ArrayList<>(batch.size());
+                for (Entry e : batch) votes.add(e.vote);
+                VoteOutcome[] outcomes;
+                try {
+                    outcomes = dbController.insertVotes(votes);
+                } catch (Exception e) {
+                    // Keep the batch and retry; the journal holds the votes meanwhile
+                    flushFailures.increment();
+                    System.err.println("❌ Vote journal: flush of " + batch.size() + " vote(s) failed, retrying in "
+                            + backoffMs + "ms: " + e.getMessage());
+                    if (!running) break;
+                    Thread.sleep(backoffMs);
+                    backoffMs = Math.min(backoffMs * 2, 5000);
+                    continue;
+                }
+                backoffMs = 100;
+                for (int i = 0; i < outcomes.length; i++) {
+                    if (outcomes[i] == VoteOutcome.STORED) {
+                        notify(commitListener, votes.get(i));
+                    } else if (outcomes[i] == VoteOutcome.REJECTED) {
+                        rejected.increment();
+                        System.err.println("❌ Vote journal: database rejected " + votes.get(i));
+                        notify(rejectListener, votes.get(i));
+                    }
+                    // DUPLICATE: already in the database, e.g. replayed after a crash before the checkpoint
+                }
+                flushed.add(batch.size());
+                flushedSeq.set(batch.get(batch.size() - 1).seq);
+                flushingSince = 0;
+                batch.clear();
+                maybeCheckpoint();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        maybeCheckpoint();
+    }
+
+    private void notify(Consumer<VoteRecord> listener, VoteRecord vote) {
+        try {
+            listener.accept(vote);
+        } catch (RuntimeException e) {
+            System.err.println("❌ Vote journal: listener failed for " + vote + ": " + e.getMessage());
+        }
+    }
+
+    // Persists the flushed position and deletes segments that hold nothing newer
+    private void maybeCheckpoint() {
+        long flushedTo = flushedSeq.get();
+        long now = System.currentTimeMillis();
+        if (flushedTo == checkpointedSeq || running && now - lastCheckpointAt < checkpointIntervalMs) return;
+        try {
+            writeCheckpoint(flushedTo);
+            checkpointedSeq = flushedTo;
+            lastCheckpointAt = now;
+            trimSegments(flushedTo);
+        } catch (IOException e) {
+            System.err.println("⚠️ Vote journal: checkpoint failed: " + e.getMessage());
+        }
+    }
+
+    private void trimSegments(long flushedTo) throws IOException {
+        List<Path> deletable = new ArrayList<>();
+        lock.lock();
+        try {
+            // A segment is done once everything before the next segment's first vote is flushed;
+            // the active segment has no next one and is never deleted
+            Iterator<Segment> it = segments.iterator();
+            Segment current = it.next();
+            while (it.hasNext()) {
+                Segment next = it.next();
+                if (next.firstSeq - 1 > flushedTo) break;
+                deletable.add(current.path);
+                current = next;
+            }
+            for (int i = 0; i < deletable.size(); i++) segments.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+        for (Path p : deletable) Files.deleteIfExists(p);
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = dir.resolve("checkpoint");
+        if (!Files.exists(file)) return 0;
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buf.remaining() != 12) throw new IOException("Corrupt journal checkpoint " + file);
+        long seq = buf.getLong();
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, 8);
+        if ((int) crc.getValue() != buf.getInt()) throw new IOException("Corrupt journal checkpoint " + file);
+        return seq;
+    }
+
+    private void writeCheckpoint(long seq) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(12).putLong(seq);
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 0, 8);
+        buf.putInt((int) crc.getValue()).flip();
+        Path tmp = dir.resolve("checkpoint.tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(tmp, dir.resolve("checkpoint"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ---- Record encoding ----
+
+    private static byte[] encode(VoteRecord vote) {
+        byte[] user = vote.getUserId().getBytes(StandardCharsets.UTF_8);
+        byte[] event = vote.getEventId().getBytes(StandardCharsets.UTF_8);
+        byte[] candidate = vote.getCandidateId().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buf = ByteBuffer.allocate(6 + user.length + event.length + candidate.length);
+        buf.putShort((short) user.length).put(user);
+        buf.putShort((short) event.length).put(event);
+        buf.putShort((short) candidate.length).put(candidate);
+        return buf.array();
+    }
+
+    private static void write(ByteBuffer buffer, long seq, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(0, seq));
+        crc.update(payload);
+        int start = buffer.position();
+        // Length last: a record whose length is still zero is simply not there yet
+        buffer.position(start + 4);
+        buffer.putInt((int) crc.getValue()).putLong(seq).put(payload);
+        buffer.putInt(start, payload.length);
+    }
+
+    private List<Entry> readSegment(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            CRC32 crc = new CRC32();
+            while (buf.remaining() >= HEADER) {
+                int start = buf.position();
+                int length = buf.getInt();
+                if (length == 0) break;
+                if (length < 0 || length > buf.remaining() - HEADER + 4) {
+                    System.err.println("⚠️ Vote journal: torn record in " + file.getFileName() + " at " + start);
+                    break;
+                }
+                int checksum = buf.getInt();
+                long seq = buf.getLong();
+                byte[] payload = new byte[length];
+                buf.get(payload);
+                crc.reset();
+                crc.update(ByteBuffer.allocate(8).putLong(0, seq));
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    System.err.println("⚠️ Vote journal: checksum mismatch in " + file.getFileName() + " at " + start);
+                    break;
+                }
+                ByteBuffer p = ByteBuffer.wrap(payload);
+                entries.add(new Entry(seq, new VoteRecord(readString(p), readString(p), readString(p)), 0));
+            }
+        }
+        return entries;
+    }
+
+    private static String readString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Flushes what is left (within the ack timeout) and stops; anything unflushed is replayed on the next start. */
+    public void shutdown() {
+        lock.lock();
+        try {
+            running = false;
+            unsyncedAdded.signalAll();
+            syncedMoved.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Thread t : new Thread[] {syncer, flusher}) {
+            if (t == null) continue;
+            try {
+                t.join(ackTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lock.lock();
+        try {
+            if (active != null && active.channel != null) active.channel.close();
+        } catch (IOException e) {
+            System.err.println("⚠️ Vote journal: failed to close " + active.path.getFileName() + ": " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+        if (statsReporter != null) statsReporter.shutdownNow();
+        System.out.println("📊 Vote journal at shutdown: " + stats());
+    }
+
+    // ---- Stats ----
+
+    /** Votes on disk but not yet in the votes table. */
+    public long getPendingCount() {
+        lock.lock();
+        try {
+            return syncedSeq - flushedSeq.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Age of the oldest vote not yet in the votes table, 0 when there is none. */
+    public long getFlushLagMs() {
+        long oldest = flushingSince;
+        if (oldest == 0) {
+            Entry next = flushQueue.peek();
+            if (next == null) return 0;
+            oldest = next.appendedAt;
+        }
+        return Math.max(0, System.currentTimeMillis() - oldest);
+    }
+
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getAverageSyncMillis() {
+        long n = syncs.sum();
+        return n == 0 ? 0.0 : syncNanos.sum() / (n * 1_000_000.0);
+    }
+
+    public String stats() {
+        return String.format("appended=%d flushed=%d rejected=%d pending=%d lag=%dms syncs=%d avgSync=%.2fms segments=%d flushFailures=%d",
+                appended.sum(), flushed.sum(), rejected.sum(), getPendingCount(), getFlushLagMs(), syncs.sum(),
+                getAverageSyncMillis(), getSegmentCount(), flushFailures.sum());
+    }
+}
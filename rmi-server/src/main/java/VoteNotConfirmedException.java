@@ -0,0 +1,21 @@
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A vote was handed to the writer but its outcome was not confirmed in time. It may still be
+ * stored, so the voter keeps their claim and must check the vote status before voting again.
+ */
+public class VoteNotConfirmedException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final transient CompletableFuture<VoteOutcome> outcome;
+
+    public VoteNotConfirmedException(String message, CompletableFuture<VoteOutcome> outcome) {
+        super(message);
+        this.outcome = outcome;
+    }
+
+    /** Completes when the writer is done with the vote; null if the writer reports nothing back. */
+    public CompletableFuture<VoteOutcome> getOutcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,10 @@
+/**
+ * Result of trying to store one vote.
+ */
+public enum VoteOutcome {
+    STORED,
+    // The voter already has a vote in this event
+    DUPLICATE,
+    // The row violates another constraint, e.g. unknown candidate or user
+    REJECTED
+}
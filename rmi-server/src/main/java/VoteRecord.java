@@ -0,0 +1,36 @@
+/**
+ * A single ballot on its way to the votes table.
+ */
+public final class VoteRecord {
+    private final String userId;
+    private final String eventId;
+    private final String candidateId;
+
+    public VoteRecord(String userId, String eventId, String candidateId) {
+        this.userId = userId;
+        this.eventId = eventId;
+        this.candidateId = candidateId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getCandidateId() {
+        return candidateId;
+    }
+
+    // Votes are unique per (user, event); used for de-duplicating within a batch
+    public String voterKey() {
+        return eventId + '\u0000' + userId;
+    }
+
+    @Override
+    public String toString() {
+        return "VoteRecord{user=" + userId + ", event=" + eventId + ", candidate=" + candidateId + "}";
+    }
+}
@@ -0,0 +1,136 @@
+import org.example.shared.BallotImportProgress;
+import org.example.shared.VoterAccount;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Storage behind the voting service: events, voter accounts, candidates, votes and ballot import
+ * checkpoints. DBController keeps them in MySQL; InMemoryVoteStore keeps them in this process,
+ * optionally snapshotted to a file. storage.engine picks one when the server starts.
+ * Implementations report failures the way DBController always has: lookups return null, false or
+ * an empty result, and the bulk write paths throw SQLException. Account paging throws too, since an
+ * empty page would read as the end of an export.
+ */
+public interface VoteStore {
+    String METRIC = "voting_store_operation";
+    String METRIC_HELP = "Storage engine calls (database queries on the mysql engine)";
+
+    /**
+     * The engine configured by storage.engine (mysql or memory), ready to use. Every call is timed
+     * as voting_store_operation, labelled with the method name.
+     */
+    static VoteStore open() throws SQLException, IOException {
+        return Metrics.getShared().instrument(VoteStore.class, openEngine(), METRIC, METRIC_HELP, "operation");
+    }
+
+    /**
+     * Counts a failure the engine handled itself, by returning null, false or an empty result, as
+     * an error of operation. Failures that are thrown are counted by the timing wrapper.
+     */
+    static void recordError(String operation) {
+        Metrics metrics = Metrics.getShared();
+        if (metrics.isEnabled()) metrics.timer(METRIC, METRIC_HELP, "operation", operation).recordError();
+    }
+
+    private static VoteStore openEngine() throws SQLException, IOException {
+        String engine = ServerConfig.get("storage.engine", "mysql").trim();
+        if ("memory".equalsIgnoreCase(engine)) {
+            return InMemoryVoteStore.open();
+        }
+        if (!"mysql".equalsIgnoreCase(engine)) {
+            throw new IllegalArgumentException("storage.engine must be mysql or memory, got: " + engine);
+        }
+        if (ServerConfig.getBoolean("schema.migrateOnStartup", true)) {
+            SchemaCreator.migrate(ConnectionPool.getShared());
+        }
+        return new DBController();
+    }
+
+    String encryptPassword(String password) throws Exception;
+
+    String decryptPassword(String encrypted) throws Exception;
+
+    // ---- Accounts ----
+
+    boolean validateUser(String userId, String password);
+
+    /** userId, eventId, eventName and eventPassword of the account, or null if the credentials do not match. */
+    Map<String, String> getUserInfo(String username, String password);
+
+    boolean registerUser(String userId, String password, String username, String eventID);
+
+    /**
+     * Stores generated accounts (passwords already encrypted) all or nothing. Returns false, with
+     * nothing stored, if an id or username collided with an existing account.
+     */
+    boolean insertUsers(String eventId, List<AccountProvisioner.Account> accounts) throws SQLException;
+
+    List<VoterAccount> getUserAccounts(String eventId);
+
+    /** Up to limit + 1 accounts ordered by id, starting after afterUserId (null for the first page). */
+    List<VoterAccount> getUserAccountsPage(String eventId, String afterUserId, int limit) throws SQLException;
+
+    Set<String> getUserIds(String eventId) throws SQLException;
+
+    /** True if the account exists and belongs to the event. */
+    boolean isEventUser(String userId, String eventId) throws SQLException;
+
+    // ---- Events and candidates ----
+
+    boolean createEvent(String eventName, String eventId, String password);
+
+    /** Removes an event with its accounts, candidates, votes and imports. */
+    boolean deleteEvent(String eventId);
+
+    String getEventPassword(String eventId);
+
+    long countEvents();
+
+    /** The new candidate's id, or null on failure. */
+    String addCandidate(String eventId, String candidateName, PhotoProcessor.ProcessedPhoto photo);
+
+    boolean updateCandidate(String eventId, String candidateId, String newName, PhotoProcessor.ProcessedPhoto newPhoto);
+
+    /** Removes a candidate and the votes cast for it. */
+    boolean deleteCandidate(String eventId, String candidateId);
+
+    /** id, name and votes of every candidate of an event. */
+    List<Map<String, String>> getCandidates(String eventId);
+
+    /**
+     * eventId, id, name and votes of every candidate of every event. Throws rather than returning
+     * a partial list, which would start the live tally with wrong counts.
+     */
+    List<Map<String, String>> getAllCandidateTallies() throws SQLException;
+
+    /** One rendition of a candidate's photo, falling back to the original; null if there is none. */
+    byte[] getCandidatePhoto(String eventId, String candidateId, PhotoVariant variant);
+
+    Map<String, byte[]> getCandidatePhotos(String eventId, PhotoVariant variant);
+
+    // ---- Votes ----
+
+    /**
+     * Stores a batch of votes and returns one outcome per vote: the first ballot per voter and
+     * event wins, and votes naming an unknown user, candidate or event are rejected. Throws only
+     * when none of the votes was stored.
+     */
+    VoteOutcome[] insertVotes(List<VoteRecord> votes) throws SQLException;
+
+    /** Every (userId, eventId) pair that has a vote. Throws if the rows could not all be read. */
+    void forEachVoter(BiConsumer<String, String> consumer) throws SQLException;
+
+    // ---- Ballot imports ----
+
+    BallotImportProgress getBallotImport(String importId) throws SQLException;
+
+    void saveBallotImport(BallotImportProgress progress) throws SQLException;
+
+    /** Releases connections or writes the final snapshot. */
+    void close();
+}
@@ -0,0 +1,75 @@
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-event set of user ids that have voted, so vote-status checks and repeat-voter
+ * rejection never need the database. Loaded once at startup from the votes table.
+ * castVote claims the voter here before queuing the ballot, which makes the check-and-set
+ * atomic across RMI threads; the votes table's (user_id, event_id) key remains the final guard.
+ */
+public class VoterIndex {
+    private final Map<String, Voters> votersByEvent = new ConcurrentHashMap<>();
+
+    // One event's voters. claims counts the members plus claims in progress; an event left with
+    // none is retired (claims set negative) and dropped, and claims that find it retired retry
+    private static final class Voters {
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final AtomicInteger claims = new AtomicInteger();
+    }
+
+    /** Fills the index from the votes table; a failed read must stop startup, not leave it partial. */
+    public void loadFromDatabase(VoteStore dbController) throws SQLException {
+        long start = System.currentTimeMillis();
+        AtomicLong count = new AtomicLong();
+        dbController.forEachVoter((userId, eventId) -> {
+            claim(userId, eventId);
+            count.incrementAndGet();
+        });
+        System.out.println("✅ Voter index: loaded " + count.get() + " voter(s) across " + votersByEvent.size()
+                + " event(s) in " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    public boolean hasVoted(String userId, String eventId) {
+        Voters voters = votersByEvent.get(eventId);
+        return voters != null && voters.ids.contains(userId);
+    }
+
+    /** Marks the voter as having voted; false if they already had. Callers check the event exists. */
+    public boolean claim(String userId, String eventId) {
+        while (true) {
+            Voters voters = votersByEvent.computeIfAbsent(eventId, k -> new Voters());
+            if (voters.claims.getAndIncrement() < 0) {
+                votersByEvent.remove(eventId, voters);
+                continue;
+            }
+            if (voters.ids.add(userId)) return true;
+            leave(eventId, voters);
+            return false;
+        }
+    }
+
+    /** Undoes a claim whose vote was never stored; an event left without voters is dropped. */
+    public void release(String userId, String eventId) {
+        Voters voters = votersByEvent.get(eventId);
+        if (voters != null && voters.ids.remove(userId)) leave(eventId, voters);
+    }
+
+    private void leave(String eventId, Voters voters) {
+        if (voters.claims.decrementAndGet() == 0 && voters.claims.compareAndSet(0, Integer.MIN_VALUE)) {
+            votersByEvent.remove(eventId, voters);
+        }
+    }
+
+    public int eventCount() {
+        return votersByEvent.size();
+    }
+
+    public int voterCount(String eventId) {
+        Voters voters = votersByEvent.get(eventId);
+        return voters == null ? 0 : voters.ids.size();
+    }
+}
@@ -1,31 +1,116 @@
 import org.example.shared.VotingService;
+import org.example.shared.AccountJobStatus;
+import org.example.shared.AccountPage;
+import org.example.shared.BallotBatch;
+import org.example.shared.BallotBatchResult;
+import org.example.shared.BallotImportProgress;
+import org.example.shared.EventResults;
+import org.example.shared.VoterAccount;
 import org.example.shared.EventInfo;
+import org.example.shared.InvalidCredentialsException;
 import org.example.shared.Candidate;
+import org.example.shared.CandidatePhoto;
+import org.example.shared.CandidateSnapshot;
+import java.io.IOException;
 import java.rmi.RemoteException;
-import java.rmi.server.UnicastRemoteObject;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
-public class VotingServiceImpl extends UnicastRemoteObject implements VotingService {
-    private final Map<String, List<Candidate>> events = new ConcurrentHashMap<>();
+/**
+ * The voting service. Server exports it over RMI; InProcessService hands the same object to an
+ * API bridge running in this JVM, which then calls it directly.
+ */
+public class VotingServiceImpl implements VotingService {
+    private static final int MAX_ACCOUNT_PAGE = 5000;
     private final Map<String, String> eventPasswords = new ConcurrentHashMap<>();
-    private final DBController dbController;
+    private final VoteStore dbController;
+    private final VoteBatcher voteBatcher;
+    private final LiveTally liveTally;
+    private final VoterIndex voterIndex;
+    private final PhotoCache photoCache;
+    private final PhotoProcessor photoProcessor;
+    private final CandidateCatalog candidateCatalog;
+    private final AccountProvisioner accountProvisioner;
+    private final BulkVoteProcessor bulkVoteProcessor;
+    private final BallotImporter ballotImporter;
+    // Null unless journal.enabled: votes are then acknowledged once journaled and reach the table later
+    private final VoteJournal voteJournal;
+    private final CredentialService credentials = CredentialService.getShared();
+    private final long startedAt = System.currentTimeMillis();
 
-    public VotingServiceImpl() throws RemoteException {
-        super();
-        this.dbController = new DBController();
+    public VotingServiceImpl(VoteStore store) throws RemoteException {
+        this.dbController = store;
+        this.liveTally = new LiveTally(dbController);
+        this.voterIndex = new VoterIndex();
+        try {
+            liveTally.loadFromDatabase();
+            voterIndex.loadFromDatabase(dbController);
+        } catch (SQLException e) {
+            throw new RemoteException("Failed to load the vote tally or the voter index", e);
+        }
+        liveTally.startReconciler(ServerConfig.getLong("tally.reconcileIntervalSec", 300));
+        this.photoCache = new PhotoCache(dbController);
+        this.photoProcessor = new PhotoProcessor();
+        this.candidateCatalog = new CandidateCatalog(dbController, photoCache);
+        this.accountProvisioner = new AccountProvisioner(dbController);
+        this.voteBatcher = new VoteBatcher(dbController);
+        voteBatcher.setCommitListener(v -> liveTally.recordVote(v.getEventId(), v.getCandidateId()));
+        voteBatcher.start();
+        this.bulkVoteProcessor = new BulkVoteProcessor(dbController, candidateCatalog, voterIndex, liveTally);
+        this.ballotImporter = new BallotImporter(dbController, bulkVoteProcessor);
+        this.voteJournal = ServerConfig.getBoolean("journal.enabled", false) ? startJournal() : null;
+        registerMetrics(Metrics.getShared());
+    }
+
+    // Sampled when scraped; rate(voting_event_votes_total[1m]) gives each event's vote rate
+    private void registerMetrics(Metrics metrics) {
+        metrics.register("voting_event_votes_total", "counter", "Votes counted per event (live tally)", sink -> {
+            for (Map.Entry<String, Long> e : liveTally.votesByEvent().entrySet()) {
+                sink.accept(Metrics.label("event", e.getKey()), e.getValue());
+            }
+        });
+        if (voteJournal != null) {
+            metrics.register("voting_journal_pending_votes", "gauge", "Journaled votes not yet in the votes table",
+                    sink -> sink.accept("", voteJournal.getPendingCount()));
+            metrics.register("voting_journal_flush_lag_seconds", "gauge", "Age of the oldest unflushed vote",
+                    sink -> sink.accept("", voteJournal.getFlushLagMs() / 1000.0));
+        }
+    }
+
+    private VoteJournal startJournal() throws RemoteException {
+        VoteJournal journal = new VoteJournal(dbController);
+        journal.setCommitListener(v -> liveTally.recordVote(v.getEventId(), v.getCandidateId()));
+        // Unknown user: the voter never really voted
+        journal.setRejectListener(v -> voterIndex.release(v.getUserId(), v.getEventId()));
+        try {
+            // Votes from the last run that may not be in the table yet count as cast already
+            for (VoteRecord v : journal.recover()) voterIndex.claim(v.getUserId(), v.getEventId());
+        } catch (IOException e) {
+            throw new RemoteException("Failed to open vote journal", e);
+        }
+        journal.start();
+        return journal;
     }
 
     @Override
     public EventInfo createEvent(String eventName) throws RemoteException {
-        String eventId = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return createEventWithId(eventName, UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+    }
+
+    @Override
+    public EventInfo createEventWithId(String eventName, String eventId) throws RemoteException {
+        if (eventId == null || !eventId.matches("[A-Z0-9]{4,36}")) {
+            throw new RemoteException("Invalid event id: " + eventId);
+        }
         String password = UUID.randomUUID().toString().substring(0, 6);
 
         // Store in database
         boolean created = dbController.createEvent(eventName, eventId, password);
         if (created) {
-            events.put(eventId, new ArrayList<>());
+            candidateCatalog.registerEvent(eventId);
             eventPasswords.put(eventId, password);
+            liveTally.registerEvent(eventId);
             System.out.println("✅ RMI: Event Created: " + eventName + " | ID: " + eventId);
             return new EventInfo(eventId, eventName, password);
         } else {
@@ -34,18 +119,32 @@ public class VotingServiceImpl extends UnicastRemoteObject implements VotingServ
         }
     }
 
+    @Override
+    public Map<String, Long> getNodeStats() throws RemoteException {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("events", dbController.countEvents());
+        stats.put("votes", liveTally.totalVotes());
+        stats.put("uptimeMs", System.currentTimeMillis() - startedAt);
+        if (voteJournal != null) {
+            stats.put("journalPending", voteJournal.getPendingCount());
+            stats.put("journalLagMs", voteJournal.getFlushLagMs());
+        }
+        return stats;
+    }
+
     @Override
     public String addCandidate(String eventId, String candidateName, byte[] photo) throws RemoteException {
-        if (!events.containsKey(eventId)) {
+        if (candidateCatalog.get(eventId) == null) {
             System.err.println("❌ RMI: Attempted to add candidate to non-existent event: " + eventId);
             return null;
         }
 
+        PhotoProcessor.ProcessedPhoto processed = processPhoto(photo);
         // Store in database
-        String candidateId = dbController.addCandidate(eventId, candidateName, photo);
+        String candidateId = dbController.addCandidate(eventId, candidateName, processed);
         if (candidateId != null) {
-            Candidate newCandidate = new Candidate(candidateId, candidateName, photo);
-            events.get(eventId).add(newCandidate);
+            candidateCatalog.addCandidate(eventId, candidateId, candidateName);
+            liveTally.addCandidate(eventId, candidateId, candidateName);
             System.out.println("✅ RMI: Candidate '" + candidateName + "' added to event " + eventId + " ID=" + candidateId);
             return candidateId;
         } else {
@@ -56,20 +155,14 @@ public class VotingServiceImpl extends UnicastRemoteObject implements VotingServ
 
     @Override
     public boolean updateCandidate(String eventId, String candidateId, String newName, byte[] newPhoto) throws RemoteException {
+        PhotoProcessor.ProcessedPhoto processed = processPhoto(newPhoto);
         try {
-            boolean updated = dbController.updateCandidate(eventId, candidateId, newName, newPhoto);
+            boolean updated = dbController.updateCandidate(eventId, candidateId, newName, processed);
             if (updated) {
-                // Update in-memory cache if present
-                List<Candidate> list = events.get(eventId);
-                if (list != null) {
-                    for (Candidate c : list) {
-                        if (c.getId().equals(candidateId)) {
-                            if (newName != null && !newName.isBlank()) c.setName(newName);
-                            if (newPhoto != null && newPhoto.length > 0) c.setPhoto(newPhoto);
-                            break;
-                        }
-                    }
-                }
+                boolean renamed = newName != null && !newName.isBlank();
+                if (processed != null) photoCache.invalidate(eventId, candidateId);
+                if (renamed) liveTally.renameCandidate(eventId, candidateId, newName);
+                candidateCatalog.updateCandidate(eventId, candidateId, renamed ? newName : null, processed != null);
             }
             return updated;
         } catch (Exception e) {
@@ -78,15 +171,25 @@ public class VotingServiceImpl extends UnicastRemoteObject implements VotingServ
         }
     }
 
+    // Normalizes an uploaded photo into the stored renditions; null/empty uploads mean "no photo"
+    private PhotoProcessor.ProcessedPhoto processPhoto(byte[] upload) throws RemoteException {
+        if (upload == null || upload.length == 0) return null;
+        try {
+            return photoProcessor.process(upload);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("❌ RMI: Photo rejected: " + e.getMessage());
+            throw new RemoteException(e.getMessage());
+        }
+    }
+
     @Override
     public boolean deleteCandidate(String eventId, String candidateId) throws RemoteException {
         try {
             boolean deleted = dbController.deleteCandidate(eventId, candidateId);
             if (deleted) {
-                List<Candidate> list = events.get(eventId);
-                if (list != null) {
-                    list.removeIf(c -> c.getId().equals(candidateId));
-                }
+                liveTally.removeCandidate(eventId, candidateId);
+                photoCache.invalidate(eventId, candidateId);
+                candidateCatalog.removeCandidate(eventId, candidateId);
             }
             return deleted;
         } catch (Exception e) {
@@ -97,27 +200,174 @@ public class VotingServiceImpl extends UnicastRemoteObject implements VotingServ
 
     @Override
     public boolean castVote(String userId, String eventId, String candidateId) throws RemoteException {
+        if (!isNumericId(candidateId)) {
+            System.out.println("❌ RMI: Vote rejected - invalid candidate id: " + candidateId);
+            return false;
+        }
+        // Only real events get an entry in the voter index
+        if (candidateCatalog.get(eventId) == null) {
+            System.out.println("❌ RMI: Vote rejected - event not found: " + eventId);
+            return false;
+        }
+        // Repeat voters are turned away here, before any database work
+        if (!voterIndex.claim(userId, eventId)) {
+            System.out.println("❌ RMI: Vote rejected - User " + userId + " has already voted in event " + eventId);
+            return false;
+        }
+        if (voteJournal != null) return castJournaled(userId, eventId, candidateId);
         try {
-            // Cast vote in database with user validation
-            boolean success = dbController.castVote(userId, eventId, candidateId);
-            if (success) {
+            // Queued into the next group commit; returns once that batch is in the database
+            VoteOutcome outcome = voteBatcher.castVote(new VoteRecord(userId, eventId, candidateId));
+            if (outcome == VoteOutcome.STORED) {
                 System.out.println("🗳️ RMI: Vote cast successfully - User: " + userId + ", Candidate: " + candidateId
                         + ", Event: " + eventId);
-            } else {
-                System.out.println("❌ RMI: Vote failed - User may have already voted or invalid data");
+                return true;
             }
-            return success;
+            if (outcome == VoteOutcome.REJECTED) {
+                // Unknown candidate/user: the voter has not actually voted
+                voterIndex.release(userId, eventId);
+            }
+            System.out.println("❌ RMI: Vote failed (" + outcome + ") - User: " + userId + ", Event: " + eventId);
+            return false;
+        } catch (VoteNotConfirmedException e) {
+            // A writer holds the vote and may still store it, so the claim stays until it is known
+            // that the vote was not stored
+            if (e.getOutcome() != null) {
+                e.getOutcome().whenComplete((outcome, failure) -> {
+                    if (outcome != VoteOutcome.STORED && outcome != VoteOutcome.DUPLICATE) {
+                        voterIndex.release(userId, eventId);
+                    }
+                });
+            }
+            System.err.println("⚠️ RMI: Vote not confirmed - User: " + userId + ", Event: " + eventId + ": "
+                    + e.getMessage());
+            throw new RemoteException("Vote not confirmed in time; check the vote status before voting again");
         } catch (Exception e) {
+            voterIndex.release(userId, eventId);
             System.err.println("❌ RMI: Failed to cast vote - User: " + userId + ", Event: " + eventId + ", Candidate: "
                     + candidateId);
             throw new RemoteException("Failed to cast vote", e);
         }
     }
 
+    // The table's foreign keys only see journaled votes later, so the candidate and the voter are
+    // checked up front; a vote acknowledged here must not be refused by the database afterwards
+    private boolean castJournaled(String userId, String eventId, String candidateId) throws RemoteException {
+        CandidateSnapshot snapshot = candidateCatalog.get(eventId);
+        boolean knownCandidate = false;
+        if (snapshot != null) {
+            for (Candidate c : snapshot.getCandidates()) {
+                if (c.getId().equals(candidateId)) {
+                    knownCandidate = true;
+                    break;
+                }
+            }
+        }
+        if (!knownCandidate) {
+            voterIndex.release(userId, eventId);
+            System.out.println("❌ RMI: Vote rejected - unknown candidate " + candidateId + " in event " + eventId);
+            return false;
+        }
+        try {
+            if (!dbController.isEventUser(userId, eventId)) {
+                voterIndex.release(userId, eventId);
+                System.out.println("❌ RMI: Vote rejected - User " + userId + " is not a voter of event " + eventId);
+                return false;
+            }
+            voteJournal.append(new VoteRecord(userId, eventId, candidateId));
+            System.out.println("🗳️ RMI: Vote journaled - User: " + userId + ", Candidate: " + candidateId
+                    + ", Event: " + eventId);
+            return true;
+        } catch (VoteNotConfirmedException e) {
+            // Already in the journal, so it is flushed or replayed later; the claim stays
+            System.err.println("⚠️ RMI: Vote not confirmed - User: " + userId + ", Event: " + eventId + ": "
+                    + e.getMessage());
+            throw new RemoteException("Vote not confirmed in time; check the vote status before voting again");
+        } catch (Exception e) {
+            voterIndex.release(userId, eventId);
+            System.err.println("❌ RMI: Failed to journal vote - User: " + userId + ", Event: " + eventId + ": "
+                    + e.getMessage());
+            throw new RemoteException("Failed to cast vote", e);
+        }
+    }
+
+    @Override
+    public BallotBatchResult castVotes(BallotBatch ballots) throws RemoteException {
+        if (ballots == null) throw new RemoteException("No ballots");
+        try {
+            return bulkVoteProcessor.cast(ballots);
+        } catch (IllegalArgumentException e) {
+            System.out.println("❌ RMI: Bulk vote rejected - " + e.getMessage());
+            throw new RemoteException(e.getMessage());
+        }
+    }
+
+    @Override
+    public BallotImportProgress beginBallotImport(String eventId, String importId) throws RemoteException {
+        if (importId == null || importId.isBlank() || importId.length() > 64) {
+            throw new RemoteException("Import id must be 1-64 characters");
+        }
+        if (candidateCatalog.get(eventId) == null) throw new RemoteException("Event not found: " + eventId);
+        try {
+            return ballotImporter.begin(eventId, importId);
+        } catch (IllegalArgumentException e) {
+            throw new RemoteException(e.getMessage());
+        } catch (Exception e) {
+            System.err.println("❌ RMI: Failed to start import " + importId + ": " + e.getMessage());
+            throw new RemoteException("Failed to start ballot import", e);
+        }
+    }
+
+    @Override
+    public BallotImportProgress importBallots(String importId, long firstRow, BallotBatch ballots) throws RemoteException {
+        try {
+            return ballotImporter.importChunk(importId, firstRow, ballots);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new RemoteException(e.getMessage());
+        } catch (Exception e) {
+            System.err.println("❌ RMI: Import " + importId + " failed at row " + firstRow + ": " + e.getMessage());
+            throw new RemoteException("Failed to import ballots", e);
+        }
+    }
+
+    @Override
+    public BallotImportProgress finishBallotImport(String importId) throws RemoteException {
+        try {
+            return ballotImporter.finish(importId);
+        } catch (IllegalStateException e) {
+            throw new RemoteException(e.getMessage());
+        } catch (Exception e) {
+            throw new RemoteException("Failed to finish ballot import", e);
+        }
+    }
+
+    private static boolean isNumericId(String id) {
+        if (id == null || id.isEmpty() || id.length() > 9) return false;
+        for (int i = 0; i < id.length(); i++) {
+            if (!Character.isDigit(id.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    public VoteBatcher getVoteBatcher() {
+        return voteBatcher;
+    }
+
+    // Flushes queued votes before the JVM exits
+    public void shutdown() {
+        if (voteJournal != null) voteJournal.shutdown();
+        voteBatcher.shutdown();
+        liveTally.shutdown();
+        photoProcessor.shutdown();
+        accountProvisioner.shutdown();
+        System.out.println("📊 Vote batcher at shutdown: " + voteBatcher.stats());
+        dbController.close();
+    }
+
     @Override
     public boolean hasUserVoted(String userId, String eventId) throws RemoteException {
         try {
-            boolean hasVoted = dbController.hasUserVoted(userId, eventId);
+            boolean hasVoted = voterIndex.hasVoted(userId, eventId);
             System.out.println("🔍 RMI: Checking vote status - User: " + userId + ", Event: " + eventId
                     + ", Has voted: " + hasVoted);
             return hasVoted;
@@ -129,83 +379,136 @@ public class VotingServiceImpl extends UnicastRemoteObject implements VotingServ
 
     @Override
     public List<Candidate> getEventForVoter(String eventId, String password) throws RemoteException {
+        CandidateSnapshot snapshot = getCandidateSnapshot(eventId, password, -1);
+        return snapshot != null ? snapshot.getCandidates() : null;
+    }
+
+    @Override
+    public CandidateSnapshot getCandidateSnapshot(String eventId, String password, long knownVersion) throws RemoteException {
         String storedPassword = eventPasswords.get(eventId);
         if (storedPassword == null) {
             // Lazy load from DB if event created before service restart
             String dbPassword = dbController.getEventPassword(eventId);
             if (dbPassword != null) {
                 eventPasswords.put(eventId, dbPassword);
-                events.putIfAbsent(eventId, new ArrayList<>()); // ensure candidates list exists
                 storedPassword = dbPassword;
             }
         }
-        if (storedPassword != null && storedPassword.equals(password)) {
-            List<Map<String, String>> candidateData = dbController.getCandidates(eventId);
-            List<Candidate> candidates = new ArrayList<>();
-            for (Map<String, String> data : candidateData) {
-                byte[] photoBytes = null;
-                String b64 = data.get("photoBase64");
-                if (b64 != null) {
-                    try { photoBytes = Base64.getDecoder().decode(b64); } catch (Exception ignored) {}
-                }
-                candidates.add(new Candidate(data.get("id"), data.get("name"), photoBytes));
-            }
-            return candidates;
+        if (storedPassword == null || !storedPassword.equals(password)) return null;
+        CandidateSnapshot snapshot = candidateCatalog.get(eventId);
+        if (snapshot == null) return null;
+        return snapshot.getVersion() == knownVersion ? snapshot.withoutCandidates() : snapshot;
+    }
+
+    @Override
+    public CandidatePhoto getCandidatePhoto(String eventId, String candidateId, String size, String knownHash) throws RemoteException {
+        if (!isNumericId(candidateId)) return null;
+        PhotoVariant variant;
+        try {
+            variant = PhotoVariant.fromName(size);
+        } catch (IllegalArgumentException e) {
+            throw new RemoteException(e.getMessage());
         }
-        return null;
+        // The endpoint is public and PhotoCache remembers misses, so only real candidates reach it
+        if (!candidateCatalog.hasCandidate(eventId, candidateId)) return null;
+        PhotoCache.Photo photo = photoCache.get(eventId, candidateId, variant);
+        if (photo == null) return null;
+        byte[] data = photo.getHash().equals(knownHash) ? null : photo.getData();
+        return new CandidatePhoto(candidateId, photo.getContentType(), photo.getHash(), data);
     }
 
     @Override
-    public Map<String, Integer> getResults(String eventId) throws RemoteException {
-        // Get results from database
-        List<Map<String, String>> candidateData = dbController.getCandidates(eventId);
-        Map<String, Integer> results = new HashMap<>();
-        for (Map<String, String> data : candidateData) {
-            results.put(data.get("name"), Integer.parseInt(data.get("votes")));
+    public EventResults getResults(String eventId) throws RemoteException {
+        // Served from the live tally; the votes table is only read at startup and by the reconciler
+        return liveTally.results(eventId);
+    }
+
+    @Override
+    public EventResults awaitResults(String eventId, long knownVersion, long maxWaitMs) throws RemoteException {
+        try {
+            return liveTally.awaitChange(eventId, knownVersion, maxWaitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
-        return results;
     }
 
     @Override
     public Map<String, String> Login(String username, String password) throws RemoteException {
-        Map<String, String> userInfo = dbController.getUserInfo(username, password);
+        // Repeat logins with the same credentials within the TTL skip the database and decrypt
+        Map<String, String> userInfo = credentials.cachedLogin(username, password);
         if (userInfo == null) {
-            throw new RemoteException("Invalid username or password");
+            userInfo = dbController.getUserInfo(username, password);
+            if (userInfo == null) {
+                throw new InvalidCredentialsException();
+            }
+            credentials.rememberLogin(username, password, userInfo);
         }
         System.out.println("✅ RMI: User logged in: " + username + " for event: " + userInfo.get("eventId"));
         return userInfo;
     }
 
     @Override
-    public List<Map<String, String>> createAccounts(String eventId, int eventSize) throws RemoteException {
-        List<Map<String, String>> createdAccounts = new ArrayList<>();
-        for (int i = 0; i < eventSize; i++) {
-            String id = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-            String psw = UUID.randomUUID().toString().substring(0, 8).substring(0, 8);
-            String username = UUID.randomUUID().toString().substring(0, 8);
-
-            // Register user in database
-            boolean registered = dbController.registerUser(id, psw, username, eventId);
-            if (registered) {
-                Map<String, String> accountInfo = new HashMap<>();
-                accountInfo.put("username", username);
-                accountInfo.put("userId", id);
-                accountInfo.put("password", psw);
-                accountInfo.put("eventId", eventId);
-                createdAccounts.add(accountInfo);
-                System.out.println(
-                        "✅ RMI: User account created: id: " + id + " username: " + username + " password: " + psw);
-            } else {
-                System.err.println("❌ RMI: Failed to create user account: " + id);
-            }
+    public AccountPage createAccounts(String eventId, int eventSize) throws RemoteException {
+        requireEvent(eventId, eventSize);
+        try {
+            List<VoterAccount> createdAccounts = accountProvisioner.provision(eventId, eventSize);
+            System.out.println("✅ RMI: Created " + createdAccounts.size() + " user accounts for event " + eventId);
+            return new AccountPage(eventId, createdAccounts, null);
+        } catch (Exception e) {
+            System.err.println("❌ RMI: Failed to create user accounts for event " + eventId + ": " + e.getMessage());
+            throw new RemoteException("Failed to create user accounts", e);
+        }
+    }
+
+    @Override
+    public AccountJobStatus startAccountJob(String eventId, int count) throws RemoteException {
+        requireEvent(eventId, count);
+        return accountProvisioner.start(eventId, count);
+    }
+
+    @Override
+    public AccountJobStatus getAccountJobStatus(String jobId) throws RemoteException {
+        return accountProvisioner.status(jobId);
+    }
+
+    @Override
+    public AccountPage getAccountJobResult(String jobId) throws RemoteException {
+        AccountJobStatus status = accountProvisioner.status(jobId);
+        List<VoterAccount> accounts = accountProvisioner.result(jobId);
+        return status != null && accounts != null ? new AccountPage(status.getEventId(), accounts, null) : null;
+    }
+
+    private void requireEvent(String eventId, int count) throws RemoteException {
+        if (count < 1) throw new RemoteException("Account count must be positive");
+        if (candidateCatalog.get(eventId) == null) {
+            System.err.println("❌ RMI: Attempted to create accounts for non-existent event: " + eventId);
+            throw new RemoteException("Event not found: " + eventId);
+        }
+    }
+
+    @Override
+    public AccountPage getUserAccountsPage(String eventId, String afterUserId, int limit) throws RemoteException {
+        if (limit < 1 || limit > MAX_ACCOUNT_PAGE) {
+            throw new RemoteException("Page size must be between 1 and " + MAX_ACCOUNT_PAGE);
+        }
+        List<VoterAccount> rows;
+        try {
+            rows = dbController.getUserAccountsPage(eventId, afterUserId, limit);
+        } catch (SQLException e) {
+            System.err.println("❌ RMI: Failed to read accounts - Event: " + eventId + ", after: " + afterUserId);
+            throw new RemoteException("Failed to read accounts", e);
+        }
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            nextCursor = rows.get(limit - 1).getUserId();
         }
-        System.out.println("✅ RMI: Created " + createdAccounts.size() + " user accounts for event " + eventId);
-        return createdAccounts;
+        return new AccountPage(eventId, rows, nextCursor);
     }
 
     @Override
-    public List<Map<String, String>> getUserAccounts(String eventId) throws RemoteException {
-        List<Map<String, String>> userAccounts = dbController.getUserAccounts(eventId);
-        return userAccounts;
+    public AccountPage getUserAccounts(String eventId) throws RemoteException {
+        return new AccountPage(eventId, dbController.getUserAccounts(eventId), null);
     }
 }
\ No newline at end of file
@@ -43,7 +43,23 @@ CREATE TABLE IF NOT EXISTS votes (
     UNIQUE KEY unique_user_event (user_id, event_id)
 );
 
+-- Checkpoints for resumable ballot file imports
+CREATE TABLE IF NOT EXISTS ballot_imports (
+    id VARCHAR(64) PRIMARY KEY,
+    event_id VARCHAR(50) NOT NULL,
+    state VARCHAR(16) NOT NULL,
+    rows_done BIGINT NOT NULL DEFAULT 0,
+    stored BIGINT NOT NULL DEFAULT 0,
+    already_voted BIGINT NOT NULL DEFAULT 0,
+    rejected BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (event_id) REFERENCES events(id) ON DELETE CASCADE
+);
+
 -- Create indexes for better performance
 CREATE INDEX idx_votes_event_id ON votes(event_id);
 CREATE INDEX idx_votes_candidate_id ON votes(candidate_id);
-CREATE INDEX idx_votes_user_id ON votes(user_id);
\ No newline at end of file
+CREATE INDEX idx_votes_user_id ON votes(user_id);
+CREATE INDEX idx_votes_event_candidate ON votes(event_id, candidate_id);
+CREATE INDEX idx_users_event ON users(event_id);
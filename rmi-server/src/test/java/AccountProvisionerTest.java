@@ -0,0 +1,76 @@
+import org.example.shared.AccountJobStatus;
+import org.example.shared.VoterAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AccountProvisionerTest {
+    private InMemoryVoteStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryVoteStore(null);
+        store.createEvent("Accounts", "EV1", "secret");
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("accounts.workers");
+        System.clearProperty("accounts.chunkSize");
+        store.close();
+    }
+
+    @Test
+    void resultIsHandedOutOnceAndThenForgotten() throws Exception {
+        AccountProvisioner provisioner = new AccountProvisioner(store);
+        String jobId = provisioner.start("EV1", 2500).getJobId();
+        AccountJobStatus status = awaitFinished(provisioner, jobId);
+        assertEquals(AccountJobStatus.COMPLETED, status.getState());
+
+        List<VoterAccount> accounts = provisioner.result(jobId);
+        assertEquals(2500, accounts.size());
+        Set<String> ids = new HashSet<>();
+        for (VoterAccount a : accounts) {
+            ids.add(a.getUserId());
+            assertTrue(store.validateUser(a.getUserId(), a.getPassword()));
+        }
+        assertEquals(2500, ids.size());
+
+        assertNull(provisioner.result(jobId), "passwords must not be handed out twice");
+        assertNull(provisioner.status(jobId));
+        provisioner.shutdown();
+    }
+
+    @Test
+    void shutdownFailsJobsThatCannotFinish() throws Exception {
+        System.setProperty("accounts.workers", "1");
+        System.setProperty("accounts.chunkSize", "10");
+        AccountProvisioner provisioner = new AccountProvisioner(store);
+        String jobId = provisioner.start("EV1", 50_000).getJobId();
+
+        provisioner.shutdown();
+
+        AccountJobStatus status = provisioner.status(jobId);
+        assertEquals(AccountJobStatus.FAILED, status.getState());
+        assertTrue(status.getError().startsWith("Server shut down"), status.getError());
+        assertTrue(status.getFinishedAt() > 0);
+    }
+
+    private static AccountJobStatus awaitFinished(AccountProvisioner provisioner, String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        AccountJobStatus status = provisioner.status(jobId);
+        while (AccountJobStatus.RUNNING.equals(status.getState()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = provisioner.status(jobId);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,115 @@
+import org.example.shared.BallotBatch;
+import org.example.shared.BallotCsv;
+import org.example.shared.BallotImportProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BallotImporterTest {
+    private static final int VOTERS = 10;
+
+    private InMemoryVoteStore store;
+    private LiveTally tally;
+    private BulkVoteProcessor processor;
+    private String candidateId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new InMemoryVoteStore(null);
+        store.createEvent("Import", "EV1", "secret");
+        store.createEvent("Other", "EV2", "secret");
+        candidateId = store.addCandidate("EV1", "Alice", null);
+        store.addCandidate("EV2", "Bob", null);
+        for (int i = 1; i <= VOTERS; i++) {
+            store.registerUser("U" + i, "pw", "user" + i, "EV1");
+        }
+        tally = new LiveTally(store);
+        tally.loadFromDatabase();
+        VoterIndex voterIndex = new VoterIndex();
+        voterIndex.loadFromDatabase(store);
+        processor = new BulkVoteProcessor(store, new CandidateCatalog(store, new PhotoCache(store)), voterIndex, tally);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tally.shutdown();
+        store.close();
+    }
+
+    @Test
+    void restartedImportSkipsRowsUpToTheCheckpoint() throws Exception {
+        BallotImporter first = new BallotImporter(store, processor);
+        first.begin("EV1", "imp-1");
+        first.importChunk("imp-1", 1, rows("EV1", 1, 4));
+
+        // A new importer stands in for a restarted server; only the saved checkpoint carries over
+        BallotImporter resumed = new BallotImporter(store, processor);
+        assertEquals(4, resumed.begin("EV1", "imp-1").getRowsDone());
+        BallotImportProgress replay = resumed.importChunk("imp-1", 1, rows("EV1", 1, 4));
+        assertEquals(4, replay.getStored());
+        assertEquals(0, replay.getAlreadyVoted());
+
+        resumed.importChunk("imp-1", 5, rows("EV1", 5, 10));
+        BallotImportProgress done = resumed.finish("imp-1");
+        assertTrue(done.isCompleted());
+        assertEquals(10, done.getRowsDone());
+        assertEquals(VOTERS, done.getStored());
+        assertEquals(VOTERS, tally.results("EV1").getTotalVotes());
+
+        assertTrue(new BallotImporter(store, processor).begin("EV1", "imp-1").isCompleted());
+    }
+
+    @Test
+    void chunkStoredBeforeItsCheckpointCountsAsAlreadyVoted() throws Exception {
+        BallotImporter importer = new BallotImporter(store, processor);
+        importer.begin("EV1", "imp-2");
+        importer.importChunk("imp-2", 1, rows("EV1", 1, 5));
+        // The server wrote rows 6-7 and died before advancing the checkpoint
+        processor.cast(rows("EV1", 6, 7));
+
+        BallotImportProgress p = importer.importChunk("imp-2", 6, rows("EV1", 6, 10));
+        assertEquals(8, p.getStored());
+        assertEquals(2, p.getAlreadyVoted());
+        assertEquals(10, p.getRowsDone());
+    }
+
+    @Test
+    void chunkOutOfOrderOrForAnotherEventIsRefused() throws Exception {
+        BallotImporter importer = new BallotImporter(store, processor);
+        importer.begin("EV1", "imp-3");
+
+        assertThrows(IllegalArgumentException.class, () -> importer.importChunk("imp-3", 3, rows("EV1", 3, 4)));
+        assertThrows(IllegalArgumentException.class, () -> importer.importChunk("imp-3", 1, rows("EV2", 1, 4)));
+        assertEquals(0, store.getBallotImport("imp-3").getRowsDone());
+        assertEquals(0, tally.results("EV2").getTotalVotes());
+    }
+
+    // Ballots for users U<from>..U<to>, all for the event's first candidate
+    private BallotBatch rows(String eventId, int from, int to) {
+        BallotBatch batch = new BallotBatch(eventId, to - from + 1);
+        for (int i = from; i <= to; i++) batch.add("U" + i, candidateId);
+        return batch;
+    }
+
+    @Test
+    void defaultImportIdFollowsTheContentNotTheFileSize() throws Exception {
+        String id = importId("EV1", "U1,C1\nU2,C1\n");
+        assertEquals(id, importId("EV1", "U1,C1\nU2,C1\n"));
+        // Same size, different ballots
+        assertNotEquals(id, importId("EV1", "U1,C2\nU2,C1\n"));
+        assertNotEquals(id, importId("EV2", "U1,C1\nU2,C1\n"));
+        assertTrue(importId("E".repeat(40), "U1,C1\n").length() <= 64);
+    }
+
+    private static String importId(String eventId, String csv) throws Exception {
+        return BallotCsv.importId(eventId, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CredentialServiceTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("encryption.secret");
+    }
+
+    @Test
+    void encryptsWithARandomIvAndDecryptsConcurrently() throws Exception {
+        CredentialService credentials = new CredentialService("test-secret", 100, 60_000);
+        assertNotEquals(credentials.encrypt("pw"), credentials.encrypt("pw"));
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> checks = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String password = "password-" + i;
+            checks.add(pool.submit(() -> credentials.matches(credentials.encrypt(password), password)));
+        }
+        for (Future<Boolean> check : checks) assertTrue(check.get());
+        pool.shutdown();
+    }
+
+    @Test
+    void keyComesFromTheConfiguredSecret() throws Exception {
+        System.setProperty("encryption.secret", "first-secret");
+        String encrypted = CredentialService.fromConfig().encrypt("pw");
+        assertEquals("pw", new CredentialService("first-secret", 0, 0).decrypt(encrypted));
+        assertThrows(Exception.class, () -> new CredentialService("other-secret", 0, 0).decrypt(encrypted));
+    }
+
+    @Test
+    void missingSecretFailsInsteadOfFallingBackToADefault() {
+        System.setProperty("encryption.secret", " ");
+        IllegalStateException e = assertThrows(IllegalStateException.class, CredentialService::fromConfig);
+        assertTrue(e.getMessage().contains("encryption.secret"));
+    }
+
+    @Test
+    void cachedLoginNeedsTheSamePassword() {
+        CredentialService credentials = new CredentialService("test-secret", 100, 60_000);
+        credentials.rememberLogin("alice", "pw", Map.of("userId", "U1"));
+        assertEquals("U1", credentials.cachedLogin("alice", "pw").get("userId"));
+        assertNull(credentials.cachedLogin("alice", "wrong"));
+        assertNull(credentials.cachedLogin("bob", "pw"));
+    }
+
+    @Test
+    void cachedLoginExpires() throws Exception {
+        CredentialService credentials = new CredentialService("test-secret", 100, 1);
+        credentials.rememberLogin("alice", "pw", Map.of("userId", "U1"));
+        Thread.sleep(20);
+        assertNull(credentials.cachedLogin("alice", "pw"));
+    }
+}
@@ -0,0 +1,89 @@
+import org.example.shared.BallotImportProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class InMemoryVoteStoreTest {
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("storage.memory.snapshotFile");
+        System.clearProperty("storage.memory.snapshotIntervalSec");
+    }
+
+    @Test
+    void snapshotRestoresTheWholeStore() throws Exception {
+        InMemoryVoteStore store = open();
+        store.createEvent("Snapshot", "EV1", "secret");
+        byte[] photo = {1, 2, 3};
+        String candidateId = store.addCandidate("EV1", "Alice", new PhotoProcessor.ProcessedPhoto(photo, new byte[] {4}, null));
+        store.registerUser("U1", "pw1", "user1", "EV1");
+        store.registerUser("U2", "pw2", "user2", "EV1");
+        store.insertVotes(List.of(new VoteRecord("U1", "EV1", candidateId)));
+        store.saveBallotImport(new BallotImportProgress("imp", "EV1", BallotImportProgress.RUNNING, 40, 30, 5, 5,
+                Collections.emptyList()));
+        store.close();
+
+        InMemoryVoteStore restored = open();
+        try {
+            assertEquals("secret", restored.getEventPassword("EV1"));
+            assertNotNull(restored.getUserInfo("user2", "pw2"));
+            List<Map<String, String>> candidates = restored.getCandidates("EV1");
+            assertEquals(1, candidates.size());
+            assertEquals("1", candidates.get(0).get("votes"));
+            assertArrayEquals(photo, restored.getCandidatePhoto("EV1", candidateId, PhotoVariant.ORIGINAL));
+            assertEquals(40, restored.getBallotImport("imp").getRowsDone());
+            assertFalse(Files.exists(dir.resolve("store.snapshot.tmp")));
+        } finally {
+            restored.close();
+        }
+    }
+
+    @Test
+    void snapshotsTakenWhileVotingAreConsistent() throws Exception {
+        InMemoryVoteStore store = open();
+        store.createEvent("Busy", "EV1", "secret");
+        String candidateId = store.addCandidate("EV1", "Alice", null);
+        int voters = 2000;
+        for (int i = 0; i < voters; i++) store.registerUser("U" + i, "pw", "user" + i, "EV1");
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        Future<?> voting = pool.submit(() -> {
+            for (int i = 0; i < voters; i++) store.insertVotes(List.of(new VoteRecord("U" + i, "EV1", candidateId)));
+            return null;
+        });
+        while (!voting.isDone()) store.snapshot();
+        voting.get();
+        pool.shutdown();
+        store.close();
+
+        InMemoryVoteStore restored = open();
+        try {
+            assertEquals(String.valueOf(voters), restored.getCandidates("EV1").get(0).get("votes"));
+        } finally {
+            restored.close();
+        }
+    }
+
+    private InMemoryVoteStore open() throws Exception {
+        System.setProperty("storage.memory.snapshotFile", dir.resolve("store.snapshot").toString());
+        System.setProperty("storage.memory.snapshotIntervalSec", "0");
+        return InMemoryVoteStore.open();
+    }
+}
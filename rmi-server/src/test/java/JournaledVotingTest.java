@@ -0,0 +1,49 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournaledVotingTest {
+    @TempDir
+    Path dir;
+
+    private InMemoryVoteStore store;
+    private VotingServiceImpl service;
+    private String candidateId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        System.setProperty("journal.enabled", "true");
+        System.setProperty("journal.dir", dir.toString());
+        store = new InMemoryVoteStore(null);
+        store.createEvent("Journaled", "EV1", "secret");
+        store.createEvent("Other", "EV2", "secret");
+        candidateId = store.addCandidate("EV1", "Alice", null);
+        store.registerUser("U1", "pw", "user1", "EV1");
+        store.registerUser("U2", "pw", "user2", "EV2");
+        service = new VotingServiceImpl(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        store.close();
+        System.clearProperty("journal.enabled");
+        System.clearProperty("journal.dir");
+    }
+
+    @Test
+    void onlyVotersOfTheEventAreJournaled() throws Exception {
+        assertFalse(service.castVote("nobody", "EV1", candidateId));
+        assertFalse(service.castVote("U2", "EV1", candidateId));
+        assertTrue(service.castVote("U1", "EV1", candidateId));
+        assertFalse(service.castVote("U1", "EV1", candidateId));
+        // Refused voters were not left marked as having voted
+        assertFalse(service.hasUserVoted("U2", "EV1"));
+    }
+}
@@ -0,0 +1,87 @@
+import org.example.shared.EventResults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LiveTallyTest {
+    private InMemoryVoteStore store;
+    private LiveTally tally;
+    private String candidateId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new InMemoryVoteStore(null);
+        store.createEvent("Tally", "EV1", "secret");
+        candidateId = store.addCandidate("EV1", "Alice", null);
+        tally = new LiveTally(store);
+        tally.loadFromDatabase();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tally.shutdown();
+        store.close();
+    }
+
+    @Test
+    void waiterWakesOnVote() throws Exception {
+        long known = tally.results("EV1").getVersion();
+        CompletableFuture<EventResults> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return tally.awaitChange("EV1", known, 10_000);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        tally.recordVote("EV1", candidateId);
+
+        EventResults changed = waiting.get(2, TimeUnit.SECONDS);
+        assertNotEquals(known, changed.getVersion());
+        assertEquals(1, changed.getTotalVotes());
+    }
+
+    @Test
+    void returnsNullWhenNothingChanges() throws Exception {
+        long known = tally.results("EV1").getVersion();
+        long start = System.nanoTime();
+        assertNull(tally.awaitChange("EV1", known, 200));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(190), "should wait out the timeout");
+    }
+
+    @Test
+    void unknownEventDoesNotWait() throws Exception {
+        long start = System.nanoTime();
+        assertNull(tally.awaitChange("NOPE", 0, 10_000));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "unknown event should answer at once");
+    }
+
+    @Test
+    void failedStartupLoadIsReportedNotServedAsZeroes() {
+        InMemoryVoteStore down = new InMemoryVoteStore(null) {
+            @Override
+            public List<Map<String, String>> getAllCandidateTallies() throws SQLException {
+                throw new SQLException("connection reset");
+            }
+        };
+        LiveTally failing = new LiveTally(down);
+        try {
+            assertThrows(SQLException.class, failing::loadFromDatabase);
+        } finally {
+            failing.shutdown();
+            down.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("metrics.enabled");
+    }
+
+    @Test
+    void timersAreScrapedAsCumulativeHistogramsWithAnErrorCounter() {
+        Metrics metrics = new Metrics();
+        Metrics.Timer timer = metrics.timer("vote", "Votes", "method", "castVote");
+        timer.record(500_000);
+        timer.record(1_500_000);
+        timer.recordError();
+
+        List<String> lines = Arrays.asList(metrics.scrape().split("\n"));
+        assertEquals("# HELP vote_duration_seconds Votes", lines.get(0));
+        assertEquals("# TYPE vote_duration_seconds histogram", lines.get(1));
+        assertContains(lines, "vote_duration_seconds_bucket{method=\"castVote\",le=\"0.0001\"} 0");
+        assertContains(lines, "vote_duration_seconds_bucket{method=\"castVote\",le=\"0.0005\"} 1");
+        assertContains(lines, "vote_duration_seconds_bucket{method=\"castVote\",le=\"0.001\"} 1");
+        assertContains(lines, "vote_duration_seconds_bucket{method=\"castVote\",le=\"0.0025\"} 2");
+        assertContains(lines, "vote_duration_seconds_bucket{method=\"castVote\",le=\"10\"} 2");
+        assertContains(lines, "vote_duration_seconds_bucket{method=\"castVote\",le=\"+Inf\"} 2");
+        assertContains(lines, "vote_duration_seconds_sum{method=\"castVote\"} 0.002");
+        assertContains(lines, "vote_duration_seconds_count{method=\"castVote\"} 2");
+        assertContains(lines, "# TYPE vote_errors_total counter");
+        assertContains(lines, "vote_errors_total{method=\"castVote\"} 1");
+    }
+
+    @Test
+    void labelValuesAreEscaped() {
+        assertEquals("event=\"a\\\"b\\\\c\\nd\"", Metrics.label("event", "a\"b\\c\nd"));
+    }
+
+    @Test
+    void samplersAreReadAtScrapeAndAFailingOneIsSkipped() {
+        Metrics metrics = new Metrics();
+        metrics.register("broken", "gauge", "Fails", sink -> {
+            throw new IllegalStateException("boom");
+        });
+        metrics.register("pool", "gauge", "Connections", sink -> {
+            sink.accept(Metrics.label("state", "idle"), 3);
+            sink.accept(null, 0.5);
+        });
+
+        List<String> lines = Arrays.asList(metrics.scrape().split("\n"));
+        assertContains(lines, "# TYPE broken gauge");
+        assertContains(lines, "pool{state=\"idle\"} 3");
+        assertContains(lines, "pool 0.5");
+    }
+
+    @Test
+    void instrumentedCallsAreTimedAndThrowsCountAsErrors() {
+        Metrics metrics = new Metrics();
+        Runnable failing = () -> {
+            throw new IllegalArgumentException("bad");
+        };
+        Runnable wrapped = metrics.instrument(Runnable.class, failing, "task", "Tasks", "method");
+
+        assertThrows(IllegalArgumentException.class, wrapped::run);
+        assertTrue(wrapped.equals(wrapped));
+        String scrape = metrics.scrape();
+        assertTrue(scrape.contains("task_duration_seconds_count{method=\"run\"} 1\n"), scrape);
+        assertTrue(scrape.contains("task_errors_total{method=\"run\"} 1\n"), scrape);
+    }
+
+    @Test
+    void disabledMetricsReturnTheTargetItself() {
+        System.setProperty("metrics.enabled", "false");
+        Metrics metrics = new Metrics();
+        Runnable target = () -> { };
+        assertSame(target, metrics.instrument(Runnable.class, target, "task", "Tasks", "method"));
+    }
+
+    private static void assertContains(List<String> lines, String line) {
+        assertTrue(lines.contains(line), "missing: " + line + "\n" + String.join("\n", lines));
+    }
+}
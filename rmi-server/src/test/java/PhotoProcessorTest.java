@@ -0,0 +1,46 @@
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhotoProcessorTest {
+    private final PhotoProcessor processor = new PhotoProcessor();
+
+    @Test
+    void largePhotoIsCappedAndGetsSmallerRenditions() throws IOException {
+        PhotoProcessor.ProcessedPhoto photo = processor.process(png(2400, 1200));
+
+        BufferedImage original = ImageIO.read(new ByteArrayInputStream(photo.getOriginal()));
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(photo.getThumbnail()));
+        assertEquals(1600, original.getWidth());
+        assertEquals(800, original.getHeight());
+        assertEquals(128, thumbnail.getWidth());
+        assertTrue(photo.getMedium().length < photo.getOriginal().length);
+    }
+
+    @Test
+    void oversizedCanvasIsRejectedBeforeDecoding() throws IOException {
+        // Compresses to a few hundred bytes but declares more pixels per side than allowed
+        byte[] bomb = png(PhotoProcessor.MAX_SOURCE_SIDE + 1, 1);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> processor.process(bomb));
+        assertTrue(e.getMessage().startsWith("Image is too large"), e.getMessage());
+    }
+
+    @Test
+    void dataThatIsNotAnImageIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> processor.process("not an image".getBytes()));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,132 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoteBatcherTest {
+    private static final int VOTERS = 500;
+
+    private InMemoryVoteStore store;
+    private VoteBatcher batcher;
+    private String candidateId;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryVoteStore(null);
+        store.createEvent("Batching", "EV1", "secret");
+        candidateId = store.addCandidate("EV1", "Alice", null);
+        for (int i = 0; i < VOTERS; i++) {
+            store.registerUser("U" + i, "pw", "user" + i, "EV1");
+        }
+        batcher = new VoteBatcher(store, 64, 5, 2, 10_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batcher.shutdown();
+        store.close();
+    }
+
+    @Test
+    void concurrentVotesShareCommitsAndEachGetsItsOwnOutcome() throws Exception {
+        ConcurrentHashMap<String, Boolean> committed = new ConcurrentHashMap<>();
+        batcher.setCommitListener(v -> committed.put(v.getUserId(), Boolean.TRUE));
+        batcher.start();
+
+        ExecutorService callers = Executors.newFixedThreadPool(32);
+        List<Future<VoteOutcome>> outcomes = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            VoteRecord vote = new VoteRecord("U" + i, "EV1", candidateId);
+            outcomes.add(callers.submit(() -> batcher.castVote(vote)));
+        }
+        for (Future<VoteOutcome> outcome : outcomes) assertEquals(VoteOutcome.STORED, outcome.get());
+        callers.shutdown();
+
+        assertEquals(VOTERS, committed.size());
+        assertEquals(VOTERS, batcher.getBatchedVoteCount());
+        assertTrue(batcher.getBatchCount() < VOTERS, "votes arriving together should share a batch");
+    }
+
+    @Test
+    void duplicatesAndUnknownVotersAreReportedPerVote() throws Exception {
+        batcher.start();
+        CompletableFuture<VoteOutcome> first = batcher.submit(new VoteRecord("U1", "EV1", candidateId));
+        CompletableFuture<VoteOutcome> again = batcher.submit(new VoteRecord("U1", "EV1", candidateId));
+        CompletableFuture<VoteOutcome> stranger = batcher.submit(new VoteRecord("nobody", "EV1", candidateId));
+
+        // The two writers may take them in either order; exactly one of the pair is stored
+        assertEquals(EnumSet.of(VoteOutcome.STORED, VoteOutcome.DUPLICATE), EnumSet.of(first.get(), again.get()));
+        assertEquals(VoteOutcome.REJECTED, stranger.get());
+        assertEquals(VoteOutcome.DUPLICATE, batcher.castVote(new VoteRecord("U1", "EV1", candidateId)));
+    }
+
+    @Test
+    void aTimedOutVoteIsTakenBackIfQueuedAndReportedUnconfirmedIfBeingWritten() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        InMemoryVoteStore slow = new InMemoryVoteStore(null) {
+            @Override
+            public VoteOutcome[] insertVotes(List<VoteRecord> votes) {
+                writing.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insertVotes(votes);
+            }
+        };
+        slow.createEvent("Slow", "EV1", "secret");
+        String id = slow.addCandidate("EV1", "Alice", null);
+        slow.registerUser("U1", "pw", "user1", "EV1");
+        slow.registerUser("U2", "pw", "user2", "EV1");
+        VoteBatcher one = new VoteBatcher(slow, 1, 0, 1, 200);
+        one.start();
+        ExecutorService caller = Executors.newSingleThreadExecutor();
+        try {
+            Future<VoteOutcome> beingWritten = caller.submit(() -> one.castVote(new VoteRecord("U1", "EV1", id)));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // U2 is still queued when it times out, so it is withdrawn and never written
+            assertThrows(TimeoutException.class, () -> one.castVote(new VoteRecord("U2", "EV1", id)));
+            ExecutionException e = assertThrows(ExecutionException.class, () -> beingWritten.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof VoteNotConfirmedException, String.valueOf(e.getCause()));
+
+            commit.countDown();
+            assertEquals(VoteOutcome.STORED,
+                    ((VoteNotConfirmedException) e.getCause()).getOutcome().get(5, TimeUnit.SECONDS));
+            AtomicInteger stored = new AtomicInteger();
+            slow.forEachVoter((user, event) -> stored.incrementAndGet());
+            assertEquals(1, stored.get());
+        } finally {
+            commit.countDown();
+            caller.shutdown();
+            one.shutdown();
+            slow.close();
+        }
+    }
+
+    @Test
+    void votesAfterShutdownFail() {
+        batcher.start();
+        batcher.shutdown();
+        assertThrows(IllegalStateException.class, () -> batcher.castVote(new VoteRecord("U2", "EV1", candidateId)));
+    }
+}
@@ -0,0 +1,169 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoteJournalTest {
+    private static final int VOTERS = 200;
+    // Small segments so a test run rotates through several
+    private static final int SEGMENT_BYTES = 4096;
+
+    @TempDir
+    Path dir;
+
+    private InMemoryVoteStore store;
+    private String candidateId;
+    private final List<VoteJournal> journals = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryVoteStore(null);
+        candidateId = setUpEvent(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (VoteJournal journal : journals) journal.shutdown();
+        store.close();
+    }
+
+    @Test
+    void appendedVotesReachTheStoreAndOldSegmentsAreDeleted() throws Exception {
+        VoteJournal journal = open(store);
+        Set<String> committed = ConcurrentHashMap.newKeySet();
+        journal.setCommitListener(v -> committed.add(v.getUserId()));
+        assertTrue(journal.recover().isEmpty());
+        journal.start();
+
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        List<Future<?>> appends = new ArrayList<>();
+        for (int i = 0; i < VOTERS; i++) {
+            VoteRecord vote = new VoteRecord("U" + i, "EV1", candidateId);
+            appends.add(callers.submit(() -> {
+                journal.append(vote);
+                return null;
+            }));
+        }
+        for (Future<?> append : appends) append.get();
+        callers.shutdown();
+
+        awaitFlushed(journal);
+        assertEquals(VOTERS, committed.size());
+        assertEquals(VOTERS, votesIn(store));
+        // Checkpointing is immediate here, so only the active segment is left
+        long deadline = System.currentTimeMillis() + 5000;
+        while (journal.getSegmentCount() > 1 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertEquals(1, journal.getSegmentCount());
+    }
+
+    @Test
+    void votesNotFlushedBeforeShutdownAreReplayedOnRestart() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        InMemoryVoteStore down = new InMemoryVoteStore(null) {
+            @Override
+            public VoteOutcome[] insertVotes(List<VoteRecord> votes) {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("database unavailable");
+            }
+        };
+        assertEquals(candidateId, setUpEvent(down));
+        VoteJournal first = open(down);
+        first.recover();
+        first.start();
+        for (int i = 0; i < VOTERS; i++) first.append(new VoteRecord("U" + i, "EV1", candidateId));
+        first.shutdown();
+        down.close();
+        assertTrue(attempts.get() > 0, "the flusher should have tried the database");
+
+        VoteJournal second = open(store);
+        List<VoteRecord> pending = second.recover();
+        assertEquals(VOTERS, pending.size());
+        assertEquals("U0", pending.get(0).getUserId());
+        second.start();
+        awaitFlushed(second);
+        assertEquals(VOTERS, votesIn(store));
+        second.shutdown();
+
+        // Everything is checkpointed now, so a third start has nothing to replay
+        assertTrue(open(store).recover().isEmpty());
+    }
+
+    @Test
+    void replayingVotesTheStoreAlreadyHoldsCountsThemOnce() throws Exception {
+        VoteJournal first = open(store);
+        first.recover();
+        first.start();
+        for (int i = 0; i < 10; i++) first.append(new VoteRecord("U" + i, "EV1", candidateId));
+        awaitFlushed(first);
+        first.shutdown();
+
+        // Simulate a crash between the flush and the checkpoint by dropping the checkpoint
+        Files.delete(dir.resolve("checkpoint"));
+        VoteJournal second = open(store);
+        AtomicInteger recommitted = new AtomicInteger();
+        second.setCommitListener(v -> recommitted.incrementAndGet());
+        assertEquals(10, second.recover().size());
+        second.start();
+        awaitFlushed(second);
+        assertEquals(0, recommitted.get());
+        assertEquals(10, votesIn(store));
+    }
+
+    @Test
+    void aVoteWrittenButNotSyncedInTimeIsReportedUnconfirmedAndStillStored() throws Exception {
+        // The sync thread lingers far longer than appends wait for it
+        VoteJournal journal = new VoteJournal(store, dir, SEGMENT_BYTES, 500, 50, 0, 1);
+        journals.add(journal);
+        journal.recover();
+        journal.start();
+        assertThrows(VoteNotConfirmedException.class, () -> journal.append(new VoteRecord("U0", "EV1", candidateId)));
+
+        // Not yet synced, so not counted as pending; wait for it to reach the store
+        long deadline = System.currentTimeMillis() + 5000;
+        while (votesIn(store) == 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertEquals(1, votesIn(store));
+    }
+
+    private VoteJournal open(VoteStore target) {
+        VoteJournal journal = new VoteJournal(target, dir, SEGMENT_BYTES, 1, 50, 0, 5000);
+        journals.add(journal);
+        return journal;
+    }
+
+    private static String setUpEvent(InMemoryVoteStore target) {
+        target.createEvent("Journal", "EV1", "secret");
+        String id = target.addCandidate("EV1", "Alice", null);
+        for (int i = 0; i < VOTERS; i++) target.registerUser("U" + i, "pw", "user" + i, "EV1");
+        return id;
+    }
+
+    private static void awaitFlushed(VoteJournal journal) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ((journal.getPendingCount() > 0 || journal.getFlushLagMs() > 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, journal.getPendingCount());
+    }
+
+    private static int votesIn(InMemoryVoteStore target) throws SQLException {
+        AtomicInteger count = new AtomicInteger();
+        target.forEachVoter((user, event) -> count.incrementAndGet());
+        return count.get();
+    }
+}
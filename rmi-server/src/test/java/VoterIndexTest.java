@@ -0,0 +1,55 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoterIndexTest {
+
+    @Test
+    void releasingTheLastVoterDropsTheEvent() {
+        VoterIndex index = new VoterIndex();
+        assertTrue(index.claim("U1", "EV1"));
+        assertFalse(index.claim("U1", "EV1"));
+        assertTrue(index.claim("U2", "EV1"));
+
+        index.release("U1", "EV1");
+        assertEquals(1, index.eventCount());
+        index.release("U2", "EV1");
+        assertEquals(0, index.eventCount());
+        assertFalse(index.hasVoted("U2", "EV1"));
+        assertTrue(index.claim("U2", "EV1"));
+    }
+
+    @Test
+    void claimsRacingReleasesAreNotLost() throws Exception {
+        VoterIndex index = new VoterIndex();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> work = new ArrayList<>();
+            // One thread keeps emptying the event while others claim distinct voters
+            work.add(pool.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    index.claim("churn", "EV1");
+                    index.release("churn", "EV1");
+                }
+            }));
+            for (int t = 0; t < 3; t++) {
+                int thread = t;
+                work.add(pool.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) assertTrue(index.claim("U" + thread + "-" + i, "EV1"));
+                }));
+            }
+            for (Future<?> f : work) f.get();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(6_000, index.voterCount("EV1"));
+    }
+}
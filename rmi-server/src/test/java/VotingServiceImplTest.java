@@ -0,0 +1,50 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VotingServiceImplTest {
+    private final AtomicInteger photoReads = new AtomicInteger();
+    private InMemoryVoteStore store;
+    private VotingServiceImpl service;
+    private String candidateId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new InMemoryVoteStore(null) {
+            @Override
+            public byte[] getCandidatePhoto(String eventId, String candidateId, PhotoVariant variant) {
+                photoReads.incrementAndGet();
+                return super.getCandidatePhoto(eventId, candidateId, variant);
+            }
+        };
+        store.createEvent("Service", "EV1", "secret");
+        candidateId = store.addCandidate("EV1", "Alice", null);
+        service = new VotingServiceImpl(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        store.close();
+    }
+
+    @Test
+    void photoRequestsForUnknownIdsNeverReachTheCacheOrTheStore() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            assertNull(service.getCandidatePhoto("EV1", String.valueOf(100_000 + i), "medium", null));
+            assertNull(service.getCandidatePhoto("NOPE" + i, candidateId, "medium", null));
+        }
+        assertEquals(0, photoReads.get());
+
+        // A real candidate without a photo is looked up once, then answered from the cache
+        int before = photoReads.get();
+        assertNull(service.getCandidatePhoto("EV1", candidateId, "thumb", null));
+        assertNull(service.getCandidatePhoto("EV1", candidateId, "thumb", null));
+        assertEquals(before + 1, photoReads.get());
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.shared;
+
+import java.io.Serializable;
+
+public class AccountJobStatus implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private String jobId;
+    private String eventId;
+    private String state;
+    private int requested;
+    private int created;
+    // Set when state is FAILED
+    private String error;
+    private long startedAt;
+    // 0 while the job is running
+    private long finishedAt;
+
+    public AccountJobStatus(String jobId, String eventId, String state, int requested, int created,
+                            String error, long startedAt, long finishedAt) {
+        this.jobId = jobId;
+        this.eventId = eventId;
+        this.state = state;
+        this.requested = requested;
+        this.created = created;
+        this.error = error;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(long startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public boolean isDone() {
+        return !RUNNING.equals(state);
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.shared;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+// A run of an event's accounts ordered by userId; also used for complete lists (no next cursor).
+// Serialized as a flat row stream with the event id written once.
+public class AccountPage implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private String eventId;
+    private List<VoterAccount> accounts;
+    // Pass as afterUserId to fetch the next page; null on the last page
+    private String nextCursor;
+
+    // Required by Externalizable
+    public AccountPage() {
+    }
+
+    public AccountPage(String eventId, List<VoterAccount> accounts, String nextCursor) {
+        this.eventId = eventId;
+        this.accounts = accounts;
+        this.nextCursor = nextCursor;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public List<VoterAccount> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<VoterAccount> accounts) {
+        this.accounts = accounts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        Wire.writeString(out, eventId);
+        Wire.writeString(out, nextCursor);
+        Wire.writeVarLong(out, accounts.size());
+        for (VoterAccount a : accounts) {
+            Wire.writeString(out, a.getUserId());
+            Wire.writeString(out, a.getUsername());
+            Wire.writeString(out, a.getPassword());
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        eventId = Wire.readString(in);
+        nextCursor = Wire.readString(in);
+        int count = (int) Wire.readVarLong(in);
+        accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(new VoterAccount(Wire.readString(in), Wire.readString(in), Wire.readString(in), eventId));
+        }
+    }
+}
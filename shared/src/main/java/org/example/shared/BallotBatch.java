@@ -0,0 +1,70 @@
+package org.example.shared;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.List;
+
+// Ballots for one event, in submission order; the input of castVotes
+public class BallotBatch implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private String eventId;
+    private List<String> userIds;
+    private List<String> candidateIds;
+
+    // Required by Externalizable
+    public BallotBatch() {
+    }
+
+    public BallotBatch(String eventId, int expectedSize) {
+        this.eventId = eventId;
+        this.userIds = new ArrayList<>(expectedSize);
+        this.candidateIds = new ArrayList<>(expectedSize);
+    }
+
+    public void add(String userId, String candidateId) {
+        userIds.add(userId);
+        candidateIds.add(candidateId);
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public int size() {
+        return userIds.size();
+    }
+
+    public String getUserId(int index) {
+        return userIds.get(index);
+    }
+
+    public String getCandidateId(int index) {
+        return candidateIds.get(index);
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        Wire.writeString(out, eventId);
+        Wire.writeVarLong(out, userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            Wire.writeString(out, userIds.get(i));
+            Wire.writeString(out, candidateIds.get(i));
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        eventId = Wire.readString(in);
+        int count = (int) Wire.readVarLong(in);
+        userIds = new ArrayList<>(count);
+        candidateIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            userIds.add(Wire.readString(in));
+            candidateIds.add(Wire.readString(in));
+        }
+    }
+}
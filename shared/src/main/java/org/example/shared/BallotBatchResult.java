@@ -0,0 +1,59 @@
+package org.example.shared;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+// Per-ballot outcomes of castVotes, index-aligned with the submitted BallotBatch
+public class BallotBatchResult implements Externalizable {
+    private static final long serialVersionUID = 1L;
+    private static final BallotStatus[] STATUSES = BallotStatus.values();
+
+    private String eventId;
+    private BallotStatus[] statuses;
+
+    // Required by Externalizable
+    public BallotBatchResult() {
+    }
+
+    public BallotBatchResult(String eventId, BallotStatus[] statuses) {
+        this.eventId = eventId;
+        this.statuses = statuses;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public int size() {
+        return statuses.length;
+    }
+
+    public BallotStatus getStatus(int index) {
+        return statuses[index];
+    }
+
+    public int count(BallotStatus status) {
+        int n = 0;
+        for (BallotStatus s : statuses) {
+            if (s == status) n++;
+        }
+        return n;
+    }
+
+    // One byte per ballot
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        Wire.writeString(out, eventId);
+        Wire.writeVarLong(out, statuses.length);
+        for (BallotStatus s : statuses) out.writeByte(s.ordinal());
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        eventId = Wire.readString(in);
+        statuses = new BallotStatus[(int) Wire.readVarLong(in)];
+        for (int i = 0; i < statuses.length; i++) statuses[i] = STATUSES[in.readUnsignedByte()];
+    }
+}
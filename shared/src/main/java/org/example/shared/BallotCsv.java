@@ -0,0 +1,91 @@
+package org.example.shared;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Reads ballot files: one "userId,candidateId" pair per line, optionally quoted, with an
+ * optional header line. Blank lines are skipped; a line with a missing column yields a ballot
+ * with a null field so it is reported as rejected rather than silently dropped. Rows are
+ * numbered from 1 (the first data row) so an import can resume at a checkpoint.
+ */
+public class BallotCsv {
+    private final BufferedReader reader;
+    private long row;
+    private boolean firstLine = true;
+
+    public BallotCsv(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Default import id for a ballot file: the event id plus a SHA-256 of the file's bytes, so
+     * uploading the same content again resumes it and any other content starts a new import.
+     * Reads content to the end but does not close it.
+     */
+    public static String importId(String eventId, InputStream content) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        int n;
+        while ((n = content.read(buffer)) > 0) {
+            digest.update(buffer, 0, n);
+        }
+        StringBuilder importId = new StringBuilder(eventId).append('-');
+        byte[] hash = digest.digest();
+        for (int i = 0; i < 20; i++) {
+            importId.append(Character.forDigit((hash[i] >> 4) & 0xF, 16)).append(Character.forDigit(hash[i] & 0xF, 16));
+        }
+        // ballot_imports.id holds 64 characters; keep the hash end if the event id is long
+        return importId.length() > 64 ? importId.substring(importId.length() - 64) : importId.toString();
+    }
+
+    /** Row number of the ballot last returned by next(). */
+    public long getRow() {
+        return row;
+    }
+
+    /** Next ballot as {userId, candidateId}, or null at end of input. */
+    public String[] next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            String[] fields = split(line);
+            if (firstLine) {
+                firstLine = false;
+                if ("userid".equalsIgnoreCase(fields[0]) || "user_id".equalsIgnoreCase(fields[0])) continue;
+            }
+            row++;
+            return fields;
+        }
+        return null;
+    }
+
+    /** Skips the first n data rows (already applied by an earlier run). */
+    public void skip(long n) throws IOException {
+        while (row < n && next() != null) {
+            // discard
+        }
+    }
+
+    private static String[] split(String line) {
+        int comma = line.indexOf(',');
+        String user = comma < 0 ? line : line.substring(0, comma);
+        String candidate = comma < 0 ? null : line.substring(comma + 1);
+        return new String[]{clean(user), clean(candidate)};
+    }
+
+    private static String clean(String field) {
+        if (field == null) return null;
+        String s = field.trim();
+        if (s.length() >= 2 && s.charAt(0) == '"' && s.charAt(s.length() - 1) == '"') s = s.substring(1, s.length() - 1).trim();
+        return s.isEmpty() ? null : s;
+    }
+}
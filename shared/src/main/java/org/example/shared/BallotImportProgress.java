@@ -0,0 +1,102 @@
+package org.example.shared;
+
+import java.io.Serializable;
+import java.util.List;
+
+// Checkpointed state of a ballot file import; rowsDone data rows have been applied
+public class BallotImportProgress implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+
+    private String importId;
+    private String eventId;
+    private String state;
+    private long rowsDone;
+    private long stored;
+    private long alreadyVoted;
+    private long rejected;
+    // "row N: STATUS" for the rows of the latest chunk that were not stored
+    private List<String> rejections;
+
+    public BallotImportProgress(String importId, String eventId, String state, long rowsDone, long stored,
+                                long alreadyVoted, long rejected, List<String> rejections) {
+        this.importId = importId;
+        this.eventId = eventId;
+        this.state = state;
+        this.rowsDone = rowsDone;
+        this.stored = stored;
+        this.alreadyVoted = alreadyVoted;
+        this.rejected = rejected;
+        this.rejections = rejections;
+    }
+
+    public String getImportId() {
+        return importId;
+    }
+
+    public void setImportId(String importId) {
+        this.importId = importId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public long getRowsDone() {
+        return rowsDone;
+    }
+
+    public void setRowsDone(long rowsDone) {
+        this.rowsDone = rowsDone;
+    }
+
+    public long getStored() {
+        return stored;
+    }
+
+    public void setStored(long stored) {
+        this.stored = stored;
+    }
+
+    public long getAlreadyVoted() {
+        return alreadyVoted;
+    }
+
+    public void setAlreadyVoted(long alreadyVoted) {
+        this.alreadyVoted = alreadyVoted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<String> getRejections() {
+        return rejections;
+    }
+
+    public void setRejections(List<String> rejections) {
+        this.rejections = rejections;
+    }
+
+    public boolean isCompleted() {
+        return COMPLETED.equals(state);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.shared;
+
+// Outcome of one ballot in a castVotes batch
+public enum BallotStatus {
+    STORED,
+    // The voter already had a vote in this event before the batch
+    ALREADY_VOTED,
+    // An earlier ballot in the same batch was from the same voter
+    DUPLICATE_IN_BATCH,
+    // Candidate id is malformed or not a candidate of this event
+    INVALID_CANDIDATE,
+    // User id is missing or not a known user
+    INVALID_USER,
+    // The chunk holding this ballot could not be written; safe to retry
+    FAILED
+}
@@ -1,11 +1,22 @@
 package org.example.shared;
 
-import java.io.Serializable;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+public class Candidate implements Externalizable {
+    private static final long serialVersionUID = 1L;
 
-public class Candidate implements Serializable {
     private String id;
     private String name;
     private byte[] photo;
+    // Content hash of the stored photo; lets clients fetch/cache the photo separately
+    private String photoHash;
+
+    // Required by Externalizable
+    public Candidate() {
+    }
 
     public Candidate(String id, String name, byte[] photo) {
         this.id = id;
@@ -13,6 +24,11 @@ public class Candidate implements Serializable {
         this.photo = photo;
     }
 
+    public Candidate(String id, String name, byte[] photo, String photoHash) {
+        this(id, name, photo);
+        this.photoHash = photoHash;
+    }
+
     public String getId() {
         return id;
     }
@@ -36,4 +52,39 @@ public class Candidate implements Serializable {
     public void setPhoto(byte[] photo) {
         this.photo = photo;
     }
-}
\ No newline at end of file
+
+    public String getPhotoHash() {
+        return photoHash;
+    }
+
+    public void setPhotoHash(String photoHash) {
+        this.photoHash = photoHash;
+    }
+
+    // Flags byte records which optional fields follow; photo hashes (SHA-256 hex) go as raw bytes
+    private static final int HASH_HEX = 1;
+    private static final int HASH_TEXT = 2;
+    private static final int HAS_PHOTO = 4;
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        boolean hexHash = Wire.isLowerHex(photoHash);
+        int flags = (hexHash ? HASH_HEX : photoHash != null ? HASH_TEXT : 0) | (photo != null ? HAS_PHOTO : 0);
+        out.writeByte(flags);
+        Wire.writeString(out, id);
+        Wire.writeString(out, name);
+        if (hexHash) Wire.writeHex(out, photoHash);
+        else if (photoHash != null) out.writeUTF(photoHash);
+        if (photo != null) Wire.writeBytes(out, photo);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        int flags = in.readUnsignedByte();
+        id = Wire.readString(in);
+        name = Wire.readString(in);
+        if ((flags & HASH_HEX) != 0) photoHash = Wire.readHex(in);
+        else if ((flags & HASH_TEXT) != 0) photoHash = in.readUTF();
+        if ((flags & HAS_PHOTO) != 0) photo = Wire.readBytes(in);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.shared;
+
+import java.io.Serializable;
+
+public class CandidatePhoto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String candidateId;
+    private String contentType;
+    private String hash;
+    // Null when the caller already holds the photo with this hash (not modified)
+    private byte[] data;
+
+    public CandidatePhoto(String candidateId, String contentType, String hash, byte[] data) {
+        this.candidateId = candidateId;
+        this.contentType = contentType;
+        this.hash = hash;
+        this.data = data;
+    }
+
+    public String getCandidateId() {
+        return candidateId;
+    }
+
+    public void setCandidateId(String candidateId) {
+        this.candidateId = candidateId;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public boolean isNotModified() {
+        return data == null;
+    }
+}
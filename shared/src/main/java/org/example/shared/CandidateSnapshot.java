@@ -0,0 +1,42 @@
+package org.example.shared;
+
+import java.io.Serializable;
+import java.util.List;
+
+// Immutable view of an event's candidate list. The version changes whenever a candidate is
+// added, renamed, re-photographed or deleted, so it can be used as an ETag.
+public final class CandidateSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String eventId;
+    private final long version;
+    // Null when the caller already holds this version (not modified)
+    private final List<Candidate> candidates;
+
+    public CandidateSnapshot(String eventId, long version, List<Candidate> candidates) {
+        this.eventId = eventId;
+        this.version = version;
+        this.candidates = candidates == null ? null : List.copyOf(candidates);
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Candidate> getCandidates() {
+        return candidates;
+    }
+
+    public boolean isNotModified() {
+        return candidates == null;
+    }
+
+    // Same version without the candidate list, for callers that already have it
+    public CandidateSnapshot withoutCandidates() {
+        return new CandidateSnapshot(eventId, version, null);
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.shared;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Vote counts per candidate for one event; version changes whenever any count or candidate does
+public class EventResults implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private String eventId;
+    private long version;
+    private List<Entry> entries;
+
+    public static class Entry {
+        private final String candidateId;
+        private final String name;
+        private final long votes;
+
+        public Entry(String candidateId, String name, long votes) {
+            this.candidateId = candidateId;
+            this.name = name;
+            this.votes = votes;
+        }
+
+        public String getCandidateId() {
+            return candidateId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getVotes() {
+            return votes;
+        }
+    }
+
+    // Required by Externalizable
+    public EventResults() {
+    }
+
+    public EventResults(String eventId, List<Entry> entries) {
+        this(eventId, entries, 0);
+    }
+
+    public EventResults(String eventId, List<Entry> entries, long version) {
+        this.eventId = eventId;
+        this.entries = entries;
+        this.version = version;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public long getTotalVotes() {
+        long total = 0;
+        for (Entry e : entries) total += e.votes;
+        return total;
+    }
+
+    // Candidate name -> votes, the shape the REST API has always returned (same-named candidates are summed)
+    public Map<String, Long> byName() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (Entry e : entries) map.merge(e.name, e.votes, Long::sum);
+        return map;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        Wire.writeString(out, eventId);
+        Wire.writeVarLong(out, version);
+        Wire.writeVarLong(out, entries.size());
+        for (Entry e : entries) {
+            out.writeUTF(e.candidateId);
+            out.writeUTF(e.name);
+            Wire.writeVarLong(out, e.votes);
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        eventId = Wire.readString(in);
+        version = Wire.readVarLong(in);
+        int count = (int) Wire.readVarLong(in);
+        entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(new Entry(in.readUTF(), in.readUTF(), Wire.readVarLong(in)));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.shared;
+
+import java.rmi.RemoteException;
+
+// Login refused because the username is unknown or the password is wrong, as opposed to a node
+// that could not be asked. Over RMI it arrives as the cause of a java.rmi.ServerException.
+public class InvalidCredentialsException extends RemoteException {
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCredentialsException() {
+        super("Invalid username or password");
+    }
+}
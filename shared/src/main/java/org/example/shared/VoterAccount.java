@@ -0,0 +1,74 @@
+package org.example.shared;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+public class VoterAccount implements Externalizable {
+    private static final long serialVersionUID = 1L;
+
+    private String userId;
+    private String username;
+    private String password;
+    private String eventId;
+
+    // Required by Externalizable
+    public VoterAccount() {
+    }
+
+    public VoterAccount(String userId, String username, String password, String eventId) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.eventId = eventId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        Wire.writeString(out, userId);
+        Wire.writeString(out, username);
+        Wire.writeString(out, password);
+        Wire.writeString(out, eventId);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        userId = Wire.readString(in);
+        username = Wire.readString(in);
+        password = Wire.readString(in);
+        eventId = Wire.readString(in);
+    }
+}
@@ -9,6 +9,13 @@ public interface VotingService extends Remote {
     // Admin methods
     EventInfo createEvent(String eventName) throws RemoteException;
 
+    // Creates an event with an id chosen by the caller (the bridge picks ids that hash to this node);
+    // fails if the id is malformed or already taken
+    EventInfo createEventWithId(String eventName, String eventId) throws RemoteException;
+
+    // Load figures of this node: "events" (events stored), "votes" (votes counted in memory), "uptimeMs"
+    Map<String, Long> getNodeStats() throws RemoteException;
+
     // Returns the created candidate's ID (DB generated)
     String addCandidate(String eventId, String candidateName, byte[] photo) throws RemoteException;
 
@@ -18,18 +25,55 @@ public interface VotingService extends Remote {
     // Delete candidate by id within event
     boolean deleteCandidate(String eventId, String candidateId) throws RemoteException;
 
-    Map<String, Integer> getResults(String eventId) throws RemoteException;
+    EventResults getResults(String eventId) throws RemoteException;
+
+    // Long poll for live results: returns as soon as the event's results version differs from
+    // knownVersion, or null if nothing changed within maxWaitMs (at once for an unknown event)
+    EventResults awaitResults(String eventId, long knownVersion, long maxWaitMs) throws RemoteException;
+
+    AccountPage createAccounts(String eventId, int eventSize) throws RemoteException;
+
+    AccountPage getUserAccounts(String eventID) throws RemoteException;
+
+    // Keyset pagination over an event's accounts ordered by userId; afterUserId null for the first page
+    AccountPage getUserAccountsPage(String eventId, String afterUserId, int limit) throws RemoteException;
+
+    // Bulk account generation in the background; poll getAccountJobStatus until it is done
+    AccountJobStatus startAccountJob(String eventId, int count) throws RemoteException;
 
-    List<Map<String, String>> createAccounts(String eventId, int eventSize) throws RemoteException;
+    // Null if the job id is unknown or has expired
+    AccountJobStatus getAccountJobStatus(String jobId) throws RemoteException;
 
-    List<Map<String, String>> getUserAccounts(String eventID) throws RemoteException;
+    // Accounts created by a finished job (same shape as createAccounts); null while running or if unknown
+    AccountPage getAccountJobResult(String jobId) throws RemoteException;
 
     // Voter methods
+    // InvalidCredentialsException for an unknown username or a wrong password
     Map<String, String> Login(String username, String password) throws RemoteException;
 
+    // Candidates carry a photoHash instead of photo bytes; fetch photos with getCandidatePhoto
     List<Candidate> getEventForVoter(String eventId, String password) throws RemoteException;
 
+    // Versioned form of getEventForVoter; null for an unknown event or wrong password. If knownVersion
+    // is the current version the returned snapshot has no candidates (not modified).
+    CandidateSnapshot getCandidateSnapshot(String eventId, String password, long knownVersion) throws RemoteException;
+
+    // size: "thumb", "medium" (default when null) or "original". Returns null if the candidate has
+    // no photo. If knownHash matches the current photo the returned CandidatePhoto has no data (not modified).
+    CandidatePhoto getCandidatePhoto(String eventId, String candidateId, String size, String knownHash) throws RemoteException;
+
     boolean castVote(String userId, String eventId, String candidateId) throws RemoteException;
 
+    // Stores many ballots in one call (kiosk replay); outcomes are index-aligned with the batch
+    BallotBatchResult castVotes(BallotBatch ballots) throws RemoteException;
+
+    // Resumable ballot file import. begin returns the checkpoint (rowsDone) to continue from, or
+    // creates it; each chunk must start at row rowsDone + 1 and is applied and checkpointed as a unit.
+    BallotImportProgress beginBallotImport(String eventId, String importId) throws RemoteException;
+
+    BallotImportProgress importBallots(String importId, long firstRow, BallotBatch ballots) throws RemoteException;
+
+    BallotImportProgress finishBallotImport(String importId) throws RemoteException;
+
     boolean hasUserVoted(String userId, String eventId) throws RemoteException;
 }
@@ -0,0 +1,82 @@
+package org.example.shared;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+// Field encoding shared by the Externalizable DTOs: strings as modified UTF-8 behind a
+// presence flag, byte arrays length-prefixed (-1 for null), counts as unsigned varints and
+// lowercase hex digests as raw bytes
+final class Wire {
+    private Wire() {
+    }
+
+    static void writeString(ObjectOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    static String readString(ObjectInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeBytes(ObjectOutput out, byte[] value) throws IOException {
+        out.writeInt(value != null ? value.length : -1);
+        if (value != null) out.write(value);
+    }
+
+    static byte[] readBytes(ObjectInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) return null;
+        byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+
+    // 7 bits per byte, high bit set on all but the last; small counts take one or two bytes
+    static void writeVarLong(ObjectOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(ObjectInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    static boolean isLowerHex(String value) {
+        if (value == null || value.isEmpty() || value.length() % 2 != 0) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    // Caller must check isLowerHex first; half the size of writeUTF for digests
+    static void writeHex(ObjectOutput out, String hex) throws IOException {
+        writeVarLong(out, hex.length() / 2);
+        for (int i = 0; i < hex.length(); i += 2) {
+            out.writeByte(Character.digit(hex.charAt(i), 16) << 4 | Character.digit(hex.charAt(i + 1), 16));
+        }
+    }
+
+    static String readHex(ObjectInput in) throws IOException {
+        int length = (int) readVarLong(in);
+        char[] out = new char[length * 2];
+        for (int i = 0; i < length; i++) {
+            int b = in.readUnsignedByte();
+            out[2 * i] = Character.forDigit(b >> 4, 16);
+            out[2 * i + 1] = Character.forDigit(b & 0xF, 16);
+        }
+        return new String(out);
+    }
+}